@@ -1,5 +1,6 @@
 package com.almousleck.audit;
 
+import com.almousleck.model.PooledSequence;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
@@ -7,7 +8,9 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_created_at", columnList = "created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,7 @@ import java.time.LocalDateTime;
 public class AuditLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "audit_logs_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -1,9 +1,15 @@
 package com.almousleck.config;
 
+import com.almousleck.inventory.InventoryMode;
+import com.almousleck.search.SearchBackend;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 @Component
 @ConfigurationProperties(prefix = "app")
 @Data
@@ -14,6 +20,16 @@ public class AppProperties {
     private final Email email = new Email();
     private final Otp otp = new Otp();
     private final File file = new File();
+    private final Inventory inventory = new Inventory();
+    private final Booking booking = new Booking();
+    private final Idempotency idempotency = new Idempotency();
+    private final Reference reference = new Reference();
+    private final Outbox outbox = new Outbox();
+    private final Cache cache = new Cache();
+    private final EventImport eventImport = new EventImport();
+    private final HttpCache httpCache = new HttpCache();
+    private final EventListing eventListing = new EventListing();
+    private final Search search = new Search();
 
     @Data
     public static class Jwt {
@@ -44,4 +60,180 @@ public class AppProperties {
     public static class File {
         private String uploadDir;
     }
+
+    @Data
+    public static class Inventory {
+        private InventoryMode strategy = InventoryMode.PESSIMISTIC;
+        private final Optimistic optimistic = new Optimistic();
+        private final Ledger ledger = new Ledger();
+        private final Sharding sharding = new Sharding();
+        private final Availability availability = new Availability();
+
+        @Data
+        public static class Optimistic {
+            // Version conflicts re-read at once inside one booking transaction
+            private int inTransactionAttempts = 3;
+            // Booking transactions tried in total, backing off between them outside the transaction
+            private int maxAttempts = 5;
+            private long baseBackoffMs = 5;
+            private long maxBackoffMs = 100;
+        }
+
+        @Data
+        public static class Ledger {
+            // Only safe when a single node serves bookings for a given ticket
+            private long flushIntervalMs = 500;
+            private long evictIntervalMs = 600000;
+            private int lockStripes = 64;
+        }
+
+        @Data
+        public static class Sharding {
+            private long refreshIntervalMs = 60000;
+        }
+
+        @Data
+        public static class Availability {
+            private long refreshIntervalMs = 5000;
+            // Reads older than this go to the database instead of the snapshot
+            private long maxStalenessMs = 15000;
+            private long idleTimeoutMs = 600000;
+            private int maxEvents = 10000;
+        }
+    }
+
+    @Data
+    public static class Booking {
+        private final GroupCommit groupCommit = new GroupCommit();
+        private final Hold hold = new Hold();
+
+        @Data
+        public static class GroupCommit {
+            private boolean enabled;
+            private long windowMs = 5;
+            private int maxBatchSize = 100;
+            private int workers = 4;
+            private long timeoutMs = 30000;
+        }
+
+        @Data
+        public static class Hold {
+            private long ttlMinutes = 15;
+            private long tickMs = 1000;
+            private int wheelSlots = 512;
+            private int batchSize = 500;
+        }
+    }
+
+    @Data
+    public static class Idempotency {
+        private int cacheSize = 10000;
+        private long ttlHours = 24;
+        private long waitTimeoutMs = 30000;
+        private long pollIntervalMs = 200;
+        private long cleanupIntervalMs = 3600000;
+    }
+
+    @Data
+    public static class Reference {
+        // Must be unique per running instance, 0-1023. Only local runs without a profile may leave it unset
+        private Integer nodeId;
+    }
+
+    @Data
+    public static class Outbox {
+        private long pollIntervalMs = 1000;
+        private int batchSize = 100;
+        private int maxAttempts = 10;
+        private long baseBackoffMs = 1000;
+        private long maxBackoffMs = 300000;
+        private long emailTimeoutMs = 30000;
+    }
+
+    @Data
+    public static class Cache {
+        // Applied to any cache without its own entry below
+        private Spec defaults = new Spec();
+        private Map<String, Spec> caches = new LinkedHashMap<>();
+        // Upcoming-event pages are keyed per time bucket so events that have started age out
+        private Duration upcomingBucket = Duration.ofMinutes(1);
+
+        @Data
+        public static class Spec {
+            // Set either maximum-size (entries) or maximum-weight (elements of cached lists and pages)
+            private Long maximumSize = 1000L;
+            private Long maximumWeight;
+            private Duration expireAfterWrite = Duration.ofMinutes(10);
+        }
+    }
+
+    @Data
+    public static class EventImport {
+        // Events written per transaction, together with their tickets
+        private int chunkSize = 500;
+        // Failed rows past this are counted but not listed in the response
+        private int maxReportedErrors = 1000;
+    }
+
+    @Data
+    public static class EventListing {
+        // Booking-driven availability changes are copied into the read model this often
+        private long availabilitySyncMs = 5000;
+        private int rebuildChunkSize = 500;
+        // Fills an empty read model on startup, e.g. right after the table is first created
+        private boolean rebuildWhenEmpty = true;
+    }
+
+    @Data
+    public static class Search {
+        // Keyword search backend; LIKE also answers whatever the chosen one cannot. INDEX and POSTGRES are opt-in
+        private SearchBackend backend = SearchBackend.LIKE;
+        private final Index index = new Index();
+        private final Postgres postgres = new Postgres();
+        private final Suggest suggest = new Suggest();
+        private final Facets facets = new Facets();
+
+        @Data
+        public static class Index {
+            // Off, keyword search falls back to LIKE over event_listing
+            private boolean enabled = true;
+            // BM25 term frequency saturation and length normalisation
+            private double k1 = 1.2;
+            private double b = 0.75;
+        }
+
+        @Data
+        public static class Postgres {
+            // Text search configuration for the tsvector column and websearch_to_tsquery
+            private String textSearchConfig = "english";
+        }
+
+        @Data
+        public static class Suggest {
+            // Off, /search/suggest answers with an empty list
+            private boolean enabled = true;
+            private int defaultLimit = 8;
+            private int maxLimit = 20;
+        }
+
+        @Data
+        public static class Facets {
+            // Off, browse facets come from one grouped query per search
+            private boolean enabled = true;
+        }
+    }
+
+    @Data
+    public static class HttpCache {
+        // Cache-Control per endpoint name; endpoints without an entry get no-cache
+        private Map<String, Policy> policies = new LinkedHashMap<>();
+
+        @Data
+        public static class Policy {
+            private Duration maxAge = Duration.ZERO;
+            private boolean cachePrivate;
+            private boolean mustRevalidate = true;
+            private Duration staleWhileRevalidate;
+        }
+    }
 }
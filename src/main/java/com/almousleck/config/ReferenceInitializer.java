@@ -0,0 +1,34 @@
+package com.almousleck.config;
+
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.repository.PaymentTransactionRepository;
+import com.almousleck.utils.ReferenceGenerator;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+// The generator's counter lives in memory, so each start moves it past the latest reference already
+// stored today. That one may come from another node; starting after it is only more conservative.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReferenceInitializer {
+
+    private final ReferenceGenerator referenceGenerator;
+    private final BookingRepository bookingRepository;
+    private final PaymentTransactionRepository paymentTransactionRepository;
+
+    @PostConstruct
+    public void seedReferences() {
+        bookingRepository.findLatestReference(referenceGenerator.bookingPrefix() + "%", ReferenceGenerator.REFERENCE_LENGTH)
+                .ifPresent(this::advancePast);
+        paymentTransactionRepository.findLatestReference(referenceGenerator.transactionPrefix() + "%", ReferenceGenerator.REFERENCE_LENGTH)
+                .ifPresent(this::advancePast);
+    }
+
+    private void advancePast(String reference) {
+        referenceGenerator.advancePast(reference);
+        log.info("Reference generator seeded past {}", reference);
+    }
+}
@@ -0,0 +1,61 @@
+package com.almousleck.config;
+
+import com.almousleck.model.Booking;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// ddl-auto: update adds tables and columns but never relaxes or replaces existing constraints,
+// so those changes are applied here on startup. Every statement must be safe to run again.
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SchemaUpgrader {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void upgrade() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+
+        // Idempotency keys are claimed before the request runs, so the response is filled in later
+        jdbcTemplate.execute("ALTER TABLE idempotency_keys ALTER COLUMN response_body DROP NOT NULL");
+        // Hibernate wrote the enum values into a check constraint when the table was created
+        allowEnumValues("bookings", "status", Booking.BookingStatus.values());
+        log.info("Applied schema upgrades");
+    }
+
+    // Replaces the table_column_check constraint when it is missing one of the values
+    private void allowEnumValues(String table, String column, Enum<?>[] values) {
+        String constraint = table + "_" + column + "_check";
+        List<String> definitions = jdbcTemplate.queryForList(
+                "SELECT pg_get_constraintdef(c.oid) FROM pg_constraint c " +
+                "WHERE c.conname = ? AND c.conrelid = to_regclass(?)",
+                String.class, constraint, table);
+        if (definitions.isEmpty()
+                || Arrays.stream(values).allMatch(value -> definitions.get(0).contains("'" + value.name() + "'"))) {
+            return;
+        }
+
+        String allowed = Arrays.stream(values)
+                .map(value -> "'" + value.name() + "'")
+                .collect(Collectors.joining(", "));
+        jdbcTemplate.execute("ALTER TABLE " + table + " DROP CONSTRAINT " + constraint);
+        jdbcTemplate.execute("ALTER TABLE " + table + " ADD CONSTRAINT " + constraint +
+                " CHECK (" + column + " IN (" + allowed + "))");
+        log.info("Widened {} to allow {}", constraint, allowed);
+    }
+}
@@ -0,0 +1,56 @@
+package com.almousleck.config;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.id.enhanced.DatabaseStructure;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+// Tables created before ids moved to sequences already hold rows, so each new sequence
+// is moved past max(id) before anything inserts with it
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceInitializer {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void advanceSequences() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        if (!(sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQLDialect)) {
+            return;
+        }
+
+        sessionFactory.getMappingMetamodel().forEachEntityDescriptor(persister -> {
+            if (persister.getGenerator() instanceof SequenceStyleGenerator generator
+                    && persister instanceof AbstractEntityPersister entityPersister) {
+                DatabaseStructure structure = generator.getDatabaseStructure();
+                advance(structure.getPhysicalName().render(), structure.getIncrementSize(),
+                        entityPersister.getTableName(), entityPersister.getIdentifierColumnNames()[0]);
+            }
+        });
+    }
+
+    private void advance(String sequence, int incrementSize, String table, String idColumn) {
+        // The pooled optimizer hands out the block ending at the next value, so that value must clear max(id)
+        Long advancedTo = jdbcTemplate.query(
+                "SELECT setval('" + sequence + "', m.max_id + ?, false) " +
+                "FROM (SELECT MAX(" + idColumn + ") AS max_id FROM " + table + ") m, " + sequence + " s " +
+                "WHERE m.max_id IS NOT NULL " +
+                "AND CASE WHEN s.is_called THEN s.last_value + ? ELSE s.last_value END < m.max_id + ?",
+                rs -> rs.next() ? rs.getLong(1) : null,
+                incrementSize, incrementSize, incrementSize);
+
+        if (advancedTo != null) {
+            log.info("Advanced sequence {} to {} past existing ids in {}", sequence, advancedTo, table);
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package com.almousleck.controller;
 
 import com.almousleck.dto.admin.AdminDashboardResponse;
+import com.almousleck.dto.admin.CacheStatsResponse;
 import com.almousleck.dto.admin.UserResponse;
 import com.almousleck.dto.admin.UserStatusRequest;
+import com.almousleck.dto.auth.ApiResponse;
 import com.almousleck.dto.organizer.OrganizerApplicationResponse;
 import com.almousleck.dto.organizer.OrganizerApplicationStatusRequest;
 import com.almousleck.service.AdminService;
@@ -14,6 +16,8 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/admin")
 @PreAuthorize("hasRole('ADMIN')")
@@ -27,6 +31,17 @@ public class AdminController {
         return ResponseEntity.ok(adminService.getDashboardStats());
     }
 
+    @GetMapping("/caches")
+    public ResponseEntity<List<CacheStatsResponse>> getCacheStats() {
+        return ResponseEntity.ok(adminService.getCacheStats());
+    }
+
+    @PostMapping("/event-listing/rebuild")
+    public ResponseEntity<ApiResponse> rebuildEventListing() {
+        int rebuilt = adminService.rebuildEventListing();
+        return ResponseEntity.ok(new ApiResponse(true, "Rebuilt " + rebuilt + " event listing rows"));
+    }
+
     @GetMapping("/users")
     public ResponseEntity<Page<UserResponse>> getAllUsers(Pageable pageable) {
         return ResponseEntity.ok(adminService.getAllUsers(pageable));
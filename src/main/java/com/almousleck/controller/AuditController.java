@@ -1,6 +1,7 @@
 package com.almousleck.controller;
 
 import com.almousleck.dto.audit.AuditLogResponse;
+import com.almousleck.dto.common.CursorPage;
 import com.almousleck.security.CurrentUser;
 import com.almousleck.security.UserPrincipal;
 import com.almousleck.service.AuditService;
@@ -24,6 +25,13 @@ public class AuditController {
         return ResponseEntity.ok(auditService.getAllAuditLogs(pageable));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<AuditLogResponse>> scrollAuditLogs(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(auditService.scrollAuditLogs(cursor, size));
+    }
+
     @GetMapping("/entity/{entityType}/{entityId}")
     public ResponseEntity<Page<AuditLogResponse>> getAuditLogsByEntity(
             @PathVariable String entityType,
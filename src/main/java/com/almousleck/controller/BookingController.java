@@ -2,10 +2,16 @@ package com.almousleck.controller;
 
 import com.almousleck.dto.booking.BookingDetailResponse;
 import com.almousleck.dto.booking.BookingSummaryResponse;
+import com.almousleck.dto.booking.CartBookingResponse;
 import com.almousleck.dto.booking.CreateBookingRequest;
+import com.almousleck.dto.booking.CreateCartBookingRequest;
+import com.almousleck.dto.common.CursorPage;
+import com.almousleck.inventory.InventoryConflictRetry;
 import com.almousleck.security.CurrentUser;
 import com.almousleck.security.UserPrincipal;
 import com.almousleck.service.BookingService;
+import com.almousleck.service.GroupCommitBookingPipeline;
+import com.almousleck.service.IdempotencyService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -21,13 +27,32 @@ import org.springframework.web.bind.annotation.*;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final GroupCommitBookingPipeline groupCommitBookingPipeline;
+    private final IdempotencyService idempotencyService;
+    private final InventoryConflictRetry inventoryConflictRetry;
 
     @PostMapping
     public ResponseEntity<BookingDetailResponse> createBooking(
             @CurrentUser UserPrincipal currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody CreateBookingRequest createBookingRequest) {
-        return ResponseEntity.status(HttpStatus.CREATED)
-                .body(bookingService.createBooking(currentUser, createBookingRequest));
+        BookingDetailResponse booking = idempotencyService.execute(idempotencyKey, currentUser, "CREATE_BOOKING",
+                createBookingRequest, BookingDetailResponse.class,
+                () -> inventoryConflictRetry.execute(() -> groupCommitBookingPipeline.isEnabled()
+                        ? groupCommitBookingPipeline.submit(currentUser, createBookingRequest)
+                        : bookingService.createBooking(currentUser, createBookingRequest)));
+        return ResponseEntity.status(HttpStatus.CREATED).body(booking);
+    }
+
+    @PostMapping("/cart")
+    public ResponseEntity<CartBookingResponse> createCartBooking(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
+            @Valid @RequestBody CreateCartBookingRequest cartRequest) {
+        CartBookingResponse cart = idempotencyService.execute(idempotencyKey, currentUser, "CREATE_CART_BOOKING",
+                cartRequest, CartBookingResponse.class,
+                () -> inventoryConflictRetry.execute(() -> bookingService.createCartBooking(currentUser, cartRequest)));
+        return ResponseEntity.status(HttpStatus.CREATED).body(cart);
     }
 
     @GetMapping("/{bookingReference}")
@@ -57,6 +82,14 @@ public class BookingController {
         return ResponseEntity.ok(bookingService.getUserBookings(currentUser, pageable));
     }
 
+    @GetMapping("/my-bookings/scroll")
+    public ResponseEntity<CursorPage<BookingSummaryResponse>> scrollUserBookings(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(bookingService.scrollUserBookings(currentUser, cursor, size));
+    }
+
     @GetMapping("/organizer-bookings")
     @PreAuthorize("hasRole('ORGANIZER')")
     public ResponseEntity<Page<BookingSummaryResponse>> getOrganizerBookings(
@@ -4,13 +4,16 @@ import com.almousleck.dto.auth.ApiResponse;
 import com.almousleck.dto.category.CategoryRequest;
 import com.almousleck.dto.category.CategoryResponse;
 import com.almousleck.service.CategoryService;
+import com.almousleck.utils.ConditionalResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.Instant;
 import java.util.List;
 
 @RestController
@@ -19,20 +22,26 @@ import java.util.List;
 public class CategoryController {
 
     private final CategoryService categoryService;
+    private final ConditionalResponses conditionalResponses;
 
     @GetMapping
-    public ResponseEntity<List<CategoryResponse>> getAllCategories() {
-        return ResponseEntity.ok(categoryService.getAllCategories());
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(WebRequest request) {
+        return conditionalResponses.respondList(request, ConditionalResponses.CATEGORIES, "categories",
+                categoryService.getAllCategories(), CategoryResponse::getUpdatedAt);
     }
 
     @GetMapping("/active")
-    public ResponseEntity<List<CategoryResponse>> getActiveCategories() {
-        return ResponseEntity.ok(categoryService.getActiveCategories());
+    public ResponseEntity<List<CategoryResponse>> getActiveCategories(WebRequest request) {
+        return conditionalResponses.respondList(request, ConditionalResponses.CATEGORIES, "active-categories",
+                categoryService.getActiveCategories(), CategoryResponse::getUpdatedAt);
     }
 
     @GetMapping("/{categoryId}")
-    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long categoryId) {
-        return ResponseEntity.ok(categoryService.getCategoryById(categoryId));
+    public ResponseEntity<CategoryResponse> getCategoryById(@PathVariable Long categoryId, WebRequest request) {
+        CategoryResponse category = categoryService.getCategoryById(categoryId);
+        Instant lastModified = ConditionalResponses.toInstant(category.getUpdatedAt());
+        String etag = "category-" + categoryId + "-" + (lastModified != null ? lastModified.toEpochMilli() : 0);
+        return conditionalResponses.respond(request, ConditionalResponses.CATEGORY, etag, lastModified, () -> category);
     }
 
     @PostMapping
@@ -1,20 +1,27 @@
 package com.almousleck.controller;
 
 import com.almousleck.dto.auth.ApiResponse;
+import com.almousleck.dto.common.CursorPage;
 import com.almousleck.dto.event.*;
 import com.almousleck.dto.event.EventSummaryResponse;
 import com.almousleck.security.CurrentUser;
 import com.almousleck.security.UserPrincipal;
+import com.almousleck.service.EventImportService;
 import com.almousleck.service.EventService;
+import com.almousleck.utils.ConditionalResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -23,12 +30,21 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final EventImportService eventImportService;
+    private final ConditionalResponses conditionalResponses;
 
     @GetMapping
     public ResponseEntity<Page<EventSummaryResponse>> getAllEvents(Pageable pageable) {
         return ResponseEntity.ok(eventService.getAllEvents(pageable));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<EventSummaryResponse>> scrollEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.scrollEvents(cursor, size));
+    }
+
     @PostMapping("/clear-cache")
     @PreAuthorize("hasRole('ADMIN')")
     public ResponseEntity<ApiResponse> clearEventCache() {
@@ -53,9 +69,17 @@ public class EventController {
         return ResponseEntity.ok(eventService.getUpcomingEvents(pageable));
     }
 
+    @GetMapping("/upcoming/scroll")
+    public ResponseEntity<CursorPage<EventSummaryResponse>> scrollUpcomingEvents(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(eventService.scrollUpcomingEvents(cursor, size));
+    }
+
     @GetMapping("/{eventId}")
-    public ResponseEntity<EventDetailResponse> getEventById(@PathVariable Long eventId) {
-        return ResponseEntity.ok(eventService.getEventById(eventId));
+    public ResponseEntity<EventDetailResponse> getEventById(@PathVariable Long eventId, WebRequest request) {
+        return conditionalResponses.respond(request, ConditionalResponses.EVENT_DETAIL,
+                eventService.getEventDetailTag(eventId), null, () -> eventService.getEventById(eventId));
     }
 
     @PostMapping
@@ -67,6 +91,19 @@ public class EventController {
                 .body(eventService.createEvent(currentUser, createEventRequest));
     }
 
+    // The body is read as a stream, so files far larger than the multipart limit can be imported
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson"})
+    @PreAuthorize("hasRole('ORGANIZER')")
+    public ResponseEntity<EventImportResponse> importEvents(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        EventImportService.ImportFormat format = contentType.isCompatibleWith(MediaType.parseMediaType("application/x-ndjson"))
+                ? EventImportService.ImportFormat.NDJSON
+                : EventImportService.ImportFormat.CSV;
+        return ResponseEntity.ok(eventImportService.importEvents(currentUser, body, format));
+    }
+
     @PutMapping("/{eventId}")
     @PreAuthorize("hasRole('ORGANIZER')")
     public ResponseEntity<EventDetailResponse> updateEvent(
@@ -86,8 +123,9 @@ public class EventController {
     }
 
     @GetMapping("/{eventId}/tickets")
-    public ResponseEntity<List<TicketResponse>> getEventTickets(@PathVariable Long eventId) {
-        return ResponseEntity.ok(eventService.getEventTickets(eventId));
+    public ResponseEntity<List<TicketResponse>> getEventTickets(@PathVariable Long eventId, WebRequest request) {
+        return conditionalResponses.respond(request, ConditionalResponses.EVENT_TICKETS,
+                eventService.getEventTicketsTag(eventId), null, () -> eventService.getEventTickets(eventId));
     }
 
     @PostMapping("/{eventId}/tickets")
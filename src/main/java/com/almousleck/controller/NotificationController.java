@@ -1,6 +1,7 @@
 package com.almousleck.controller;
 
 import com.almousleck.dto.auth.ApiResponse;
+import com.almousleck.dto.common.CursorPage;
 import com.almousleck.dto.notification.NotificationResponse;
 import com.almousleck.security.CurrentUser;
 import com.almousleck.security.UserPrincipal;
@@ -26,6 +27,15 @@ public class NotificationController {
         return ResponseEntity.ok(notificationService.getUserNotifications(currentUser, unreadOnly, pageable));
     }
 
+    @GetMapping("/scroll")
+    public ResponseEntity<CursorPage<NotificationResponse>> scrollUserNotifications(
+            @CurrentUser UserPrincipal currentUser,
+            @RequestParam(value = "unreadOnly", defaultValue = "false") boolean unreadOnly,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(notificationService.scrollUserNotifications(currentUser, unreadOnly, cursor, size));
+    }
+
     @GetMapping("/unread-count")
     public ResponseEntity<Long> getUnreadCount(@CurrentUser UserPrincipal currentUser) {
         return ResponseEntity.ok(notificationService.getUnreadCount(currentUser));
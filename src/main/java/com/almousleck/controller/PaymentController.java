@@ -4,6 +4,7 @@ import com.almousleck.dto.payment.PaymentRequest;
 import com.almousleck.dto.payment.PaymentResponse;
 import com.almousleck.security.CurrentUser;
 import com.almousleck.security.UserPrincipal;
+import com.almousleck.service.IdempotencyService;
 import com.almousleck.service.PaymentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -19,12 +20,15 @@ public class PaymentController {
     // real implementation must be done in the upcoming version
 
     private final PaymentService paymentService;
+    private final IdempotencyService idempotencyService;
 
     @PostMapping("/initiate")
     public ResponseEntity<PaymentResponse> initiatePayment(
             @CurrentUser UserPrincipal currentUser,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey,
             @Valid @RequestBody PaymentRequest paymentRequest) {
-        return ResponseEntity.ok(paymentService.initiatePayment(currentUser, paymentRequest));
+        return ResponseEntity.ok(idempotencyService.execute(idempotencyKey, currentUser, "INITIATE_PAYMENT",
+                paymentRequest, PaymentResponse.class, () -> paymentService.initiatePayment(currentUser, paymentRequest)));
     }
 
     @PostMapping("/complete/{transactionReference}")
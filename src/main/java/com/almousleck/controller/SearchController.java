@@ -2,14 +2,19 @@ package com.almousleck.controller;
 
 import com.almousleck.dto.search.SearchRequest;
 import com.almousleck.dto.search.SearchResponse;
+import com.almousleck.dto.search.SuggestionResponse;
 import com.almousleck.service.SearchService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.util.List;
+
 @RestController
 @RequestMapping("/search")
 @RequiredArgsConstructor
@@ -21,5 +26,11 @@ public class SearchController {
     public ResponseEntity<SearchResponse> searchEvents(@RequestBody SearchRequest request) {
         return ResponseEntity.ok(searchService.searchEvents(request));
     }
+
+    @GetMapping("/suggest")
+    public ResponseEntity<List<SuggestionResponse>> suggest(@RequestParam(value = "q") String query,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(searchService.suggest(query, limit));
+    }
 }
 
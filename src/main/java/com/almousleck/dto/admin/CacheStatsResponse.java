@@ -0,0 +1,20 @@
+package com.almousleck.dto.admin;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class CacheStatsResponse {
+    private String name;
+    private long estimatedSize;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long evictionCount;
+    private long evictionWeight;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private long totalLoadTimeNanos;
+    private double averageLoadPenaltyNanos;
+}
@@ -1,13 +1,17 @@
 package com.almousleck.dto.booking;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class BookingDetailResponse {
     private Long id;
     private String bookingReference;
@@ -23,5 +27,6 @@ public class BookingDetailResponse {
     private String userName;
     private String userEmail;
     private LocalDateTime createdAt;
+    private LocalDateTime expiresAt;
 }
 
@@ -0,0 +1,18 @@
+package com.almousleck.dto.booking;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CartBookingResponse {
+    private List<BookingDetailResponse> bookings;
+    private BigDecimal totalAmount;
+}
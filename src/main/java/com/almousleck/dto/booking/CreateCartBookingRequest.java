@@ -0,0 +1,17 @@
+package com.almousleck.dto.booking;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class CreateCartBookingRequest {
+
+    @NotEmpty(message = "Cart cannot be empty")
+    @Size(max = 20, message = "Cart cannot contain more than 20 items")
+    @Valid
+    private List<CreateBookingRequest> items;
+}
@@ -3,6 +3,8 @@ package com.almousleck.dto.category;
 import lombok.Builder;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 @Builder
 public class CategoryResponse {
@@ -11,4 +13,5 @@ public class CategoryResponse {
     private String description;
     private String iconUrl;
     private boolean active;
+    private LocalDateTime updatedAt;
 }
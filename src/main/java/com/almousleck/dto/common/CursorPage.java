@@ -0,0 +1,31 @@
+package com.almousleck.dto.common;
+
+import com.almousleck.utils.Cursor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+// A keyset slice: no total count, just the rows and where to continue from
+@Data
+@Builder
+public class CursorPage<T> {
+    private List<T> content;
+    private int size;
+    private boolean hasNext;
+    private String nextCursor;
+
+    // Rows are fetched with one extra so we know whether another slice exists without counting
+    public static <E, T> CursorPage<T> of(List<E> rows, int size, Function<E, Cursor> cursorOf, Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> slice = hasNext ? rows.subList(0, size) : rows;
+
+        return CursorPage.<T>builder()
+                .content(slice.stream().map(mapper).toList())
+                .size(slice.size())
+                .hasNext(hasNext)
+                .nextCursor(hasNext ? cursorOf.apply(slice.get(slice.size() - 1)).encode() : null)
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.almousleck.dto.event;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -20,4 +21,9 @@ public class CreateTicketRequest {
     @NotNull(message = "Quantity cannot be null")
     @Positive(message = "Quantity must be positive")
     private Integer quantity;
+
+    // Splits the stock across several inventory rows for high-volume tickets
+    @Positive(message = "Shard count must be positive")
+    @Max(value = 64, message = "Shard count cannot exceed 64")
+    private Integer shardCount;
 }
@@ -0,0 +1,23 @@
+package com.almousleck.dto.event;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@Builder
+public class EventImportResponse {
+    private long totalRows;
+    private long importedEvents;
+    private long importedTickets;
+    private long failedRows;
+    private List<RowError> errors;
+
+    @Data
+    @Builder
+    public static class RowError {
+        private long row;
+        private String message;
+    }
+}
@@ -0,0 +1,11 @@
+package com.almousleck.dto.event;
+
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+// One imported event; the category can be given by name instead of id
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class EventImportRow extends CreateEventRequest {
+    private String category;
+}
@@ -21,4 +21,7 @@ public class EventSummaryResponse {
     private Long organizerId;
     private String organizerName;
     private String status;
+    // Only on public listings, which read them from the event_listing read model
+    private BigDecimal minTicketPrice;
+    private Integer availableTickets;
 }
@@ -1,5 +1,6 @@
 package com.almousleck.dto.event;
 
+import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Positive;
 import lombok.Data;
 
@@ -14,4 +15,9 @@ public class UpdateTicketRequest {
 
     @Positive(message = "Quantity must be positive")
     private Integer quantity;
+
+    // Splits the stock across several inventory rows for high-volume tickets
+    @Positive(message = "Shard count must be positive")
+    @Max(value = 64, message = "Shard count cannot exceed 64")
+    private Integer shardCount;
 }
@@ -2,11 +2,27 @@ package com.almousleck.dto.search;
 
 import lombok.Data;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Data
 public class SearchRequest {
     private String keyword;
     private Long categoryId;
+    // Any of these categories; combined with categoryId when both are given
+    private List<Long> categoryIds;
     private Boolean upcomingOnly = true;
+    // Inclusive start date bounds
+    private LocalDateTime startFrom;
+    private LocalDateTime startTo;
+    // Inclusive price bounds, on the base price or, with priceField "ticket", the cheapest ticket
+    private BigDecimal minPrice;
+    private BigDecimal maxPrice;
+    private String priceField = "base";
+    private Long organizerId;
+    // Case-insensitive part of the location
+    private String location;
     private Boolean includeFacets = true;
     private Integer page = 0;
     private Integer size = 10;
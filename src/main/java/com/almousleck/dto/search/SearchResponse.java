@@ -32,6 +32,8 @@ public class SearchResponse {
         private String categoryName;
         private Long organizerId;
         private String organizerName;
+        private BigDecimal minTicketPrice;
+        private Integer availableTickets;
     }
 
     @Data
@@ -0,0 +1,13 @@
+package com.almousleck.dto.search;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class SuggestionResponse {
+    private String text;
+    // TITLE, LOCATION or CATEGORY
+    private String type;
+    private int eventCount;
+}
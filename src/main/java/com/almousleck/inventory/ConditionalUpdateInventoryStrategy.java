@@ -0,0 +1,26 @@
+package com.almousleck.inventory;
+
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import org.springframework.stereotype.Component;
+
+@Component
+public class ConditionalUpdateInventoryStrategy extends DatabaseInventoryStrategy {
+
+    public ConditionalUpdateInventoryStrategy(TicketRepository ticketRepository) {
+        super(ticketRepository);
+    }
+
+    @Override
+    public InventoryMode getMode() {
+        return InventoryMode.CONDITIONAL;
+    }
+
+    @Override
+    public void reserve(Ticket ticket, int quantity) {
+        if (ticketRepository.reserveIfAvailable(ticket.getId(), quantity) == 0) {
+            throw new BadRequestException("Not enough tickets available");
+        }
+    }
+}
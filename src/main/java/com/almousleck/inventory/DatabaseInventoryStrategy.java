@@ -0,0 +1,38 @@
+package com.almousleck.inventory;
+
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.exception.ResourceNotFoundException;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+
+// Base for strategies that decrement the tickets row with a single guarded UPDATE instead of a row lock
+@RequiredArgsConstructor
+public abstract class DatabaseInventoryStrategy implements InventoryStrategy {
+
+    protected final TicketRepository ticketRepository;
+
+    @Override
+    public Ticket getTicketForBooking(Long ticketId, int quantity) {
+        return ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
+    }
+
+    @Override
+    public void release(Ticket ticket, int quantity) {
+        ticketRepository.releaseQuantity(ticket.getId(), quantity);
+    }
+
+    @Override
+    public void adjustCapacity(Ticket ticket, int delta) {
+        if (ticket.getAvailableQuantity() + delta < 0) {
+            throw new BadRequestException("Cannot reduce quantity below the number of tickets already sold");
+        }
+        ticket.setAvailableQuantity(ticket.getAvailableQuantity() + delta);
+    }
+
+    @Override
+    public int getAvailableQuantity(Ticket ticket) {
+        return ticket.getAvailableQuantity();
+    }
+}
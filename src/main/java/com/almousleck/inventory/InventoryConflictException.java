@@ -0,0 +1,11 @@
+package com.almousleck.inventory;
+
+import com.almousleck.exception.BadRequestException;
+
+// A reservation lost its version check too often; retrying the whole booking transaction may win
+public class InventoryConflictException extends BadRequestException {
+
+    public InventoryConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,54 @@
+package com.almousleck.inventory;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.exception.BadRequestException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+// Retries a whole booking transaction after an optimistic version conflict. It backs off between
+// attempts outside the transaction, so no connection or row lock is held while waiting.
+@Component
+@Slf4j
+public class InventoryConflictRetry {
+
+    private final AppProperties.Inventory.Optimistic settings;
+
+    public InventoryConflictRetry(AppProperties appProperties) {
+        this.settings = appProperties.getInventory().getOptimistic();
+    }
+
+    public <T> T execute(Supplier<T> booking) {
+        // Inside a caller's transaction the conflict has already marked it rollback-only
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return booking.get();
+        }
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return booking.get();
+            } catch (InventoryConflictException e) {
+                if (attempt >= settings.getMaxAttempts()) {
+                    log.warn("Gave up booking after {} conflicting transactions", attempt);
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        // Exponential backoff with full jitter so competing buyers do not retry in lockstep
+        long ceiling = Math.min(settings.getMaxBackoffMs(), settings.getBaseBackoffMs() << Math.min(attempt - 1, 20));
+        long sleepMs = ThreadLocalRandom.current().nextLong(ceiling + 1);
+        try {
+            Thread.sleep(sleepMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BadRequestException("Booking was interrupted, please try again");
+        }
+    }
+}
@@ -0,0 +1,5 @@
+package com.almousleck.inventory;
+
+public enum InventoryMode {
+    PESSIMISTIC, OPTIMISTIC, CONDITIONAL, LEDGER
+}
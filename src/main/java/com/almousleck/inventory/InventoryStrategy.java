@@ -0,0 +1,22 @@
+package com.almousleck.inventory;
+
+import com.almousleck.model.Ticket;
+
+public interface InventoryStrategy {
+
+    InventoryMode getMode();
+
+    Ticket getTicketForBooking(Long ticketId, int quantity);
+
+    void reserve(Ticket ticket, int quantity);
+
+    void release(Ticket ticket, int quantity);
+
+    void adjustCapacity(Ticket ticket, int delta);
+
+    int getAvailableQuantity(Ticket ticket);
+
+    // Drops anything held in memory for a ticket that is being deleted
+    default void evict(Ticket ticket) {
+    }
+}
@@ -0,0 +1,63 @@
+package com.almousleck.inventory;
+
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.exception.ResourceNotFoundException;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class LedgerInventoryStrategy implements InventoryStrategy {
+
+    private final TicketRepository ticketRepository;
+    private final TicketInventoryLedger inventoryLedger;
+
+    @Override
+    public InventoryMode getMode() {
+        return InventoryMode.LEDGER;
+    }
+
+    @Override
+    public Ticket getTicketForBooking(Long ticketId, int quantity) {
+        // The ledger is the admission authority, so the ticket row is read without a lock
+        if (inventoryLedger.isKnownSoldOut(ticketId, quantity)) {
+            throw new BadRequestException("Not enough tickets available");
+        }
+        return ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
+    }
+
+    @Override
+    public void reserve(Ticket ticket, int quantity) {
+        if (!inventoryLedger.tryReserve(ticket.getId(), quantity)) {
+            throw new BadRequestException("Not enough tickets available");
+        }
+    }
+
+    @Override
+    public void release(Ticket ticket, int quantity) {
+        inventoryLedger.release(ticket.getId(), quantity);
+    }
+
+    @Override
+    public void adjustCapacity(Ticket ticket, int delta) {
+        if (delta < 0 && !inventoryLedger.tryReserve(ticket.getId(), -delta)) {
+            throw new BadRequestException("Cannot reduce quantity below the number of tickets already sold");
+        }
+        if (delta > 0) {
+            inventoryLedger.release(ticket.getId(), delta);
+        }
+    }
+
+    @Override
+    public int getAvailableQuantity(Ticket ticket) {
+        return inventoryLedger.getAvailableQuantity(ticket.getId());
+    }
+
+    @Override
+    public void evict(Ticket ticket) {
+        inventoryLedger.evict(ticket.getId());
+    }
+}
@@ -0,0 +1,47 @@
+package com.almousleck.inventory;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.exception.ResourceNotFoundException;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Component
+@Slf4j
+public class OptimisticInventoryStrategy extends DatabaseInventoryStrategy {
+
+    private final AppProperties.Inventory.Optimistic settings;
+
+    public OptimisticInventoryStrategy(TicketRepository ticketRepository, AppProperties appProperties) {
+        super(ticketRepository);
+        this.settings = appProperties.getInventory().getOptimistic();
+    }
+
+    @Override
+    public InventoryMode getMode() {
+        return InventoryMode.OPTIMISTIC;
+    }
+
+    // Re-reads straight away on a version conflict; waiting happens in InventoryConflictRetry,
+    // outside the booking transaction, so no connection or earlier row lock is held while sleeping
+    @Override
+    public void reserve(Ticket ticket, int quantity) {
+        for (int attempt = 1; attempt <= settings.getInTransactionAttempts(); attempt++) {
+            TicketRepository.VersionedAvailability current = ticketRepository.findVersionedAvailabilityById(ticket.getId())
+                    .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticket.getId()));
+
+            if (current.getAvailableQuantity() < quantity) {
+                throw new BadRequestException("Not enough tickets available");
+            }
+
+            if (ticketRepository.reserveIfVersionMatches(ticket.getId(), quantity, current.getVersion()) == 1) {
+                return;
+            }
+        }
+
+        log.debug("Ticket {} hit {} version conflicts in one transaction", ticket.getId(), settings.getInTransactionAttempts());
+        throw new InventoryConflictException("Tickets are in high demand, please try again");
+    }
+}
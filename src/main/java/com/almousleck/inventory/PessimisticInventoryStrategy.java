@@ -0,0 +1,54 @@
+package com.almousleck.inventory;
+
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.exception.ResourceNotFoundException;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PessimisticInventoryStrategy implements InventoryStrategy {
+
+    private final TicketRepository ticketRepository;
+
+    @Override
+    public InventoryMode getMode() {
+        return InventoryMode.PESSIMISTIC;
+    }
+
+    @Override
+    public Ticket getTicketForBooking(Long ticketId, int quantity) {
+        return ticketRepository.findByIdWithLock(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
+    }
+
+    @Override
+    public void reserve(Ticket ticket, int quantity) {
+        if (ticket.getAvailableQuantity() < quantity) {
+            throw new BadRequestException("Not enough tickets available");
+        }
+        ticket.setAvailableQuantity(ticket.getAvailableQuantity() - quantity);
+        ticketRepository.save(ticket);
+    }
+
+    @Override
+    public void release(Ticket ticket, int quantity) {
+        ticket.setAvailableQuantity(ticket.getAvailableQuantity() + quantity);
+        ticketRepository.save(ticket);
+    }
+
+    @Override
+    public void adjustCapacity(Ticket ticket, int delta) {
+        if (ticket.getAvailableQuantity() + delta < 0) {
+            throw new BadRequestException("Cannot reduce quantity below the number of tickets already sold");
+        }
+        ticket.setAvailableQuantity(ticket.getAvailableQuantity() + delta);
+    }
+
+    @Override
+    public int getAvailableQuantity(Ticket ticket) {
+        return ticket.getAvailableQuantity();
+    }
+}
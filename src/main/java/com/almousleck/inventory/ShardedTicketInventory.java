@@ -0,0 +1,138 @@
+package com.almousleck.inventory;
+
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.exception.ResourceNotFoundException;
+import com.almousleck.model.Ticket;
+import com.almousleck.model.TicketInventoryShard;
+import com.almousleck.repository.TicketInventoryShardRepository;
+import com.almousleck.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Spreads a ticket's stock over several rows so concurrent bookings update different rows
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ShardedTicketInventory {
+
+    private final TicketRepository ticketRepository;
+    private final TicketInventoryShardRepository shardRepository;
+    private final Set<Long> shardedTicketIds = ConcurrentHashMap.newKeySet();
+
+    // Lets bookings skip the ticket row lock before the ticket is loaded
+    public boolean isSharded(Long ticketId) {
+        return shardedTicketIds.contains(ticketId);
+    }
+
+    public Ticket getTicketForBooking(Long ticketId) {
+        return ticketRepository.findById(ticketId)
+                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
+    }
+
+    public void reserve(Ticket ticket, int quantity) {
+        if (!take(ticket, quantity)) {
+            throw new BadRequestException("Not enough tickets available");
+        }
+    }
+
+    public void release(Ticket ticket, int quantity) {
+        shardRepository.giveBack(ticket.getId(), randomShard(ticket), quantity);
+    }
+
+    public void adjustCapacity(Ticket ticket, int delta) {
+        if (delta > 0) {
+            release(ticket, delta);
+        } else if (delta < 0 && !take(ticket, -delta)) {
+            throw new BadRequestException("Cannot reduce quantity below the number of tickets already sold");
+        }
+    }
+
+    public int getAvailableQuantity(Ticket ticket) {
+        return shardRepository.sumAvailableQuantityByTicketId(ticket.getId());
+    }
+
+    public void createShards(Ticket ticket, int available) {
+        int shardCount = ticket.getShardCount();
+        List<TicketInventoryShard> shards = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            shards.add(TicketInventoryShard.builder()
+                    .ticket(ticket)
+                    .shardIndex(i)
+                    .availableQuantity(available / shardCount + (i < available % shardCount ? 1 : 0))
+                    .build());
+        }
+        shardRepository.saveAll(shards);
+        afterCommit(() -> shardedTicketIds.add(ticket.getId()));
+    }
+
+    // Deletes the shards and returns the stock they held
+    public int removeShards(Ticket ticket) {
+        int available = shardRepository.lockAvailableQuantities(ticket.getId()).stream()
+                .mapToInt(Integer::intValue)
+                .sum();
+        shardRepository.deleteByTicketId(ticket.getId());
+        afterCommit(() -> shardedTicketIds.remove(ticket.getId()));
+        return available;
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.sharding.refresh-interval-ms:60000}")
+    public void refreshShardedTickets() {
+        // Picks up tickets sharded or merged by other nodes
+        Set<Long> latest = ticketRepository.findShardedTicketIds();
+        shardedTicketIds.addAll(latest);
+        shardedTicketIds.retainAll(latest);
+    }
+
+    private boolean take(Ticket ticket, int quantity) {
+        // Start on a random shard and move on only when it cannot cover the whole quantity
+        int shardCount = ticket.getShardCount();
+        int start = randomShard(ticket);
+        for (int i = 0; i < shardCount; i++) {
+            if (shardRepository.takeIfAvailable(ticket.getId(), (start + i) % shardCount, quantity) == 1) {
+                return true;
+            }
+        }
+
+        // Stock is scattered, so lock all shards and gather it from several of them
+        List<Integer> available = shardRepository.lockAvailableQuantities(ticket.getId());
+        if (available.stream().mapToInt(Integer::intValue).sum() < quantity) {
+            return false;
+        }
+        int remaining = quantity;
+        for (int shardIndex = 0; shardIndex < available.size() && remaining > 0; shardIndex++) {
+            int taken = Math.min(available.get(shardIndex), remaining);
+            if (taken > 0) {
+                shardRepository.takeIfAvailable(ticket.getId(), shardIndex, taken);
+                remaining -= taken;
+            }
+        }
+        return true;
+    }
+
+    private int randomShard(Ticket ticket) {
+        return ThreadLocalRandom.current().nextInt(ticket.getShardCount());
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.almousleck.inventory;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.exception.ServiceUnavailableException;
+import com.almousleck.repository.TicketRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Rebuilt from bookings as a lifecycle bean, so it is ready before the web server and the
+// schedulers start and no reservation can be in flight while the counters are replaced
+@Component
+@Slf4j
+public class TicketInventoryLedger implements SmartLifecycle {
+
+    private static final int EVICT_CHUNK_SIZE = 500;
+    // Below the embedded web server's start/stop phase (DEFAULT_PHASE - 2048), so this starts first
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final TicketRepository ticketRepository;
+    private final boolean enabled;
+    private final Object[] loadLocks;
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public TicketInventoryLedger(TicketRepository ticketRepository, AppProperties appProperties) {
+        this.ticketRepository = ticketRepository;
+        this.enabled = appProperties.getInventory().getStrategy() == InventoryMode.LEDGER;
+        this.loadLocks = new Object[Math.max(1, appProperties.getInventory().getLedger().getLockStripes())];
+        for (int i = 0; i < loadLocks.length; i++) {
+            loadLocks[i] = new Object();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Cheap pre-check that lets sold-out requests fail before any query runs
+    public boolean isKnownSoldOut(Long ticketId, int quantity) {
+        Entry entry = entries.get(ticketId);
+        return entry != null && entry.available.get() < quantity;
+    }
+
+    public boolean tryReserve(Long ticketId, int quantity) {
+        if (!ready) {
+            throw new ServiceUnavailableException("Ticket inventory is still loading, please retry");
+        }
+        Entry entry = entry(ticketId);
+        while (true) {
+            int current = entry.available.get();
+            if (current < quantity) {
+                return false;
+            }
+            if (entry.available.compareAndSet(current, current - quantity)) {
+                entry.unflushed.addAndGet(-quantity);
+                settle(ticketId, entry);
+                break;
+            }
+        }
+
+        // Give the seats back if the booking transaction does not commit
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        apply(ticketId, quantity);
+                    }
+                }
+            });
+        }
+        return true;
+    }
+
+    public void release(Long ticketId, int quantity) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(ticketId, quantity);
+                }
+            });
+        } else {
+            apply(ticketId, quantity);
+        }
+    }
+
+    public int getAvailableQuantity(Long ticketId) {
+        return entry(ticketId).available.get();
+    }
+
+    // Waits for the deleting transaction to commit, so a rollback keeps the entry
+    public void evict(Long ticketId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    retire(ticketId);
+                }
+            });
+        } else {
+            retire(ticketId);
+        }
+    }
+
+    // Tickets of events that have started take no more bookings, so their entries are dropped
+    // rather than held for the life of the process; a late release reloads the entry from the database
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.evict-interval-ms:600000}")
+    public void evictFinished() {
+        if (!enabled) {
+            return;
+        }
+
+        List<Long> ticketIds = new ArrayList<>(entries.keySet());
+        LocalDateTime now = LocalDateTime.now();
+        int evicted = 0;
+        for (int from = 0; from < ticketIds.size(); from += EVICT_CHUNK_SIZE) {
+            List<Long> chunk = ticketIds.subList(from, Math.min(from + EVICT_CHUNK_SIZE, ticketIds.size()));
+            Set<Long> upcoming = ticketRepository.findIdsForUpcomingEvents(chunk, now);
+            for (Long ticketId : chunk) {
+                if (!upcoming.contains(ticketId)) {
+                    retire(ticketId);
+                    evicted++;
+                }
+            }
+        }
+        if (evicted > 0) {
+            log.info("Evicted {} finished or deleted tickets from the inventory ledger", evicted);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.ledger.flush-interval-ms:500}")
+    public void flush() {
+        if (!enabled) {
+            return;
+        }
+        entries.forEach(this::flushEntry);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    @Override
+    public void start() {
+        rebuild();
+        ready = true;
+    }
+
+    @Override
+    public void stop() {
+        ready = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ready;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    public void rebuild() {
+        if (!enabled) {
+            return;
+        }
+        // Once reservations are taken the live counters are the truth; replacing them would
+        // drop deltas of bookings that commit after the reconcile
+        if (ready) {
+            log.warn("Ticket inventory ledger is already serving reservations, skipping rebuild");
+            return;
+        }
+
+        // Bookings are the durable record, so derive availability from them
+        int reconciled = ticketRepository.reconcileAvailableQuantities();
+        ticketRepository.findAvailabilityForUpcomingEvents(LocalDateTime.now())
+                .forEach(row -> entries.put(row.getId(), new Entry(row.getAvailableQuantity())));
+
+        log.info("Ticket inventory ledger rebuilt: {} tickets reconciled, {} tickets loaded", reconciled, entries.size());
+    }
+
+    private void apply(Long ticketId, int delta) {
+        Entry entry = entry(ticketId);
+        entry.available.addAndGet(delta);
+        entry.unflushed.addAndGet(delta);
+        settle(ticketId, entry);
+    }
+
+    // Removes the entry and writes out what it still owes. The load lock keeps a fresh entry
+    // from reading the row before that write lands.
+    private void retire(Long ticketId) {
+        synchronized (loadLock(ticketId)) {
+            Entry entry = entries.remove(ticketId);
+            if (entry != null) {
+                entry.retired = true;
+                flushEntry(ticketId, entry);
+            }
+        }
+    }
+
+    // A caller that picked up an entry just before it was retired writes its own change through
+    private void settle(Long ticketId, Entry entry) {
+        if (entry.retired) {
+            flushEntry(ticketId, entry);
+        }
+    }
+
+    private void flushEntry(Long ticketId, Entry entry) {
+        int delta = entry.unflushed.getAndSet(0);
+        if (delta == 0) {
+            return;
+        }
+        try {
+            ticketRepository.adjustAvailableQuantity(ticketId, delta);
+        } catch (Exception e) {
+            entry.unflushed.addAndGet(delta);
+            log.error("Failed to flush inventory for ticket {}, will retry", ticketId, e);
+        }
+    }
+
+    private Entry entry(Long ticketId) {
+        Entry entry = entries.get(ticketId);
+        if (entry != null) {
+            return entry;
+        }
+
+        // Striped locks so concurrent misses on the same ticket load it once
+        synchronized (loadLock(ticketId)) {
+            entry = entries.get(ticketId);
+            if (entry == null) {
+                int available = ticketRepository.findAvailableQuantityById(ticketId).orElse(0);
+                entry = new Entry(available);
+                entries.put(ticketId, entry);
+            }
+            return entry;
+        }
+    }
+
+    private Object loadLock(Long ticketId) {
+        return loadLocks[Math.floorMod(ticketId.hashCode(), loadLocks.length)];
+    }
+
+    private static final class Entry {
+        private final AtomicInteger available;
+        private final AtomicInteger unflushed = new AtomicInteger();
+        private volatile boolean retired;
+
+        private Entry(int available) {
+            this.available = new AtomicInteger(available);
+        }
+    }
+}
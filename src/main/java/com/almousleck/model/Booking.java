@@ -9,7 +9,17 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bookings")
+// The booking detail view plus the inverse payment side, which would otherwise be selected on its own
+@NamedEntityGraph(name = "Booking.detail", attributeNodes = {
+        @NamedAttributeNode("event"),
+        @NamedAttributeNode("ticket"),
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode("paymentTransaction")
+})
+@Table(name = "bookings", indexes = {
+        @Index(name = "idx_bookings_status_expires_at", columnList = "status, expires_at"),
+        @Index(name = "idx_bookings_user_created_at", columnList = "user_id, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +28,7 @@ import java.time.LocalDateTime;
 public class Booking {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "bookings_seq")
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -49,6 +59,9 @@ public class Booking {
     @OneToOne(mappedBy = "booking", cascade = CascadeType.ALL, orphanRemoval = true)
     private PaymentTransaction paymentTransaction;
 
+    // Seats stay held for a PENDING booking until this moment
+    private LocalDateTime expiresAt;
+
     @CreationTimestamp
     private LocalDateTime createdAt;
 
@@ -56,7 +69,7 @@ public class Booking {
     private LocalDateTime updatedAt;
 
     public enum BookingStatus {
-        PENDING, CONFIRMED, CANCELLED, REFUNDED
+        PENDING, CONFIRMED, CANCELLED, REFUNDED, EXPIRED
     }
 }
 
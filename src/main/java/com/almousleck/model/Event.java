@@ -10,7 +10,16 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "events")
+// Everything the event detail view shows, in one statement
+@NamedEntityGraph(name = "Event.detail", attributeNodes = {
+        @NamedAttributeNode("category"),
+        @NamedAttributeNode("organizer"),
+        @NamedAttributeNode("tickets")
+})
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_published_start_date", columnList = "published, start_date, id"),
+        @Index(name = "idx_events_published_category_start_date", columnList = "published, category_id, start_date, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -19,7 +28,7 @@ import java.util.Set;
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "events_seq")
     private Long id;
 
     @Column(nullable = false)
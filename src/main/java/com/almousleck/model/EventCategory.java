@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 public class EventCategory {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "event_categories_seq")
     private Long id;
 
     @Column(nullable = false, unique = true)
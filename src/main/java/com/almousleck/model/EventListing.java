@@ -0,0 +1,93 @@
+package com.almousleck.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+// Read model for public browsing: one row per published event, with everything the listing and
+// search pages show, so those reads never join events, categories, users or tickets.
+// Maintained by EventListingProjector.
+@Entity
+@Table(name = "event_listing", indexes = {
+        @Index(name = "idx_event_listing_start_date", columnList = "start_date, id"),
+        @Index(name = "idx_event_listing_category_start_date", columnList = "category_id, start_date, id"),
+        @Index(name = "idx_event_listing_organizer_start_date", columnList = "organizer_id, start_date, id"),
+        @Index(name = "idx_event_listing_base_price", columnList = "base_price"),
+        @Index(name = "idx_event_listing_min_ticket_price", columnList = "min_ticket_price")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class EventListing implements Persistable<Long> {
+
+    // The id of the event this row mirrors
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(columnDefinition = "TEXT")
+    private String description;
+
+    @Column(nullable = false)
+    private String location;
+
+    @Column(nullable = false)
+    private LocalDateTime startDate;
+
+    @Column(nullable = false)
+    private LocalDateTime endDate;
+
+    @Column(nullable = false)
+    private BigDecimal basePrice;
+
+    private String imageUrl;
+
+    @Column(nullable = false)
+    private Long categoryId;
+
+    @Column(nullable = false)
+    private String categoryName;
+
+    @Column(nullable = false)
+    private Long organizerId;
+
+    @Column(nullable = false)
+    private String organizerName;
+
+    // Null while the event has no tickets
+    private BigDecimal minTicketPrice;
+
+    @Column(nullable = false)
+    private Integer availableTickets;
+
+    // Popularity signal for suggestions; null on rows written before it existed
+    private Integer soldTickets;
+
+    // The event's creation time, for sorting by newest
+    private LocalDateTime createdAt;
+
+    private LocalDateTime refreshedAt;
+
+    // Ids are assigned, so Spring Data cannot tell new rows apart without this
+    @Transient
+    @Builder.Default
+    private boolean fresh = true;
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        fresh = false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.almousleck.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"user_id", "operation", "idempotency_key"})
+}, indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class IdempotencyRecord {
+
+    @Id
+    @PooledSequence(name = "idempotency_keys_seq")
+    private Long id;
+
+    @Column(name = "idempotency_key", nullable = false)
+    private String idempotencyKey;
+
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    @Column(nullable = false, length = 50)
+    private String operation;
+
+    @Column(nullable = false, length = 64)
+    private String requestHash;
+
+    // Null while the first request still runs; the row itself is the claim on the key
+    @Column(columnDefinition = "TEXT")
+    private String responseBody;
+
+    // Left nullable so the column can be added to existing tables; rows from before it are completed
+    @Enumerated(EnumType.STRING)
+    @Column(length = 16)
+    private Status status;
+
+    @CreationTimestamp
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    public boolean isPending() {
+        return status == Status.PENDING;
+    }
+
+    public enum Status {
+        PENDING, COMPLETED
+    }
+}
@@ -7,7 +7,10 @@ import org.hibernate.annotations.CreationTimestamp;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "notifications")
+@Table(name = "notifications", indexes = {
+        @Index(name = "idx_notifications_user_created_at", columnList = "user_id, created_at, id"),
+        @Index(name = "idx_notifications_user_read_created_at", columnList = "user_id, is_read, created_at, id")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -16,7 +19,7 @@ import java.time.LocalDateTime;
 public class Notification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "notifications_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -17,7 +17,7 @@ import java.time.LocalDateTime;
 public class OrganizerApplication {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "organizer_applications_seq")
     private Long id;
 
     @Column(columnDefinition = "TEXT")
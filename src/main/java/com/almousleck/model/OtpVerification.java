@@ -16,7 +16,7 @@ import java.time.LocalDateTime;
 public class OtpVerification {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "otp_verifications_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -0,0 +1,53 @@
+package com.almousleck.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "outbox_messages", indexes = {
+        @Index(name = "idx_outbox_messages_next_attempt_at", columnList = "next_attempt_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxMessage {
+
+    @Id
+    @PooledSequence(name = "outbox_messages_seq")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 40)
+    private MessageType type;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String payload;
+
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer attempts = 0;
+
+    // Bit set of the delivery steps that already succeeded, so a retry only repeats the failed ones
+    @Builder.Default
+    @Column(nullable = false)
+    private Integer completedSteps = 0;
+
+    // Null once the message has used up its attempts and is parked for inspection
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(length = 1000)
+    private String lastError;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    public enum MessageType {
+        BOOKING_CREATED, CART_BOOKING_CREATED, BOOKING_CANCELLED
+    }
+}
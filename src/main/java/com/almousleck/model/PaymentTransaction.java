@@ -9,6 +9,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
+// Ownership checks read the booking's user and the event's organizer ids, both foreign keys
+@NamedEntityGraph(name = "PaymentTransaction.booking", attributeNodes = @NamedAttributeNode(value = "booking", subgraph = "booking"),
+        subgraphs = @NamedSubgraph(name = "booking", attributeNodes = @NamedAttributeNode("event")))
 @Table(name = "payment_transactions")
 @Getter
 @Setter
@@ -18,7 +21,7 @@ import java.time.LocalDateTime;
 public class PaymentTransaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "payment_transactions_seq")
     private Long id;
 
     @Column(nullable = false, unique = true)
@@ -0,0 +1,31 @@
+package com.almousleck.model;
+
+import org.hibernate.engine.config.spi.ConfigurationService;
+import org.hibernate.engine.config.spi.StandardConverters;
+import org.hibernate.id.enhanced.SequenceStyleGenerator;
+import org.hibernate.service.ServiceRegistry;
+import org.hibernate.type.Type;
+
+import java.util.Properties;
+
+// Sequence generator whose allocation size comes from configuration instead of each entity
+public class PooledSequenceGenerator extends SequenceStyleGenerator {
+
+    public static final String ALLOCATION_SIZE_SETTING = "anor.id.allocation_size";
+    public static final int DEFAULT_ALLOCATION_SIZE = 50;
+
+    private final String sequenceName;
+
+    public PooledSequenceGenerator(PooledSequence config) {
+        this.sequenceName = config.name();
+    }
+
+    @Override
+    public void configure(Type type, Properties parameters, ServiceRegistry serviceRegistry) {
+        int allocationSize = serviceRegistry.requireService(ConfigurationService.class)
+                .getSetting(ALLOCATION_SIZE_SETTING, StandardConverters.INTEGER, DEFAULT_ALLOCATION_SIZE);
+        parameters.put(SEQUENCE_PARAM, sequenceName);
+        parameters.put(INCREMENT_PARAM, String.valueOf(allocationSize));
+        super.configure(type, parameters, serviceRegistry);
+    }
+}
@@ -13,7 +13,7 @@ import lombok.*;
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "roles_seq")
     private Long id;
 
     @Enumerated(EnumType.STRING)
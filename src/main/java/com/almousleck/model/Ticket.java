@@ -3,6 +3,7 @@ package com.almousleck.model;
 import jakarta.persistence.*;
 import lombok.*;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import java.math.BigDecimal;
@@ -10,6 +11,7 @@ import java.time.LocalDateTime;
 
 @Entity
 @Table(name = "tickets")
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -18,7 +20,7 @@ import java.time.LocalDateTime;
 public class Ticket {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @PooledSequence(name = "tickets_seq")
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +35,10 @@ public class Ticket {
     @Column(nullable = false)
     private Integer availableQuantity;
 
+    // Above 1 the stock lives in ticket_inventory_shards and availableQuantity stays at zero
+    @Builder.Default
+    private Integer shardCount = 1;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "event_id", nullable = false)
     private Event event;
@@ -45,5 +51,9 @@ public class Ticket {
 
     @UpdateTimestamp
     private LocalDateTime updatedAt;
+
+    public boolean isSharded() {
+        return shardCount != null && shardCount > 1;
+    }
 }
 
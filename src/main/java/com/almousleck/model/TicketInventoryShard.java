@@ -0,0 +1,33 @@
+package com.almousleck.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+@Entity
+@Table(name = "ticket_inventory_shards", uniqueConstraints = {
+        @UniqueConstraint(columnNames = {"ticket_id", "shard_index"})
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TicketInventoryShard {
+
+    @Id
+    @PooledSequence(name = "ticket_inventory_shards_seq")
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Ticket ticket;
+
+    @Column(nullable = false)
+    private Integer shardIndex;
+
+    @Column(nullable = false)
+    private Integer availableQuantity;
+}
@@ -1,11 +1,16 @@
 package com.almousleck.repository;
 
 import com.almousleck.audit.AuditLog;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
 
@@ -14,4 +19,12 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findByUserId(Long userId, Pageable pageable);
 
     Page<AuditLog> findByAction(String action, Pageable pageable);
+
+    // Keyset listings, newest first, served by idx_audit_logs_created_at
+    @Query("SELECT a FROM AuditLog a ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestFirst(Limit limit);
+
+    @Query("SELECT a FROM AuditLog a WHERE a.createdAt < :createdAt OR (a.createdAt = :createdAt AND a.id < :id) " +
+            "ORDER BY a.createdAt DESC, a.id DESC")
+    List<AuditLog> findLatestAfter(LocalDateTime createdAt, Long id, Limit limit);
 }
@@ -3,26 +3,45 @@ package com.almousleck.repository;
 import com.almousleck.model.Booking;
 import com.almousleck.model.Event;
 import com.almousleck.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.LockModeType;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BookingRepository extends JpaRepository<Booking, Long> {
 
+    @EntityGraph("Booking.detail")
     Optional<Booking> findByBookingReference(String bookingReference);
 
+    // Latest generated reference with the given prefix; older random references have another length
+    @Query("SELECT MAX(b.bookingReference) FROM Booking b WHERE b.bookingReference LIKE :prefix AND LENGTH(b.bookingReference) = :length")
+    Optional<String> findLatestReference(String prefix, int length);
+
     Page<Booking> findByUser(User user, Pageable pageable);
 
     List<Booking> findByUser(User user);
 
+    // Keyset listings, newest first, served by idx_bookings_user_created_at
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findByUserIdFirst(Long userId, Limit limit);
+
+    @Query("SELECT b FROM Booking b WHERE b.user.id = :userId " +
+            "AND (b.createdAt < :createdAt OR (b.createdAt = :createdAt AND b.id < :id)) ORDER BY b.createdAt DESC, b.id DESC")
+    List<Booking> findByUserIdAfter(Long userId, LocalDateTime createdAt, Long id, Limit limit);
+
     List<Booking> findByEvent(Event event);
 
     @Query("SELECT b FROM Booking b WHERE b.event.organizer = :organizer")
@@ -61,5 +80,35 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     List<Booking> findByEventOrganizerIdAndStatus(Long organizerId, Booking.BookingStatus status);
 
     Page<Booking> findByEvent(Event event, Pageable pageable);
+
+    @Query("SELECT b FROM Booking b JOIN FETCH b.user JOIN FETCH b.ticket JOIN FETCH b.event e JOIN FETCH e.organizer " +
+            "WHERE b.id IN :ids ORDER BY b.id")
+    List<Booking> findAllWithDetailsByIdIn(Collection<Long> ids);
+
+    @Query("SELECT b.id AS id, b.expiresAt AS expiresAt, b.createdAt AS createdAt FROM Booking b WHERE b.status = 'PENDING'")
+    List<PendingHold> findPendingHolds();
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b FROM Booking b WHERE b.id IN :ids AND b.status = 'PENDING' " +
+            "AND (b.expiresAt IS NULL OR b.expiresAt <= :now)")
+    List<Booking> findExpiredHoldsForUpdate(Collection<Long> ids, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.updatedAt = CURRENT_TIMESTAMP WHERE b.id IN :ids")
+    int updateStatus(Collection<Long> ids, Booking.BookingStatus status);
+
+    // Only moves the booking if nobody else changed its status first
+    @Modifying
+    @Query("UPDATE Booking b SET b.status = :status, b.updatedAt = CURRENT_TIMESTAMP " +
+            "WHERE b.id = :id AND b.status IN :expected")
+    int updateStatusIfIn(Long id, Collection<Booking.BookingStatus> expected, Booking.BookingStatus status);
+
+    interface PendingHold {
+        Long getId();
+
+        LocalDateTime getExpiresAt();
+
+        LocalDateTime getCreatedAt();
+    }
 }
 
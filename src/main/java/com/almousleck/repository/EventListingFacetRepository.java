@@ -0,0 +1,12 @@
+package com.almousleck.repository;
+
+import com.almousleck.model.EventListing;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.Map;
+
+public interface EventListingFacetRepository {
+
+    // Rows per category id matching the specification (all rows when null), in one grouped query
+    Map<Long, Long> countPerCategory(Specification<EventListing> specification);
+}
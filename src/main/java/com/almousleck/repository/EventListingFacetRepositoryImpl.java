@@ -0,0 +1,42 @@
+package com.almousleck.repository;
+
+import com.almousleck.model.EventListing;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class EventListingFacetRepositoryImpl implements EventListingFacetRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public Map<Long, Long> countPerCategory(Specification<EventListing> specification) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<EventListing> root = query.from(EventListing.class);
+        Path<Long> categoryId = root.get("categoryId");
+        query.multiselect(categoryId, cb.count(root)).groupBy(categoryId);
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(root, query, cb);
+            if (predicate != null) {
+                query.where(predicate);
+            }
+        }
+
+        Map<Long, Long> counts = new HashMap<>();
+        for (Tuple row : entityManager.createQuery(query).getResultList()) {
+            counts.put(row.get(0, Long.class), row.get(1, Long.class));
+        }
+        return counts;
+    }
+}
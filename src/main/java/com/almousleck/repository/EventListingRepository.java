@@ -0,0 +1,58 @@
+package com.almousleck.repository;
+
+import com.almousleck.model.EventListing;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Composable searches go through JpaSpecificationExecutor with EventListingSpecifications
+@Repository
+public interface EventListingRepository extends JpaRepository<EventListing, Long>,
+        JpaSpecificationExecutor<EventListing>, EventListingFacetRepository {
+
+    // Every row is a published event, so browsing needs no published filter
+    Page<EventListing> findByCategoryId(Long categoryId, Pageable pageable);
+
+    Page<EventListing> findByStartDateAfter(LocalDateTime now, Pageable pageable);
+
+    // Keyset listings ordered by (startDate, id), served by idx_event_listing_start_date
+    @Query("SELECT l FROM EventListing l ORDER BY l.startDate, l.id")
+    List<EventListing> findFirst(Limit limit);
+
+    @Query("SELECT l FROM EventListing l " +
+            "WHERE l.startDate > :startDate OR (l.startDate = :startDate AND l.id > :id) ORDER BY l.startDate, l.id")
+    List<EventListing> findAfter(LocalDateTime startDate, Long id, Limit limit);
+
+    @Query("SELECT l FROM EventListing l WHERE l.startDate > :now ORDER BY l.startDate, l.id")
+    List<EventListing> findUpcomingFirst(LocalDateTime now, Limit limit);
+
+    @Query("SELECT l FROM EventListing l WHERE l.startDate > :now " +
+            "AND (l.startDate > :startDate OR (l.startDate = :startDate AND l.id > :id)) ORDER BY l.startDate, l.id")
+    List<EventListing> findUpcomingAfter(LocalDateTime now, LocalDateTime startDate, Long id, Limit limit);
+
+    List<EventListing> findAllByCategoryId(Long categoryId);
+
+    @Query("SELECT l FROM EventListing l WHERE l.id > :afterId ORDER BY l.id")
+    List<EventListing> findChunkAfter(Long afterId, Limit limit);
+
+    @Modifying
+    @Query("UPDATE EventListing l SET l.categoryName = :name WHERE l.categoryId = :categoryId")
+    int updateCategoryName(Long categoryId, String name);
+
+    @Modifying
+    @Query("UPDATE EventListing l SET l.organizerName = :name WHERE l.organizerId = :organizerId")
+    int updateOrganizerName(Long organizerId, String name);
+
+    // Drops rows whose event was unpublished or deleted behind the projector's back
+    @Modifying
+    @Query("DELETE FROM EventListing l WHERE l.id NOT IN (SELECT e.id FROM Event e WHERE e.published = true)")
+    int deleteOrphans();
+}
@@ -0,0 +1,61 @@
+package com.almousleck.repository;
+
+import com.almousleck.model.EventListing;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+
+// Building blocks for composable searches over event_listing; combine with Specification.allOf
+public final class EventListingSpecifications {
+
+    public static final String BASE_PRICE = "basePrice";
+    public static final String MIN_TICKET_PRICE = "minTicketPrice";
+
+    private EventListingSpecifications() {
+    }
+
+    // Same match as the LIKE keyword search: title or description contains the keyword
+    public static Specification<EventListing> keywordMatches(String keyword) {
+        String pattern = "%" + keyword.toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.or(
+                cb.like(cb.lower(root.get("title")), pattern),
+                cb.like(cb.lower(root.get("description")), pattern));
+    }
+
+    public static Specification<EventListing> inCategories(Collection<Long> categoryIds) {
+        return (root, query, cb) -> root.get("categoryId").in(categoryIds);
+    }
+
+    public static Specification<EventListing> startsAfter(LocalDateTime startAfter) {
+        return (root, query, cb) -> cb.greaterThan(root.get("startDate"), startAfter);
+    }
+
+    public static Specification<EventListing> startsFrom(LocalDateTime startFrom) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("startDate"), startFrom);
+    }
+
+    public static Specification<EventListing> startsUntil(LocalDateTime startTo) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("startDate"), startTo);
+    }
+
+    // priceAttribute is BASE_PRICE or MIN_TICKET_PRICE; events without tickets never match a ticket price bound
+    public static Specification<EventListing> priceAtLeast(String priceAttribute, BigDecimal minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get(priceAttribute), minPrice);
+    }
+
+    public static Specification<EventListing> priceAtMost(String priceAttribute, BigDecimal maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get(priceAttribute), maxPrice);
+    }
+
+    public static Specification<EventListing> organizedBy(Long organizerId) {
+        return (root, query, cb) -> cb.equal(root.get("organizerId"), organizerId);
+    }
+
+    public static Specification<EventListing> locatedIn(String location) {
+        String pattern = "%" + location.trim().toLowerCase(Locale.ROOT) + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("location")), pattern);
+    }
+}
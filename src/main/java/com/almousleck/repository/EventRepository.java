@@ -3,20 +3,59 @@ package com.almousleck.repository;
 import com.almousleck.model.Event;
 import com.almousleck.model.EventCategory;
 import com.almousleck.model.User;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface EventRepository extends JpaRepository<Event, Long> {
 
+    // Summary rows in one joined query, so organizer pages never touch the lazy category or organizer
+    String SUMMARY_SELECT = "SELECT e.id AS id, e.title AS title, e.location AS location, e.startDate AS startDate, " +
+            "e.endDate AS endDate, e.basePrice AS basePrice, e.imageUrl AS imageUrl, e.published AS published, " +
+            "c.id AS categoryId, c.name AS categoryName, o.id AS organizerId, o.name AS organizerName";
+    String SEARCH_SELECT = SUMMARY_SELECT + ", e.description AS description";
+    String SUMMARY_FROM = " FROM Event e JOIN e.category c JOIN e.organizer o";
+
+    @Query(value = SUMMARY_SELECT + SUMMARY_FROM + " WHERE o.id = :organizerId",
+            countQuery = "SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId")
+    Page<EventSummaryView> findSummariesByOrganizerId(Long organizerId, Pageable pageable);
+
+    @Query(value = SUMMARY_SELECT + SUMMARY_FROM + " WHERE o.id = :organizerId AND e.published = :published",
+            countQuery = "SELECT COUNT(e) FROM Event e WHERE e.organizer.id = :organizerId AND e.published = :published")
+    Page<EventSummaryView> findSummariesByOrganizerIdAndPublished(Long organizerId, boolean published, Pageable pageable);
+
+    // Source rows for the event_listing read model
+    @Query(SEARCH_SELECT + ", e.createdAt AS createdAt" + SUMMARY_FROM + " WHERE e.published = true AND e.id IN :ids")
+    List<EventListingSource> findListingSources(Collection<Long> ids);
+
+    @Query("SELECT e.id FROM Event e WHERE e.published = true AND e.id > :afterId ORDER BY e.id")
+    List<Long> findPublishedIdsAfter(Long afterId, Limit limit);
+
+    boolean existsByPublishedTrue();
+
     Page<Event> findByPublishedTrue(Pageable pageable);
 
+    @EntityGraph("Event.detail")
+    Optional<Event> findDetailById(Long id);
+
+    // Ticket changes bump the event's version, so cached event details holding the old tickets are replaced
+    @Lock(LockModeType.OPTIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForTicketChange(Long id);
+
     Page<Event> findByPublishedTrueAndCategory(EventCategory category, Pageable pageable);
 
     Page<Event> findByOrganizer(User organizer, Pageable pageable);
@@ -66,4 +105,38 @@ public interface EventRepository extends JpaRepository<Event, Long> {
     // Add this new method
     @Query("SELECT COUNT(e) FROM Event e WHERE e.category = :category")
     Long countByCategory(EventCategory category);
-}
\ No newline at end of file
+
+    interface EventSummaryView {
+        Long getId();
+
+        String getTitle();
+
+        String getLocation();
+
+        LocalDateTime getStartDate();
+
+        LocalDateTime getEndDate();
+
+        BigDecimal getBasePrice();
+
+        String getImageUrl();
+
+        Boolean getPublished();
+
+        Long getCategoryId();
+
+        String getCategoryName();
+
+        Long getOrganizerId();
+
+        String getOrganizerName();
+    }
+
+    interface EventSearchView extends EventSummaryView {
+        String getDescription();
+    }
+
+    interface EventListingSource extends EventSearchView {
+        LocalDateTime getCreatedAt();
+    }
+}
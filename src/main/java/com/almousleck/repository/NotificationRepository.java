@@ -2,6 +2,7 @@ package com.almousleck.repository;
 
 import com.almousleck.model.Notification;
 import com.almousleck.model.User;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -9,6 +10,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface NotificationRepository extends JpaRepository<Notification, Long> {
 
@@ -18,6 +22,21 @@ public interface NotificationRepository extends JpaRepository<Notification, Long
 
     long countByUserAndIsRead(User user, boolean isRead);
 
+    // Keyset feeds, newest first, served by idx_notifications_user_created_at and idx_notifications_user_read_created_at
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedFirst(Long userId, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedAfter(Long userId, LocalDateTime createdAt, Long id, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = :isRead ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedFirstByRead(Long userId, boolean isRead, Limit limit);
+
+    @Query("SELECT n FROM Notification n WHERE n.user.id = :userId AND n.isRead = :isRead " +
+            "AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id)) ORDER BY n.createdAt DESC, n.id DESC")
+    List<Notification> findFeedAfterByRead(Long userId, boolean isRead, LocalDateTime createdAt, Long id, Limit limit);
+
     @Modifying
     @Query("UPDATE Notification n SET n.isRead = true WHERE n.user.id = :userId")
     void markAllAsRead(Long userId);
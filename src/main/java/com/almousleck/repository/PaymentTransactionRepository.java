@@ -2,7 +2,9 @@ package com.almousleck.repository;
 
 import com.almousleck.model.Booking;
 import com.almousleck.model.PaymentTransaction;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -10,7 +12,12 @@ import java.util.Optional;
 @Repository
 public interface PaymentTransactionRepository extends JpaRepository<PaymentTransaction, Long> {
 
+    @EntityGraph("PaymentTransaction.booking")
     Optional<PaymentTransaction> findByTransactionReference(String transactionReference);
 
     Optional<PaymentTransaction> findByBooking(Booking booking);
+
+    @Query("SELECT MAX(t.transactionReference) FROM PaymentTransaction t " +
+            "WHERE t.transactionReference LIKE :prefix AND LENGTH(t.transactionReference) = :length")
+    Optional<String> findLatestReference(String prefix, int length);
 }
@@ -0,0 +1,35 @@
+package com.almousleck.repository;
+
+import com.almousleck.model.TicketInventoryShard;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TicketInventoryShardRepository extends JpaRepository<TicketInventoryShard, Long> {
+
+    @Query("SELECT COALESCE(SUM(s.availableQuantity), 0) FROM TicketInventoryShard s WHERE s.ticket.id = :ticketId")
+    int sumAvailableQuantityByTicketId(Long ticketId);
+
+    // Locks every shard of a ticket in index order, so multi-shard takes cannot deadlock each other
+    @Query(value = "SELECT available_quantity FROM ticket_inventory_shards WHERE ticket_id = :ticketId " +
+            "ORDER BY shard_index FOR UPDATE", nativeQuery = true)
+    List<Integer> lockAvailableQuantities(Long ticketId);
+
+    @Modifying
+    @Query("UPDATE TicketInventoryShard s SET s.availableQuantity = s.availableQuantity - :quantity " +
+            "WHERE s.ticket.id = :ticketId AND s.shardIndex = :shardIndex AND s.availableQuantity >= :quantity")
+    int takeIfAvailable(Long ticketId, int shardIndex, int quantity);
+
+    @Modifying
+    @Query("UPDATE TicketInventoryShard s SET s.availableQuantity = s.availableQuantity + :quantity " +
+            "WHERE s.ticket.id = :ticketId AND s.shardIndex = :shardIndex")
+    int giveBack(Long ticketId, int shardIndex, int quantity);
+
+    @Modifying
+    @Query("DELETE FROM TicketInventoryShard s WHERE s.ticket.id = :ticketId")
+    int deleteByTicketId(Long ticketId);
+}
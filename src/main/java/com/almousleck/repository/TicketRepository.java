@@ -4,12 +4,18 @@ import com.almousleck.model.Event;
 import com.almousleck.model.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import jakarta.persistence.LockModeType;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Repository
 public interface TicketRepository extends JpaRepository<Ticket, Long> {
@@ -20,6 +26,80 @@ public interface TicketRepository extends JpaRepository<Ticket, Long> {
     @Query("SELECT t FROM Ticket t WHERE t.id = :id")
     Optional<Ticket> findByIdWithLock(Long id);
 
-    @Query("SELECT SUM(t.availableQuantity) FROM Ticket t WHERE t.event.id = :eventId")
+    // Sharded tickets keep zero on the ticket row, so adding their shards counts each seat once
+    @Query("SELECT SUM(t.availableQuantity) + COALESCE((SELECT SUM(s.availableQuantity) FROM TicketInventoryShard s " +
+            "WHERE s.ticket.event.id = :eventId), 0) FROM Ticket t WHERE t.event.id = :eventId")
     Integer countAvailableTicketsByEvent(Long eventId);
+
+    // Per-ticket counts for the availability snapshots and the listing read model, shards included
+    @Query("SELECT t.id AS id, t.event.id AS eventId, t.price AS price, t.totalQuantity AS totalQuantity, t.availableQuantity + COALESCE((SELECT SUM(s.availableQuantity) " +
+            "FROM TicketInventoryShard s WHERE s.ticket = t), 0) AS availableQuantity FROM Ticket t WHERE t.event.id IN :eventIds")
+    List<EventTicketAvailability> findAvailabilityByEventIds(Collection<Long> eventIds);
+
+    @Query("SELECT t.availableQuantity FROM Ticket t WHERE t.id = :id")
+    Optional<Integer> findAvailableQuantityById(Long id);
+
+    @Query("SELECT t.availableQuantity AS availableQuantity, t.version AS version FROM Ticket t WHERE t.id = :id")
+    Optional<VersionedAvailability> findVersionedAvailabilityById(Long id);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.shardCount > 1")
+    Set<Long> findShardedTicketIds();
+
+    @Query("SELECT t.id AS id, t.availableQuantity AS availableQuantity FROM Ticket t " +
+            "WHERE t.event.startDate > :now AND (t.shardCount IS NULL OR t.shardCount <= 1)")
+    List<TicketAvailability> findAvailabilityForUpcomingEvents(LocalDateTime now);
+
+    @Query("SELECT t.id FROM Ticket t WHERE t.id IN :ids AND t.event.startDate > :now")
+    Set<Long> findIdsForUpcomingEvents(Collection<Long> ids, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.availableQuantity = t.availableQuantity - :quantity, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.version = :version")
+    int reserveIfVersionMatches(Long id, int quantity, Long version);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.availableQuantity = t.availableQuantity - :quantity, t.version = t.version + 1 " +
+            "WHERE t.id = :id AND t.availableQuantity >= :quantity")
+    int reserveIfAvailable(Long id, int quantity);
+
+    @Modifying
+    @Query("UPDATE Ticket t SET t.availableQuantity = t.availableQuantity + :quantity, t.version = t.version + 1 WHERE t.id = :id")
+    int releaseQuantity(Long id, int quantity);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE Ticket t SET t.availableQuantity = t.availableQuantity + :delta WHERE t.id = :id")
+    int adjustAvailableQuantity(Long id, int delta);
+
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE tickets SET available_quantity = total_quantity - COALESCE(" +
+            "(SELECT SUM(b.quantity) FROM bookings b WHERE b.ticket_id = tickets.id AND b.status NOT IN ('CANCELLED', 'EXPIRED')), 0) " +
+            "WHERE shard_count IS NULL OR shard_count <= 1",
+            nativeQuery = true)
+    int reconcileAvailableQuantities();
+
+    interface VersionedAvailability {
+        Integer getAvailableQuantity();
+
+        Long getVersion();
+    }
+
+    interface TicketAvailability {
+        Long getId();
+
+        Integer getAvailableQuantity();
+    }
+
+    interface EventTicketAvailability {
+        Long getId();
+
+        Long getEventId();
+
+        BigDecimal getPrice();
+
+        Integer getTotalQuantity();
+
+        Integer getAvailableQuantity();
+    }
 }
@@ -0,0 +1,193 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventListingSpecifications;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+// Listed events per category, kept in memory so browse facets cost no query. Each category holds the sorted
+// start times of its events: the total is the array length and the upcoming count one binary search.
+// Readers only see an immutable snapshot behind a volatile field and never lock; writers copy the category
+// they touch and publish a new snapshot. Fed by EventListingProjector after commit, so publish, unpublish,
+// delete and category moves all land here, and rebuilt from event_listing on startup.
+@Component
+@Slf4j
+public class CategoryFacetCounts {
+
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final EventListingRepository listingRepository;
+    private final AppProperties.Search.Facets properties;
+    // Guarded by this
+    private Counts counts = new Counts();
+    private List<Consumer<Counts>> pending;
+    private volatile Map<Long, long[]> snapshot = Map.of();
+    private volatile boolean ready;
+
+    public CategoryFacetCounts(EventListingRepository listingRepository, AppProperties appProperties) {
+        this.listingRepository = listingRepository;
+        this.properties = appProperties.getSearch().getFacets();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void put(IndexedEvent event) {
+        apply(counts -> counts.put(event));
+    }
+
+    public void remove(Long eventId) {
+        apply(counts -> counts.remove(eventId));
+    }
+
+    // Listed events per category id, only those starting after startAfter unless it is null.
+    // Until the counts are built this is one grouped query instead.
+    public Map<Long, Long> count(LocalDateTime startAfter) {
+        if (!isEnabled() || !ready) {
+            return listingRepository.countPerCategory(
+                    startAfter == null ? null : EventListingSpecifications.startsAfter(startAfter));
+        }
+
+        long after = startAfter != null ? startAfter.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+        Map<Long, Long> result = new HashMap<>();
+        snapshot.forEach((categoryId, startTimes) -> {
+            long events = startTimes.length - firstAfter(startTimes, after);
+            if (events > 0) {
+                result.put(categoryId, events);
+            }
+        });
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    // Reads event_listing into fresh counts and swaps them in; reads keep using the old snapshot meanwhile
+    public int rebuild() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+
+        Counts rebuilt = new Counts();
+        try {
+            Long afterId = Long.MIN_VALUE;
+            List<EventListing> chunk;
+            while (!(chunk = listingRepository.findChunkAfter(afterId, Limit.of(REBUILD_CHUNK_SIZE))).isEmpty()) {
+                chunk.forEach(listing -> rebuilt.put(IndexedEvent.of(listing)));
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pending = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            counts = rebuilt;
+            snapshot = Map.copyOf(rebuilt.startTimes);
+            ready = true;
+        }
+        log.info("Built category facet counts: {} events in {} categories",
+                rebuilt.placements.size(), rebuilt.startTimes.size());
+        return rebuilt.placements.size();
+    }
+
+    private synchronized void apply(Consumer<Counts> change) {
+        if (!isEnabled()) {
+            return;
+        }
+        change.accept(counts);
+        if (pending != null) {
+            pending.add(change);
+        }
+        snapshot = Map.copyOf(counts.startTimes);
+    }
+
+    // Index of the first start time after the given one
+    private static int firstAfter(long[] startTimes, long after) {
+        int low = 0;
+        int high = startTimes.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (startTimes[mid] <= after) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private record Placement(long categoryId, long startTime) {
+    }
+
+    // Writer-side state; the arrays are replaced on change, never modified, so snapshots can share them
+    private static final class Counts {
+        private final Map<Long, Placement> placements = new HashMap<>();
+        private final Map<Long, long[]> startTimes = new HashMap<>();
+
+        void put(IndexedEvent event) {
+            if (event.categoryId() == null || event.startDate() == null) {
+                remove(event.id());
+                return;
+            }
+            Placement placement = new Placement(event.categoryId(), event.startDate().toEpochSecond(ZoneOffset.UTC));
+            Placement previous = placements.put(event.id(), placement);
+            if (placement.equals(previous)) {
+                return;
+            }
+            if (previous != null) {
+                withdraw(previous);
+            }
+            long[] current = startTimes.getOrDefault(placement.categoryId(), new long[0]);
+            int at = firstAfter(current, placement.startTime());
+            long[] updated = new long[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, at);
+            updated[at] = placement.startTime();
+            System.arraycopy(current, at, updated, at + 1, current.length - at);
+            startTimes.put(placement.categoryId(), updated);
+        }
+
+        void remove(Long eventId) {
+            Placement previous = placements.remove(eventId);
+            if (previous != null) {
+                withdraw(previous);
+            }
+        }
+
+        private void withdraw(Placement placement) {
+            long[] current = startTimes.get(placement.categoryId());
+            int at = Arrays.binarySearch(current, placement.startTime());
+            if (current.length == 1) {
+                startTimes.remove(placement.categoryId());
+                return;
+            }
+            long[] updated = new long[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, at);
+            System.arraycopy(current, at + 1, updated, at, current.length - at - 1);
+            startTimes.put(placement.categoryId(), updated);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+// Keyword search over published events through the backend chosen by app.search.backend
+@Component
+@Slf4j
+public class EventKeywordSearch {
+
+    private final KeywordSearchStrategy strategy;
+    private final LikeKeywordSearch fallback;
+
+    public EventKeywordSearch(List<KeywordSearchStrategy> strategies, LikeKeywordSearch fallback,
+                              AppProperties appProperties) {
+        SearchBackend backend = appProperties.getSearch().getBackend();
+        this.strategy = strategies.stream()
+                .filter(strategy -> strategy.getBackend() == backend)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No keyword search registered for backend " + backend));
+        this.fallback = fallback;
+        log.info("Using {} keyword search", backend);
+    }
+
+    public Page<EventListing> search(String keyword, Pageable pageable) {
+        return search(keyword, null, pageable);
+    }
+
+    // Unsorted pages come back in relevance order where the backend ranks; startAfter may be null
+    public Page<EventListing> search(String keyword, LocalDateTime startAfter, Pageable pageable) {
+        return strategy.searchListings(keyword, startAfter, pageable)
+                .orElseGet(() -> fallback.search(keyword, startAfter, pageable));
+    }
+
+    // Facet counts from the same backend as the results, so they agree with what the search returns
+    public Map<Long, Long> countByCategory(String keyword, LocalDateTime startAfter) {
+        return strategy.countByCategory(keyword, startAfter)
+                .orElseGet(() -> fallback.count(keyword, startAfter));
+    }
+}
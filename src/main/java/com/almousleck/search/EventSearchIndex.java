@@ -0,0 +1,455 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// In-process inverted index over published events (title, description, location and category name),
+// ranked with BM25. Postings are parallel int arrays of document ordinals and term frequencies, kept sorted
+// so multi-term AND queries intersect by binary search. Fed from event_listing: EventListingProjector
+// pushes every committed change, and the whole index is rebuilt from the table on startup.
+@Component
+@Slf4j
+public class EventSearchIndex implements KeywordSearchStrategy {
+
+    // A title hit counts three times a description hit
+    private static final int TITLE_WEIGHT = 3;
+    private static final int CATEGORY_WEIGHT = 2;
+    private static final int LOCATION_WEIGHT = 2;
+    private static final int DESCRIPTION_WEIGHT = 1;
+    // The last query term also matches as a prefix, since it is usually still being typed
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+    private static final int MIN_COMPACTION_GARBAGE = 1024;
+
+    private final EventListingRepository listingRepository;
+    private final AppProperties.Search.Index properties;
+    private final boolean selected;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // Changes made while a rebuild reads the table, replayed onto the rebuilt segment
+    private List<Consumer<Segment>> pending;
+    private volatile boolean ready;
+
+    public EventSearchIndex(EventListingRepository listingRepository, AppProperties appProperties) {
+        this.listingRepository = listingRepository;
+        this.properties = appProperties.getSearch().getIndex();
+        this.selected = appProperties.getSearch().getBackend() == SearchBackend.INDEX;
+    }
+
+    @Override
+    public SearchBackend getBackend() {
+        return SearchBackend.INDEX;
+    }
+
+    // Only kept up to date while it is the configured keyword search backend
+    public boolean isEnabled() {
+        return selected && properties.isEnabled();
+    }
+
+    public void put(IndexedEvent event) {
+        apply(segment -> segment.put(event));
+    }
+
+    public void remove(Long eventId) {
+        apply(segment -> segment.remove(eventId));
+    }
+
+    // Empty when the index cannot answer: disabled, not built yet, or no searchable term in the query
+    public Optional<Hits> search(String query, Long categoryId, LocalDateTime startAfter, Order order,
+                                 int offset, int limit) {
+        if (!isEnabled() || !ready) {
+            return Optional.empty();
+        }
+        List<String> terms = SearchTokenizer.tokenize(query).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(segment.search(terms, categoryId, startAfter, order, offset, limit,
+                    properties.getK1(), properties.getB()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Keyword search over the listing rows, ranked by relevance unless the page asks for a start date order.
+    // Empty when the index cannot serve the request, so callers fall back to the database.
+    @Override
+    public Optional<Page<EventListing>> searchListings(String keyword, LocalDateTime startAfter, Pageable pageable) {
+        Optional<Order> order = Order.of(pageable.getSort());
+        if (order.isEmpty()) {
+            return Optional.empty();
+        }
+
+        int offset = pageable.isPaged() ? (int) pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        return search(keyword, null, startAfter, order.get(), offset, limit)
+                .map(hits -> ListingPages.of(listingRepository, hits.eventIds(), pageable, hits.total()));
+    }
+
+    @Override
+    public Optional<Map<Long, Long>> countByCategory(String keyword, LocalDateTime startAfter) {
+        if (!isEnabled() || !ready) {
+            return Optional.empty();
+        }
+        List<String> terms = SearchTokenizer.tokenize(keyword).stream().distinct().toList();
+        if (terms.isEmpty()) {
+            return Optional.empty();
+        }
+
+        lock.readLock().lock();
+        try {
+            return Optional.of(segment.countByCategory(terms, startAfter, properties.getK1(), properties.getB()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    // Reads event_listing in id order into a fresh segment and swaps it in; searches keep using the old one meanwhile
+    public int rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Segment rebuilt = new Segment();
+        try {
+            Long afterId = Long.MIN_VALUE;
+            List<EventListing> chunk;
+            while (!(chunk = listingRepository.findChunkAfter(afterId, Limit.of(REBUILD_CHUNK_SIZE))).isEmpty()) {
+                chunk.forEach(listing -> rebuilt.put(IndexedEvent.of(listing)));
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            segment = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built event search index: {} events, {} terms", rebuilt.liveDocs, rebuilt.postings.size());
+        return rebuilt.liveDocs;
+    }
+
+    private void apply(Consumer<Segment> change) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public enum Order {
+        RELEVANCE, START_DATE_ASC, START_DATE_DESC;
+
+        // The index only knows scores and start dates; any other sort is left to the database
+        static Optional<Order> of(Sort sort) {
+            if (sort.isUnsorted()) {
+                return Optional.of(RELEVANCE);
+            }
+            List<Sort.Order> orders = sort.toList();
+            if (orders.size() == 1 && "startDate".equals(orders.get(0).getProperty())) {
+                return Optional.of(orders.get(0).isAscending() ? START_DATE_ASC : START_DATE_DESC);
+            }
+            return Optional.empty();
+        }
+    }
+
+    public record Hits(List<Long> eventIds, int total) {
+    }
+
+    // Matching documents in the first count slots, with their scores
+    private record Matches(int[] docs, double[] scores, int count) {
+    }
+
+    // One generation of the index. Documents get increasing ordinals, so postings stay sorted by appending;
+    // updates tombstone the old ordinal and compaction drops them once they outnumber live documents.
+    static final class Segment {
+
+        private final NavigableMap<String, Postings> postings = new TreeMap<>();
+        private final Map<Long, Integer> docByEvent = new HashMap<>();
+        private final BitSet live = new BitSet();
+        private long[] eventIds = new long[256];
+        private long[] categoryIds = new long[256];
+        private long[] startDates = new long[256];
+        private int[] lengths = new int[256];
+        private int docCount;
+        private int liveDocs;
+        private long totalLength;
+
+        void put(IndexedEvent event) {
+            remove(event.id());
+
+            Map<String, Integer> frequencies = new HashMap<>();
+            addTerms(frequencies, event.title(), TITLE_WEIGHT);
+            addTerms(frequencies, event.categoryName(), CATEGORY_WEIGHT);
+            addTerms(frequencies, event.location(), LOCATION_WEIGHT);
+            addTerms(frequencies, event.description(), DESCRIPTION_WEIGHT);
+
+            if (docCount == eventIds.length) {
+                int capacity = docCount * 2;
+                eventIds = Arrays.copyOf(eventIds, capacity);
+                categoryIds = Arrays.copyOf(categoryIds, capacity);
+                startDates = Arrays.copyOf(startDates, capacity);
+                lengths = Arrays.copyOf(lengths, capacity);
+            }
+            int doc = docCount++;
+            int length = frequencies.values().stream().mapToInt(Integer::intValue).sum();
+            eventIds[doc] = event.id();
+            categoryIds[doc] = event.categoryId() != null ? event.categoryId() : -1;
+            startDates[doc] = event.startDate() != null ? event.startDate().toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+            lengths[doc] = length;
+            live.set(doc);
+            liveDocs++;
+            totalLength += length;
+            docByEvent.put(event.id(), doc);
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, t -> new Postings()).add(doc, frequency));
+
+            if (docCount - liveDocs > Math.max(MIN_COMPACTION_GARBAGE, liveDocs)) {
+                compact();
+            }
+        }
+
+        void remove(Long eventId) {
+            Integer doc = docByEvent.remove(eventId);
+            if (doc != null) {
+                live.clear(doc);
+                liveDocs--;
+                totalLength -= lengths[doc];
+            }
+        }
+
+        Hits search(List<String> terms, Long categoryId, LocalDateTime startAfter, Order order,
+                    int offset, int limit, double k1, double b) {
+            Matches matches = match(terms, categoryId, startAfter, k1, b);
+            int matched = matches.count();
+            int[] docs = matches.docs();
+            double[] scores = matches.scores();
+
+            Integer[] ranked = new Integer[matched];
+            for (int i = 0; i < matched; i++) {
+                ranked[i] = i;
+            }
+            Comparator<Integer> byStartDate = Comparator.comparingLong(i -> startDates[docs[i]]);
+            Comparator<Integer> comparator = switch (order) {
+                case RELEVANCE -> Comparator.<Integer>comparingDouble(i -> -scores[i]).thenComparing(byStartDate);
+                case START_DATE_ASC -> byStartDate;
+                case START_DATE_DESC -> byStartDate.reversed();
+            };
+            Arrays.sort(ranked, comparator.thenComparingLong(i -> eventIds[docs[i]]));
+
+            List<Long> page = new ArrayList<>();
+            for (int i = offset; i < matched && page.size() < limit; i++) {
+                page.add(eventIds[docs[ranked[i]]]);
+            }
+            return new Hits(page, matched);
+        }
+
+        Map<Long, Long> countByCategory(List<String> terms, LocalDateTime startAfter, double k1, double b) {
+            Matches matches = match(terms, null, startAfter, k1, b);
+            Map<Long, Long> counts = new HashMap<>();
+            for (int i = 0; i < matches.count(); i++) {
+                counts.merge(categoryIds[matches.docs()[i]], 1L, Long::sum);
+            }
+            return counts;
+        }
+
+        // Every query term must match; candidates come from the rarest one
+        private Matches match(List<String> terms, Long categoryId, LocalDateTime startAfter, double k1, double b) {
+            // One group per query term: the term itself, or its completions for the last one
+            List<List<Postings>> groups = new ArrayList<>();
+            for (int i = 0; i < terms.size(); i++) {
+                List<Postings> group = i == terms.size() - 1 ? completions(terms.get(i)) : exact(terms.get(i));
+                if (group.isEmpty()) {
+                    return new Matches(new int[0], new double[0], 0);
+                }
+                groups.add(group);
+            }
+            groups.sort(Comparator.comparingLong(group -> group.stream().mapToLong(postings -> postings.size).sum()));
+
+            Scorer scorer = new Scorer(k1, b, liveDocs, liveDocs == 0 ? 1 : (double) totalLength / liveDocs);
+            long startAfterSeconds = startAfter != null ? startAfter.toEpochSecond(ZoneOffset.UTC) : Long.MIN_VALUE;
+
+            Map<Integer, Double> first = new HashMap<>();
+            for (Postings termPostings : groups.get(0)) {
+                double idf = scorer.idf(termPostings.size);
+                for (int i = 0; i < termPostings.size; i++) {
+                    int doc = termPostings.docs[i];
+                    if (live.get(doc) && (categoryId == null || categoryIds[doc] == categoryId)
+                            && startDates[doc] > startAfterSeconds) {
+                        first.merge(doc, scorer.score(idf, termPostings.frequencies[i], lengths[doc]), Double::sum);
+                    }
+                }
+            }
+            int[] candidates = first.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+            double[] scores = Arrays.stream(candidates).mapToDouble(first::get).toArray();
+            int matched = candidates.length;
+
+            for (List<Postings> group : groups.subList(1, groups.size())) {
+                int kept = 0;
+                for (int i = 0; i < matched; i++) {
+                    int doc = candidates[i];
+                    double termScore = 0;
+                    boolean found = false;
+                    for (Postings termPostings : group) {
+                        int at = termPostings.find(doc);
+                        if (at >= 0) {
+                            found = true;
+                            termScore += scorer.score(scorer.idf(termPostings.size), termPostings.frequencies[at], lengths[doc]);
+                        }
+                    }
+                    if (found) {
+                        candidates[kept] = doc;
+                        scores[kept] = scores[i] + termScore;
+                        kept++;
+                    }
+                }
+                matched = kept;
+            }
+
+            return new Matches(candidates, scores, matched);
+        }
+
+        private List<Postings> exact(String term) {
+            Postings termPostings = postings.get(term);
+            return termPostings != null && termPostings.size > 0 ? List.of(termPostings) : List.of();
+        }
+
+        private List<Postings> completions(String prefix) {
+            return postings.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values().stream()
+                    .filter(termPostings -> termPostings.size > 0)
+                    .limit(MAX_PREFIX_EXPANSIONS)
+                    .toList();
+        }
+
+        private void compact() {
+            int[] remap = new int[docCount];
+            int next = 0;
+            for (int doc = 0; doc < docCount; doc++) {
+                if (live.get(doc)) {
+                    remap[doc] = next;
+                    eventIds[next] = eventIds[doc];
+                    categoryIds[next] = categoryIds[doc];
+                    startDates[next] = startDates[doc];
+                    lengths[next] = lengths[doc];
+                    next++;
+                } else {
+                    remap[doc] = -1;
+                }
+            }
+            live.clear();
+            live.set(0, next);
+            docCount = next;
+            docByEvent.replaceAll((eventId, doc) -> remap[doc]);
+            postings.values().forEach(termPostings -> termPostings.remap(remap));
+            postings.values().removeIf(termPostings -> termPostings.size == 0);
+        }
+
+        private static void addTerms(Map<String, Integer> frequencies, String text, int weight) {
+            for (String token : SearchTokenizer.tokenize(text)) {
+                frequencies.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    static final class Postings {
+
+        private int[] docs = new int[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(int doc, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = doc;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        int find(int doc) {
+            return Arrays.binarySearch(docs, 0, size, doc);
+        }
+
+        void remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+        }
+    }
+
+    // Document frequencies include tombstoned documents until the next compaction, which only nudges idf
+    private record Scorer(double k1, double b, int documents, double averageLength) {
+
+        double idf(int documentFrequency) {
+            return Math.log(1 + (documents - documentFrequency + 0.5) / (documentFrequency + 0.5));
+        }
+
+        double score(double idf, int frequency, int length) {
+            return idf * frequency * (k1 + 1) / (frequency + k1 * (1 - b + b * length / averageLength));
+        }
+    }
+}
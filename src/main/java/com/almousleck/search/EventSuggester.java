@@ -0,0 +1,494 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+// Search box autocomplete over the titles, locations and category names of published events, answered
+// entirely from memory. Phrases sit in a compressed prefix trie under their normalized form and under each
+// later word start, so "nig" also finds "Jazz Night". Every node knows the best popularity below it, so the
+// top k come out of a best-first walk instead of a full subtree scan. When the prefix matches too little,
+// a trigram index proposes candidates that are kept if a word prefix is within one or two edits.
+// Fed by EventListingProjector like EventSearchIndex, and rebuilt from event_listing on startup.
+@Component
+@Slf4j
+public class EventSuggester {
+
+    // Word starts indexed per phrase; long descriptions-as-titles should not flood the trie
+    private static final int MAX_WORD_STARTS = 8;
+    private static final int MIN_FUZZY_LENGTH = 3;
+    private static final int MAX_FUZZY_CANDIDATES = 256;
+    private static final int REBUILD_CHUNK_SIZE = 1000;
+
+    private final EventListingRepository listingRepository;
+    private final AppProperties.Search.Suggest properties;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Dictionary dictionary = new Dictionary();
+    // Changes made while a rebuild reads the table, replayed onto the rebuilt dictionary
+    private List<Consumer<Dictionary>> pending;
+    private volatile boolean ready;
+
+    public EventSuggester(EventListingRepository listingRepository, AppProperties appProperties) {
+        this.listingRepository = listingRepository;
+        this.properties = appProperties.getSearch().getSuggest();
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public void put(IndexedEvent event) {
+        apply(dictionary -> dictionary.put(event));
+    }
+
+    public void remove(Long eventId) {
+        apply(dictionary -> dictionary.remove(eventId));
+    }
+
+    // Most popular phrases starting with the typed text, topped up with typo-tolerant matches.
+    // Empty while disabled or not built yet; this never falls back to the database.
+    public List<Suggestion> suggest(String prefix, int limit) {
+        String normalized = SearchTokenizer.normalize(prefix);
+        if (!isEnabled() || !ready || normalized.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            LinkedHashSet<Entry> found = dictionary.complete(normalized, limit);
+            if (found.size() < limit && normalized.length() >= MIN_FUZZY_LENGTH) {
+                int maxEdits = normalized.length() <= 4 ? 1 : 2;
+                for (Entry entry : dictionary.fuzzy(normalized, maxEdits)) {
+                    if (found.size() >= limit) {
+                        break;
+                    }
+                    found.add(entry);
+                }
+            }
+            return found.stream()
+                    .map(entry -> new Suggestion(entry.text, entry.kind, entry.events))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (isEnabled()) {
+            rebuild();
+        }
+    }
+
+    // Reads event_listing in id order into a fresh dictionary and swaps it in; suggestions keep using the old one
+    public int rebuild() {
+        lock.writeLock().lock();
+        try {
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Dictionary rebuilt = new Dictionary();
+        try {
+            Long afterId = Long.MIN_VALUE;
+            List<EventListing> chunk;
+            while (!(chunk = listingRepository.findChunkAfter(afterId, Limit.of(REBUILD_CHUNK_SIZE))).isEmpty()) {
+                chunk.forEach(listing -> rebuilt.put(IndexedEvent.of(listing)));
+                afterId = chunk.get(chunk.size() - 1).getId();
+            }
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pending = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(rebuilt));
+            pending = null;
+            dictionary = rebuilt;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Built event suggestions: {} events, {} phrases", rebuilt.byEvent.size(), rebuilt.entries.size());
+        return rebuilt.byEvent.size();
+    }
+
+    private void apply(Consumer<Dictionary> change) {
+        if (!isEnabled()) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            change.accept(dictionary);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public enum Kind {
+        TITLE, LOCATION, CATEGORY
+    }
+
+    public record Suggestion(String text, Kind kind, int events) {
+    }
+
+    // A distinct phrase of one kind; its score is the popularity summed over the events that carry it
+    static final class Entry {
+        private final Kind kind;
+        private final String text;
+        private final String normalized;
+        private long score;
+        private int events;
+
+        Entry(Kind kind, String text, String normalized) {
+            this.kind = kind;
+            this.text = text;
+            this.normalized = normalized;
+        }
+
+        // The phrase itself plus each later word start, e.g. "jazz night" and "night"
+        List<String> keys() {
+            List<String> keys = new ArrayList<>();
+            keys.add(normalized);
+            for (int i = normalized.indexOf(' '); i >= 0 && keys.size() < MAX_WORD_STARTS;
+                 i = normalized.indexOf(' ', i + 1)) {
+                keys.add(normalized.substring(i + 1));
+            }
+            return keys;
+        }
+    }
+
+    private record Contribution(Entry entry, long weight) {
+    }
+
+    // Trie node; the label is the edge from the parent, so chains of single children collapse into one node
+    static final class Node {
+        private String label;
+        private Node parent;
+        private final Map<Character, Node> children = new HashMap<>(4);
+        private final List<Entry> terminal = new ArrayList<>(1);
+        // Highest entry score in this subtree
+        private long best;
+
+        Node(String label, Node parent) {
+            this.label = label;
+            this.parent = parent;
+        }
+    }
+
+    // Best-first frontier item: a subtree bounded by its best score, or a finished entry
+    private record Candidate(long score, Node node, Entry entry) {
+    }
+
+    private static final Comparator<Candidate> BY_SCORE = Comparator.comparingLong(Candidate::score).reversed()
+            .thenComparing(candidate -> candidate.entry() == null);
+
+    static final class Dictionary {
+        private final Node root = new Node("", null);
+        private final Map<String, Entry> entries = new HashMap<>();
+        private final Map<Long, List<Contribution>> byEvent = new HashMap<>();
+        private final Map<String, Set<Entry>> trigrams = new HashMap<>();
+
+        void put(IndexedEvent event) {
+            remove(event.id());
+            // Every listed event counts, sold tickets on top
+            long weight = 1L + Math.max(0, event.soldTickets());
+            List<Contribution> contributions = new ArrayList<>(3);
+            contribute(contributions, Kind.TITLE, event.title(), weight);
+            contribute(contributions, Kind.LOCATION, event.location(), weight);
+            contribute(contributions, Kind.CATEGORY, event.categoryName(), weight);
+            byEvent.put(event.id(), contributions);
+        }
+
+        void remove(Long eventId) {
+            List<Contribution> contributions = byEvent.remove(eventId);
+            if (contributions == null) {
+                return;
+            }
+            for (Contribution contribution : contributions) {
+                Entry entry = contribution.entry();
+                entry.score -= contribution.weight();
+                if (--entry.events == 0) {
+                    entries.remove(entry.kind + ":" + entry.normalized);
+                    entry.keys().forEach(key -> detach(key, entry));
+                    trigramsOf(entry.normalized).forEach(trigram -> {
+                        Set<Entry> posting = trigrams.get(trigram);
+                        if (posting != null && posting.remove(entry) && posting.isEmpty()) {
+                            trigrams.remove(trigram);
+                        }
+                    });
+                } else {
+                    rescore(entry);
+                }
+            }
+        }
+
+        private void contribute(List<Contribution> contributions, Kind kind, String text, long weight) {
+            String normalized = SearchTokenizer.normalize(text);
+            if (normalized.isEmpty()) {
+                return;
+            }
+            Entry entry = entries.get(kind + ":" + normalized);
+            boolean created = entry == null;
+            if (created) {
+                entry = new Entry(kind, text.trim(), normalized);
+                entries.put(kind + ":" + normalized, entry);
+            }
+            entry.score += weight;
+            entry.events++;
+            if (created) {
+                Entry added = entry;
+                entry.keys().forEach(key -> attach(key, added));
+                trigramsOf(normalized).forEach(trigram ->
+                        trigrams.computeIfAbsent(trigram, t -> new HashSet<>()).add(added));
+            } else {
+                rescore(entry);
+            }
+            contributions.add(new Contribution(entry, weight));
+        }
+
+        LinkedHashSet<Entry> complete(String prefix, int limit) {
+            LinkedHashSet<Entry> found = new LinkedHashSet<>();
+            Node start = locate(prefix);
+            if (start == null) {
+                return found;
+            }
+
+            PriorityQueue<Candidate> frontier = new PriorityQueue<>(BY_SCORE);
+            frontier.add(new Candidate(start.best, start, null));
+            while (!frontier.isEmpty() && found.size() < limit) {
+                Candidate candidate = frontier.poll();
+                if (candidate.entry() != null) {
+                    found.add(candidate.entry());
+                    continue;
+                }
+                Node node = candidate.node();
+                node.terminal.forEach(entry -> frontier.add(new Candidate(entry.score, null, entry)));
+                node.children.values().forEach(child -> frontier.add(new Candidate(child.best, child, null)));
+            }
+            return found;
+        }
+
+        // Entries sharing trigrams with the query whose phrase or a later word starts within maxEdits of it,
+        // closest first and then most popular
+        List<Entry> fuzzy(String query, int maxEdits) {
+            Map<Entry, Integer> shared = new HashMap<>();
+            for (String trigram : trigramsOf(query)) {
+                Set<Entry> posting = trigrams.get(trigram);
+                if (posting != null) {
+                    posting.forEach(entry -> shared.merge(entry, 1, Integer::sum));
+                }
+            }
+
+            record Match(Entry entry, int distance) {
+            }
+            return shared.entrySet().stream()
+                    .sorted(Map.Entry.<Entry, Integer>comparingByValue().reversed())
+                    .limit(MAX_FUZZY_CANDIDATES)
+                    .map(candidate -> new Match(candidate.getKey(), closestKey(query, candidate.getKey(), maxEdits)))
+                    .filter(match -> match.distance() <= maxEdits)
+                    .sorted(Comparator.comparingInt(Match::distance)
+                            .thenComparing(match -> match.entry().score, Comparator.reverseOrder()))
+                    .map(Match::entry)
+                    .toList();
+        }
+
+        private static int closestKey(String query, Entry entry, int maxEdits) {
+            int closest = Integer.MAX_VALUE;
+            for (String key : entry.keys()) {
+                closest = Math.min(closest, prefixDistance(query, key, maxEdits));
+            }
+            return closest;
+        }
+
+        // Smallest edit distance between the query and any prefix of the key, giving up past maxEdits
+        static int prefixDistance(String query, String key, int maxEdits) {
+            int columns = Math.min(key.length(), query.length() + maxEdits);
+            int[] previous = new int[columns + 1];
+            int[] current = new int[columns + 1];
+            for (int j = 0; j <= columns; j++) {
+                previous[j] = j;
+            }
+            for (int i = 1; i <= query.length(); i++) {
+                current[0] = i;
+                int rowMin = current[0];
+                for (int j = 1; j <= columns; j++) {
+                    int substitution = previous[j - 1] + (query.charAt(i - 1) == key.charAt(j - 1) ? 0 : 1);
+                    current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+                    rowMin = Math.min(rowMin, current[j]);
+                }
+                if (rowMin > maxEdits) {
+                    return rowMin;
+                }
+                int[] swap = previous;
+                previous = current;
+                current = swap;
+            }
+            int distance = Integer.MAX_VALUE;
+            for (int j = 0; j <= columns; j++) {
+                distance = Math.min(distance, previous[j]);
+            }
+            return distance;
+        }
+
+        static Set<String> trigramsOf(String text) {
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + 3 <= text.length(); i++) {
+                grams.add(text.substring(i, i + 3));
+            }
+            return grams;
+        }
+
+        private void attach(String key, Entry entry) {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null) {
+                    child = new Node(key.substring(i), node);
+                    node.children.put(key.charAt(i), child);
+                    node = child;
+                    break;
+                }
+                int common = commonPrefix(child.label, key, i);
+                if (common < child.label.length()) {
+                    child = split(child, common);
+                }
+                node = child;
+                i += common;
+            }
+            node.terminal.add(entry);
+            updateBest(node);
+        }
+
+        private void detach(String key, Entry entry) {
+            Node node = find(key);
+            if (node == null || !node.terminal.remove(entry)) {
+                return;
+            }
+            // Drop emptied leaves, then fold a lone child back into its parent edge
+            while (node != root && node.terminal.isEmpty() && node.children.isEmpty()) {
+                node.parent.children.remove(node.label.charAt(0));
+                node = node.parent;
+            }
+            if (node != root && node.terminal.isEmpty() && node.children.size() == 1) {
+                Node child = node.children.values().iterator().next();
+                child.label = node.label + child.label;
+                child.parent = node.parent;
+                node.parent.children.put(child.label.charAt(0), child);
+                node = child;
+            }
+            updateBest(node);
+        }
+
+        private void rescore(Entry entry) {
+            for (String key : entry.keys()) {
+                Node node = find(key);
+                if (node != null) {
+                    updateBest(node);
+                }
+            }
+        }
+
+        // Node whose path is exactly the key
+        private Node find(String key) {
+            Node node = root;
+            int i = 0;
+            while (i < key.length()) {
+                Node child = node.children.get(key.charAt(i));
+                if (child == null || commonPrefix(child.label, key, i) < child.label.length()) {
+                    return null;
+                }
+                i += child.label.length();
+                node = child;
+            }
+            return node;
+        }
+
+        // Topmost node whose subtree holds every key starting with the prefix
+        private Node locate(String prefix) {
+            Node node = root;
+            int i = 0;
+            while (i < prefix.length()) {
+                Node child = node.children.get(prefix.charAt(i));
+                if (child == null) {
+                    return null;
+                }
+                int common = commonPrefix(child.label, prefix, i);
+                if (i + common == prefix.length()) {
+                    return child;
+                }
+                if (common < child.label.length()) {
+                    return null;
+                }
+                node = child;
+                i += common;
+            }
+            return node;
+        }
+
+        private Node split(Node child, int at) {
+            Node middle = new Node(child.label.substring(0, at), child.parent);
+            middle.parent.children.put(middle.label.charAt(0), middle);
+            child.label = child.label.substring(at);
+            child.parent = middle;
+            middle.children.put(child.label.charAt(0), child);
+            middle.best = child.best;
+            return middle;
+        }
+
+        // Recomputes best from the node up, stopping once an ancestor is unaffected
+        private void updateBest(Node node) {
+            for (Node current = node; current != null; current = current.parent) {
+                long best = 0;
+                for (Entry entry : current.terminal) {
+                    best = Math.max(best, entry.score);
+                }
+                for (Node child : current.children.values()) {
+                    best = Math.max(best, child.best);
+                }
+                if (best == current.best && current != node) {
+                    return;
+                }
+                current.best = best;
+            }
+        }
+
+        private static int commonPrefix(String label, String key, int offset) {
+            int length = Math.min(label.length(), key.length() - offset);
+            int common = 0;
+            while (common < length && label.charAt(common) == key.charAt(offset + common)) {
+                common++;
+            }
+            return common;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.almousleck.search;
+
+import com.almousleck.model.EventListing;
+
+import java.time.LocalDateTime;
+
+// The searchable part of an event_listing row, copied so the index never holds on to entities
+public record IndexedEvent(Long id, Long categoryId, LocalDateTime startDate, String title,
+                           String description, String location, String categoryName, int soldTickets) {
+
+    public static IndexedEvent of(EventListing listing) {
+        return new IndexedEvent(listing.getId(), listing.getCategoryId(), listing.getStartDate(), listing.getTitle(),
+                listing.getDescription(), listing.getLocation(), listing.getCategoryName(),
+                listing.getSoldTickets() == null ? 0 : listing.getSoldTickets());
+    }
+}
@@ -0,0 +1,21 @@
+package com.almousleck.search;
+
+import com.almousleck.model.EventListing;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+public interface KeywordSearchStrategy {
+
+    SearchBackend getBackend();
+
+    // Matching listing rows starting after startAfter unless it is null. Empty when this backend cannot
+    // answer the request, so the caller falls back to LIKE.
+    Optional<Page<EventListing>> searchListings(String keyword, LocalDateTime startAfter, Pageable pageable);
+
+    // Matching events per category id, with the same filter; empty as above
+    Optional<Map<Long, Long>> countByCategory(String keyword, LocalDateTime startAfter);
+}
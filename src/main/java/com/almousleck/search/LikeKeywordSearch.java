@@ -0,0 +1,56 @@
+package com.almousleck.search;
+
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventListingSpecifications;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+// Case-insensitive LIKE over event_listing; works on every database and backs up the other backends
+@Component
+@RequiredArgsConstructor
+public class LikeKeywordSearch implements KeywordSearchStrategy {
+
+    private final EventListingRepository listingRepository;
+
+    @Override
+    public SearchBackend getBackend() {
+        return SearchBackend.LIKE;
+    }
+
+    @Override
+    public Optional<Page<EventListing>> searchListings(String keyword, LocalDateTime startAfter, Pageable pageable) {
+        return Optional.of(search(keyword, startAfter, pageable));
+    }
+
+    @Override
+    public Optional<Map<Long, Long>> countByCategory(String keyword, LocalDateTime startAfter) {
+        return Optional.of(count(keyword, startAfter));
+    }
+
+    public Page<EventListing> search(String keyword, LocalDateTime startAfter, Pageable pageable) {
+        // Nothing to rank by, so unsorted pages come back by start date
+        Pageable ordered = pageable.isPaged() && pageable.getSort().isUnsorted()
+                ? PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("startDate", "id"))
+                : pageable;
+        return listingRepository.findAll(matching(keyword, startAfter), ordered);
+    }
+
+    public Map<Long, Long> count(String keyword, LocalDateTime startAfter) {
+        return listingRepository.countPerCategory(matching(keyword, startAfter));
+    }
+
+    private Specification<EventListing> matching(String keyword, LocalDateTime startAfter) {
+        Specification<EventListing> matching = EventListingSpecifications.keywordMatches(keyword);
+        return startAfter == null ? matching : matching.and(EventListingSpecifications.startsAfter(startAfter));
+    }
+}
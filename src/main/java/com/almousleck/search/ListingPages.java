@@ -0,0 +1,31 @@
+package com.almousleck.search;
+
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+final class ListingPages {
+
+    private ListingPages() {
+    }
+
+    // Loads the listing rows for a page of ranked ids, keeping the ranking order
+    static Page<EventListing> of(EventListingRepository listingRepository, List<Long> eventIds,
+                                 Pageable pageable, long total) {
+        Map<Long, EventListing> rows = listingRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(EventListing::getId, Function.identity()));
+        List<EventListing> ordered = eventIds.stream()
+                .map(rows::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new PageImpl<>(ordered, pageable, total);
+    }
+}
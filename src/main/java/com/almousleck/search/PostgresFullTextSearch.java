@@ -0,0 +1,167 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+// PostgreSQL full-text search over event_listing. A generated tsvector column weights title A, location B and
+// description C and sits behind a GIN index; queries go through websearch_to_tsquery (quoted phrases, OR, -word)
+// and rank with ts_rank. On any other database it answers nothing, so the caller falls back to LIKE.
+@Component
+@Slf4j
+public class PostgresFullTextSearch implements KeywordSearchStrategy {
+
+    // Sortable listing properties and their columns; anything else is left to the LIKE fallback
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "startDate", "l.start_date",
+            "endDate", "l.end_date",
+            "title", "l.title",
+            "basePrice", "l.base_price",
+            "minTicketPrice", "l.min_ticket_price",
+            "createdAt", "l.created_at");
+    private static final String RANK_ORDER = "ts_rank(l.search_vector, q) DESC, l.start_date, l.id";
+    // The config name is spliced into DDL and queries, so only plain identifiers are accepted
+    private static final Pattern TEXT_SEARCH_CONFIG = Pattern.compile("[a-z_]+");
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+    private final EventListingRepository listingRepository;
+    private final boolean selected;
+    private final String textSearchConfig;
+    private volatile boolean available;
+
+    public PostgresFullTextSearch(EntityManagerFactory entityManagerFactory, JdbcTemplate jdbcTemplate,
+                                  EventListingRepository listingRepository, AppProperties appProperties) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.jdbcTemplate = jdbcTemplate;
+        this.listingRepository = listingRepository;
+        this.selected = appProperties.getSearch().getBackend() == SearchBackend.POSTGRES;
+        this.textSearchConfig = appProperties.getSearch().getPostgres().getTextSearchConfig();
+        if (!TEXT_SEARCH_CONFIG.matcher(textSearchConfig).matches()) {
+            throw new IllegalStateException("Invalid text search config " + textSearchConfig);
+        }
+    }
+
+    @Override
+    public SearchBackend getBackend() {
+        return SearchBackend.POSTGRES;
+    }
+
+    public boolean isAvailable() {
+        return available;
+    }
+
+    // The column is outside the entity mapping, so ddl-auto leaves it alone once it exists. Changing the
+    // text search config later means dropping search_vector and letting this recreate it.
+    @PostConstruct
+    public void ensureSearchColumn() {
+        if (!selected || !isPostgres()) {
+            return;
+        }
+        jdbcTemplate.execute("ALTER TABLE event_listing ADD COLUMN IF NOT EXISTS search_vector tsvector " +
+                "GENERATED ALWAYS AS (" +
+                weighted("title", 'A') + " || " +
+                weighted("location", 'B') + " || " +
+                weighted("description", 'C') + ") STORED");
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS idx_event_listing_search_vector " +
+                "ON event_listing USING GIN (search_vector)");
+        available = true;
+        log.info("PostgreSQL full-text search ready on event_listing ({})", textSearchConfig);
+    }
+
+    @Override
+    public Optional<Page<EventListing>> searchListings(String keyword, LocalDateTime startAfter, Pageable pageable) {
+        if (!available || keyword == null || keyword.isBlank()) {
+            return Optional.empty();
+        }
+        Optional<String> orderBy = orderBy(pageable.getSort());
+        if (orderBy.isEmpty()) {
+            return Optional.empty();
+        }
+
+        String from = fromMatches() + (startAfter != null ? " AND l.start_date > ?" : "");
+        List<Object> args = new ArrayList<>(List.of(keyword));
+        if (startAfter != null) {
+            args.add(startAfter);
+        }
+        long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+        int limit = pageable.isPaged() ? pageable.getPageSize() : Integer.MAX_VALUE;
+        List<Object> pageArgs = new ArrayList<>(args);
+        pageArgs.add(limit);
+        pageArgs.add(offset);
+        List<Long> eventIds = jdbcTemplate.queryForList(
+                "SELECT l.id" + from + " ORDER BY " + orderBy.get() + " LIMIT ? OFFSET ?",
+                Long.class, pageArgs.toArray());
+        // A full first page already tells the total
+        long total = pageable.isPaged() && offset == 0 && eventIds.size() < limit
+                ? eventIds.size()
+                : jdbcTemplate.queryForObject("SELECT COUNT(*)" + from, Long.class, args.toArray());
+        return Optional.of(ListingPages.of(listingRepository, eventIds, pageable, total));
+    }
+
+    @Override
+    public Optional<Map<Long, Long>> countByCategory(String keyword, LocalDateTime startAfter) {
+        if (!available || keyword == null || keyword.isBlank()) {
+            return Optional.empty();
+        }
+        Map<Long, Long> counts = new HashMap<>();
+        RowCallbackHandler collect = rs -> counts.put(rs.getLong(1), rs.getLong(2));
+        if (startAfter == null) {
+            jdbcTemplate.query("SELECT l.category_id, COUNT(*)" + fromMatches() + " GROUP BY l.category_id",
+                    collect, keyword);
+        } else {
+            jdbcTemplate.query("SELECT l.category_id, COUNT(*)" + fromMatches() + " AND l.start_date > ? " +
+                    "GROUP BY l.category_id", collect, keyword, startAfter);
+        }
+        return Optional.of(counts);
+    }
+
+    // Unsorted ranks by relevance; otherwise every property must map to a column, with id as the tie-breaker
+    static Optional<String> orderBy(Sort sort) {
+        if (sort.isUnsorted()) {
+            return Optional.of(RANK_ORDER);
+        }
+        List<String> columns = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null) {
+                return Optional.empty();
+            }
+            columns.add(column + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        columns.add("l.id");
+        return Optional.of(String.join(", ", columns));
+    }
+
+    private String fromMatches() {
+        return " FROM event_listing l, websearch_to_tsquery('" + textSearchConfig + "', ?) q WHERE l.search_vector @@ q";
+    }
+
+    private String weighted(String column, char weight) {
+        return "setweight(to_tsvector('" + textSearchConfig + "'::regconfig, coalesce(" + column + ", '')), '" + weight + "')";
+    }
+
+    private boolean isPostgres() {
+        SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        return sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQLDialect;
+    }
+}
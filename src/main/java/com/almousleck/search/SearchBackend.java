@@ -0,0 +1,5 @@
+package com.almousleck.search;
+
+public enum SearchBackend {
+    INDEX, POSTGRES, LIKE
+}
@@ -0,0 +1,45 @@
+package com.almousleck.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+// Shared by indexing and querying, so both sides agree on what a term is: lower case, accents stripped,
+// split on anything that is not a letter or digit, single characters and common stop words dropped
+public final class SearchTokenizer {
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "at", "by", "for", "in", "of", "on", "or", "the", "to", "with");
+
+    private SearchTokenizer() {
+    }
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return tokens;
+        }
+
+        for (String token : normalize(text).split(" ")) {
+            if (token.length() > 1 && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    // The same folding without dropping anything: words joined by single spaces, e.g. "Fête de  la-Musique"
+    // becomes "fete de la musique". Suggestions match typed prefixes against this form.
+    public static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String folded = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARATORS.matcher(folded.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+}
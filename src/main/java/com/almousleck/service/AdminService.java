@@ -2,6 +2,7 @@ package com.almousleck.service;
 
 import com.almousleck.audit.AuditLog;
 import com.almousleck.dto.admin.AdminDashboardResponse;
+import com.almousleck.dto.admin.CacheStatsResponse;
 import com.almousleck.dto.admin.UserResponse;
 import com.almousleck.dto.admin.UserStatusRequest;
 import com.almousleck.dto.audit.AuditLogResponse;
@@ -11,7 +12,14 @@ import com.almousleck.exception.BadRequestException;
 import com.almousleck.exception.ResourceNotFoundException;
 import com.almousleck.model.*;
 import com.almousleck.repository.*;
+import com.almousleck.search.CategoryFacetCounts;
+import com.almousleck.search.EventSearchIndex;
+import com.almousleck.search.EventSuggester;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -33,6 +41,12 @@ public class AdminService {
     private final OrganizerApplicationRepository applicationRepository;
     private final RoleRepository roleRepository;
     private final AuditLogRepository auditLogRepository;
+    private final CacheManager cacheManager;
+    private final EventListingProjector eventListingProjector;
+    private final EventListingCache eventListingCache;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventSuggester eventSuggester;
+    private final CategoryFacetCounts categoryFacetCounts;
 
     public AdminDashboardResponse getDashboardStats() {
         long totalUsers = userRepository.count();
@@ -67,6 +81,26 @@ public class AdminService {
                 .build();
     }
 
+    // Recomputes the event_listing read model from the events table, e.g. after a manual data fix,
+    // then the search index, suggestions and facet counts from it
+    public int rebuildEventListing() {
+        int rebuilt = eventListingProjector.rebuild();
+        eventSearchIndex.rebuild();
+        eventSuggester.rebuild();
+        categoryFacetCounts.rebuild();
+        eventListingCache.evictAll();
+        return rebuilt;
+    }
+
+    public List<CacheStatsResponse> getCacheStats() {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(cache -> convertToCacheStats((CaffeineCache) cache))
+                .collect(Collectors.toList());
+    }
+
     public Page<UserResponse> getAllUsers(Pageable pageable) {
         Page<User> users = userRepository.findAll(pageable);
         return users.map(this::convertToUserResponse);
@@ -194,4 +228,22 @@ public class AdminService {
                 .createdAt(auditLog.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    private CacheStatsResponse convertToCacheStats(CaffeineCache cache) {
+        Cache<Object, Object> nativeCache = cache.getNativeCache();
+        CacheStats stats = nativeCache.stats();
+        return CacheStatsResponse.builder()
+                .name(cache.getName())
+                .estimatedSize(nativeCache.estimatedSize())
+                .hitCount(stats.hitCount())
+                .missCount(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictionCount(stats.evictionCount())
+                .evictionWeight(stats.evictionWeight())
+                .loadSuccessCount(stats.loadSuccessCount())
+                .loadFailureCount(stats.loadFailureCount())
+                .totalLoadTimeNanos(stats.totalLoadTime())
+                .averageLoadPenaltyNanos(stats.averageLoadPenalty())
+                .build();
+    }
+}
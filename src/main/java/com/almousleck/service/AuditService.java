@@ -2,14 +2,19 @@ package com.almousleck.service;
 
 import com.almousleck.audit.AuditLog;
 import com.almousleck.dto.audit.AuditLogResponse;
+import com.almousleck.dto.common.CursorPage;
 import com.almousleck.repository.AuditLogRepository;
 import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.Cursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class AuditService {
@@ -22,6 +27,18 @@ public class AuditService {
         return auditLogs.map(this::convertToAuditLogResponse);
     }
 
+    // Keyset alternative to getAllAuditLogs, newest first
+    @PreAuthorize("hasRole('ADMIN')")
+    public CursorPage<AuditLogResponse> scrollAuditLogs(String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        List<AuditLog> auditLogs = after == null
+                ? auditLogRepository.findLatestFirst(Limit.of(limit + 1))
+                : auditLogRepository.findLatestAfter(after.key(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(auditLogs, limit, auditLog -> new Cursor(auditLog.getCreatedAt(), auditLog.getId()),
+                this::convertToAuditLogResponse);
+    }
+
     @PreAuthorize("hasRole('ADMIN')")
     public Page<AuditLogResponse> getAuditLogsByEntity(String entityType, Long entityId, Pageable pageable) {
         Page<AuditLog> auditLogs = auditLogRepository.findByEntityTypeAndEntityId(entityType, entityId, pageable);
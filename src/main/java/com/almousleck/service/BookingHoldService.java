@@ -0,0 +1,142 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.Booking;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.utils.HashedTimingWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Releases the seats of PENDING bookings that were never paid once their hold runs out
+@Service
+@Slf4j
+public class BookingHoldService {
+
+    private static final long RETRY_DELAY_MS = 30000;
+
+    private final BookingRepository bookingRepository;
+    private final TicketInventoryService ticketInventoryService;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final int batchSize;
+    private final HashedTimingWheel<Long> wheel;
+    private final Clock clock;
+
+    @Autowired
+    public BookingHoldService(BookingRepository bookingRepository,
+                              TicketInventoryService ticketInventoryService,
+                              PlatformTransactionManager transactionManager,
+                              AppProperties appProperties) {
+        this(bookingRepository, ticketInventoryService, transactionManager, appProperties, Clock.systemDefaultZone());
+    }
+
+    BookingHoldService(BookingRepository bookingRepository,
+                       TicketInventoryService ticketInventoryService,
+                       PlatformTransactionManager transactionManager,
+                       AppProperties appProperties,
+                       Clock clock) {
+        AppProperties.Booking.Hold hold = appProperties.getBooking().getHold();
+        this.clock = clock;
+        this.bookingRepository = bookingRepository;
+        this.ticketInventoryService = ticketInventoryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.ttl = Duration.ofMinutes(hold.getTtlMinutes());
+        this.batchSize = hold.getBatchSize();
+        this.wheel = new HashedTimingWheel<>(hold.getTickMs(), hold.getWheelSlots(), clock.millis());
+    }
+
+    public LocalDateTime newExpiry() {
+        return LocalDateTime.now(clock).plus(ttl);
+    }
+
+    // The hold clock only starts once the booking is committed
+    public void track(Booking booking) {
+        afterCommit(() -> wheel.schedule(booking.getId(), toMillis(booking.getExpiresAt())));
+    }
+
+    public void untrack(Booking booking) {
+        afterCommit(() -> wheel.cancel(booking.getId()));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        List<BookingRepository.PendingHold> holds = bookingRepository.findPendingHolds();
+        for (BookingRepository.PendingHold hold : holds) {
+            // Bookings made before holds existed get the default hold from their creation time
+            LocalDateTime expiresAt = hold.getExpiresAt() != null ? hold.getExpiresAt() : hold.getCreatedAt().plus(ttl);
+            wheel.schedule(hold.getId(), toMillis(expiresAt));
+        }
+        log.info("Booking hold wheel rebuilt with {} pending bookings", holds.size());
+    }
+
+    @Scheduled(fixedDelayString = "${app.booking.hold.tick-ms:1000}")
+    public void expireHolds() {
+        List<Long> due = wheel.advance(clock.millis());
+        if (due.isEmpty()) {
+            return;
+        }
+
+        int expired = 0;
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<Long> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                expired += transactionTemplate.execute(status -> expireBatch(batch));
+            } catch (Exception e) {
+                log.error("Failed to expire {} booking holds, will retry", batch.size(), e);
+                batch.forEach(id -> wheel.schedule(id, clock.millis() + RETRY_DELAY_MS));
+            }
+        }
+        log.info("Expired {} of {} due booking holds", expired, due.size());
+    }
+
+    private int expireBatch(List<Long> bookingIds) {
+        // Locking the still-pending rows keeps a concurrent payment or cancel from settling them too
+        List<Booking> bookings = bookingRepository.findExpiredHoldsForUpdate(bookingIds, LocalDateTime.now(clock));
+        if (bookings.isEmpty()) {
+            return 0;
+        }
+        bookingRepository.updateStatus(bookings.stream().map(Booking::getId).toList(), Booking.BookingStatus.EXPIRED);
+
+        // One release per ticket, in ascending id order so ticket locks are always taken in the same order
+        Map<Long, Integer> quantityByTicket = new TreeMap<>();
+        bookings.forEach(booking -> quantityByTicket.merge(booking.getTicket().getId(), booking.getQuantity(), Integer::sum));
+        quantityByTicket.forEach((ticketId, quantity) -> {
+            Ticket ticket = ticketInventoryService.getTicketForBooking(ticketId, 0);
+            ticketInventoryService.release(ticket, quantity);
+        });
+        return bookings.size();
+    }
+
+    private long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(clock.getZone()).toInstant().toEpochMilli();
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
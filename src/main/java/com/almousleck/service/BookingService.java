@@ -2,18 +2,22 @@ package com.almousleck.service;
 
 import com.almousleck.audit.AuditLogger;
 import com.almousleck.dto.booking.BookingDetailResponse;
+import com.almousleck.dto.booking.CartBookingResponse;
 import com.almousleck.dto.booking.BookingSummaryResponse;
 import com.almousleck.dto.booking.CreateBookingRequest;
+import com.almousleck.dto.booking.CreateCartBookingRequest;
+import com.almousleck.dto.common.CursorPage;
 import com.almousleck.exception.BadRequestException;
 import com.almousleck.exception.ResourceNotFoundException;
 import com.almousleck.model.*;
 import com.almousleck.repository.BookingRepository;
 import com.almousleck.repository.EventRepository;
-import com.almousleck.repository.TicketRepository;
 import com.almousleck.repository.UserRepository;
 import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.Cursor;
 import com.almousleck.utils.ReferenceGenerator;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -22,26 +26,37 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final TicketRepository ticketRepository;
     private final EventRepository eventRepository;
     private final UserRepository userRepository;
-    private final EmailService emailService;
     private final NotificationService notificationService;
     private final AuditLogger auditLogger;
+    private final TicketInventoryService ticketInventoryService;
+    private final BookingHoldService bookingHoldService;
+    private final ReferenceGenerator referenceGenerator;
+    private final OutboxService outboxService;
 
     @Transactional
     public BookingDetailResponse createBooking(UserPrincipal currentUser, CreateBookingRequest createBookingRequest) {
         User user = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUser.getId()));
 
-        Ticket ticket = ticketRepository.findByIdWithLock(createBookingRequest.getTicketId())
-                .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", createBookingRequest.getTicketId()));
+        Ticket ticket = ticketInventoryService.getTicketForBooking(
+                createBookingRequest.getTicketId(), createBookingRequest.getQuantity());
 
         Event event = ticket.getEvent();
 
@@ -53,15 +68,11 @@ public class BookingService {
             throw new BadRequestException("Cannot book tickets for a past event");
         }
 
-        if (ticket.getAvailableQuantity() < createBookingRequest.getQuantity()) {
-            throw new BadRequestException("Not enough tickets available");
-        }
-
         // Calculate total amount
         BigDecimal totalAmount = ticket.getPrice().multiply(BigDecimal.valueOf(createBookingRequest.getQuantity()));
 
         // Generate unique booking reference
-        String bookingReference = ReferenceGenerator.generateBookingReference();
+        String bookingReference = referenceGenerator.generateBookingReference();
 
         // Create booking
         Booking booking = Booking.builder()
@@ -69,41 +80,128 @@ public class BookingService {
                 .quantity(createBookingRequest.getQuantity())
                 .totalAmount(totalAmount)
                 .status(Booking.BookingStatus.PENDING)
+                .expiresAt(bookingHoldService.newExpiry())
                 .user(user)
                 .ticket(ticket)
                 .event(event)
                 .build();
 
         // Update ticket availability
-        ticket.setAvailableQuantity(ticket.getAvailableQuantity() - createBookingRequest.getQuantity());
-        ticketRepository.save(ticket);
+        ticketInventoryService.reserve(ticket, createBookingRequest.getQuantity());
 
         Booking savedBooking = bookingRepository.save(booking);
+        bookingHoldService.track(savedBooking);
 
-        // Send confirmation email
-        emailService.sendBookingConfirmation(user.getEmail(), user.getName(), savedBooking);
+        outboxService.publish(OutboxMessage.MessageType.BOOKING_CREATED, List.of(savedBooking.getId()));
 
-        // Create notification for user
-        notificationService.createNotification(
-                user,
-                "Booking Created",
-                "Your booking for " + event.getTitle() + " has been created. Reference: " + bookingReference,
-                Notification.NotificationType.SUCCESS
-        );
+        return convertToBookingDetail(savedBooking);
+    }
 
-        // Create notification for organizer
-        notificationService.createNotification(
-                event.getOrganizer(),
-                "New Booking",
-                "A new booking has been made for your event " + event.getTitle() + ". Reference: " + bookingReference,
-                Notification.NotificationType.INFO
-        );
+    // Books a group of requests for the same ticket in one transaction, granting them in arrival order
+    @Transactional
+    public List<BatchOutcome> createBookingBatch(Long ticketId, List<BatchBooking> batch) {
+        int smallestQuantity = batch.stream().mapToInt(item -> item.request().getQuantity()).min().orElse(1);
+        Ticket ticket = ticketInventoryService.getTicketForBooking(ticketId, smallestQuantity);
+        Event event = ticket.getEvent();
 
-        // Log audit event
-        auditLogger.logEvent("CREATE", "Booking", savedBooking.getId(), currentUser,
-                "Created booking: " + savedBooking.getBookingReference() + " for event: " + event.getTitle());
+        if (!event.isPublished()) {
+            throw new BadRequestException("Cannot book tickets for an unpublished event");
+        }
 
-        return convertToBookingDetail(savedBooking);
+        if (event.getStartDate().isBefore(LocalDateTime.now())) {
+            throw new BadRequestException("Cannot book tickets for a past event");
+        }
+
+        Set<Long> userIds = batch.stream().map(item -> item.currentUser().getId()).collect(Collectors.toSet());
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        boolean[] granted = allocate(ticket, batch, users);
+
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            if (granted[i]) {
+                BatchBooking item = batch.get(i);
+                int quantity = item.request().getQuantity();
+                bookings.add(Booking.builder()
+                        .bookingReference(referenceGenerator.generateBookingReference())
+                        .quantity(quantity)
+                        .totalAmount(ticket.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                        .status(Booking.BookingStatus.PENDING)
+                        .expiresAt(bookingHoldService.newExpiry())
+                        .user(users.get(item.currentUser().getId()))
+                        .ticket(ticket)
+                        .event(event)
+                        .build());
+            }
+        }
+
+        Iterator<Booking> saved = bookingRepository.saveAll(bookings).iterator();
+
+        List<BatchOutcome> outcomes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            BatchBooking item = batch.get(i);
+            if (granted[i]) {
+                Booking savedBooking = saved.next();
+                bookingHoldService.track(savedBooking);
+                outboxService.publish(OutboxMessage.MessageType.BOOKING_CREATED, List.of(savedBooking.getId()));
+                outcomes.add(new BatchOutcome(convertToBookingDetail(savedBooking), null));
+            } else if (!users.containsKey(item.currentUser().getId())) {
+                outcomes.add(new BatchOutcome(null, new ResourceNotFoundException("User", "id", item.currentUser().getId())));
+            } else {
+                outcomes.add(new BatchOutcome(null, new BadRequestException("Not enough tickets available")));
+            }
+        }
+        return outcomes;
+    }
+
+    // Books every item of a cart atomically, with one outbox message for the whole cart
+    @Transactional
+    public CartBookingResponse createCartBooking(UserPrincipal currentUser, CreateCartBookingRequest cartRequest) {
+        User user = userRepository.findById(currentUser.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUser.getId()));
+
+        // Ascending ticket ids give every checkout the same lock order, so two carts cannot deadlock
+        Map<Long, Integer> quantityByTicket = new TreeMap<>();
+        cartRequest.getItems().forEach(item -> quantityByTicket.merge(item.getTicketId(), item.getQuantity(), Integer::sum));
+
+        List<Booking> bookings = new ArrayList<>(quantityByTicket.size());
+        quantityByTicket.forEach((ticketId, quantity) -> {
+            Ticket ticket = ticketInventoryService.getTicketForBooking(ticketId, quantity);
+            Event event = ticket.getEvent();
+
+            if (!event.isPublished()) {
+                throw new BadRequestException("Cannot book tickets for an unpublished event");
+            }
+
+            if (event.getStartDate().isBefore(LocalDateTime.now())) {
+                throw new BadRequestException("Cannot book tickets for a past event");
+            }
+
+            ticketInventoryService.reserve(ticket, quantity);
+
+            bookings.add(Booking.builder()
+                    .bookingReference(referenceGenerator.generateBookingReference())
+                    .quantity(quantity)
+                    .totalAmount(ticket.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                    .status(Booking.BookingStatus.PENDING)
+                    .expiresAt(bookingHoldService.newExpiry())
+                    .user(user)
+                    .ticket(ticket)
+                    .event(event)
+                    .build());
+        });
+
+        List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+        savedBookings.forEach(bookingHoldService::track);
+
+        outboxService.publish(OutboxMessage.MessageType.CART_BOOKING_CREATED,
+                savedBookings.stream().map(Booking::getId).collect(Collectors.toList()));
+
+        return CartBookingResponse.builder()
+                .bookings(savedBookings.stream().map(this::convertToBookingDetail).collect(Collectors.toList()))
+                .totalAmount(savedBookings.stream().map(Booking::getTotalAmount).reduce(BigDecimal.ZERO, BigDecimal::add))
+                .build();
     }
 
     @Transactional
@@ -115,12 +213,15 @@ public class BookingService {
             throw new AccessDeniedException("You don't have permission to confirm this booking");
         }
 
-        if (booking.getStatus() != Booking.BookingStatus.PENDING) {
+        // Guarded update, so a hold expiring at the same moment cannot also be confirmed
+        if (booking.getStatus() != Booking.BookingStatus.PENDING || bookingRepository.updateStatusIfIn(
+                booking.getId(), EnumSet.of(Booking.BookingStatus.PENDING), Booking.BookingStatus.CONFIRMED) == 0) {
             throw new BadRequestException("Booking is not in PENDING state");
         }
 
         booking.setStatus(Booking.BookingStatus.CONFIRMED);
         Booking confirmedBooking = bookingRepository.save(booking);
+        bookingHoldService.untrack(confirmedBooking);
 
         // Create notification for user
         notificationService.createNotification(
@@ -150,42 +251,28 @@ public class BookingService {
             throw new BadRequestException("Booking is already cancelled");
         }
 
+        if (booking.getStatus() == Booking.BookingStatus.EXPIRED) {
+            throw new BadRequestException("Booking has already expired");
+        }
+
         // Check if the event has already started
         if (booking.getEvent().getStartDate().isBefore(LocalDateTime.now())) {
             throw new BadRequestException("Cannot cancel booking for an event that has already started");
         }
 
+        if (bookingRepository.updateStatusIfIn(booking.getId(), EnumSet.of(booking.getStatus()),
+                Booking.BookingStatus.CANCELLED) == 0) {
+            throw new BadRequestException("Booking was changed by another request, please try again");
+        }
         booking.setStatus(Booking.BookingStatus.CANCELLED);
+        bookingHoldService.untrack(booking);
 
         // Return tickets to available pool
-        Ticket ticket = booking.getTicket();
-        ticket.setAvailableQuantity(ticket.getAvailableQuantity() + booking.getQuantity());
-        ticketRepository.save(ticket);
+        ticketInventoryService.release(booking.getTicket(), booking.getQuantity());
 
         Booking cancelledBooking = bookingRepository.save(booking);
 
-        // Send cancellation email
-        emailService.sendBookingCancellation(booking.getUser().getEmail(), booking.getUser().getName(), cancelledBooking);
-
-        // Create notification for user
-        notificationService.createNotification(
-                booking.getUser(),
-                "Booking Cancelled",
-                "Your booking for " + booking.getEvent().getTitle() + " has been cancelled. Reference: " + bookingReference,
-                Notification.NotificationType.INFO
-        );
-
-        // Create notification for organizer
-        notificationService.createNotification(
-                booking.getEvent().getOrganizer(),
-                "Booking Cancelled",
-                "A booking for your event " + booking.getEvent().getTitle() + " has been cancelled. Reference: " + bookingReference,
-                Notification.NotificationType.INFO
-        );
-
-        // Log audit event
-        auditLogger.logEvent("CANCEL", "Booking", cancelledBooking.getId(), currentUser,
-                "Cancelled booking: " + cancelledBooking.getBookingReference());
+        outboxService.publish(OutboxMessage.MessageType.BOOKING_CANCELLED, List.of(cancelledBooking.getId()));
 
         return convertToBookingDetail(cancelledBooking);
     }
@@ -210,11 +297,61 @@ public class BookingService {
         return bookings.map(this::convertToBookingSummary);
     }
 
+    // Keyset alternative to getUserBookings for infinite scroll, newest first
+    public CursorPage<BookingSummaryResponse> scrollUserBookings(UserPrincipal currentUser, String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        List<Booking> bookings = after == null
+                ? bookingRepository.findByUserIdFirst(currentUser.getId(), Limit.of(limit + 1))
+                : bookingRepository.findByUserIdAfter(currentUser.getId(), after.key(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(bookings, limit, booking -> new Cursor(booking.getCreatedAt(), booking.getId()),
+                this::convertToBookingSummary);
+    }
+
     public Page<BookingSummaryResponse> getOrganizerBookings(UserPrincipal currentUser, Pageable pageable) {
         Page<Booking> bookings = bookingRepository.findByOrganizerId(currentUser.getId(), pageable);
         return bookings.map(this::convertToBookingSummary);
     }
 
+    private boolean[] allocate(Ticket ticket, List<BatchBooking> batch, Map<Long, User> users) {
+        boolean[] granted = new boolean[batch.size()];
+        int remaining = ticketInventoryService.getAvailableQuantity(ticket);
+        int total = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            int quantity = batch.get(i).request().getQuantity();
+            if (users.containsKey(batch.get(i).currentUser().getId()) && quantity <= remaining) {
+                granted[i] = true;
+                remaining -= quantity;
+                total += quantity;
+            }
+        }
+
+        if (total == 0) {
+            return granted;
+        }
+
+        try {
+            // One decrement for the whole batch
+            ticketInventoryService.reserve(ticket, total);
+        } catch (BadRequestException e) {
+            // Stock moved since it was read, so fall back to reserving request by request
+            for (int i = 0; i < batch.size(); i++) {
+                granted[i] = users.containsKey(batch.get(i).currentUser().getId())
+                        && tryReserve(ticket, batch.get(i).request().getQuantity());
+            }
+        }
+        return granted;
+    }
+
+    private boolean tryReserve(Ticket ticket, int quantity) {
+        try {
+            ticketInventoryService.reserve(ticket, quantity);
+            return true;
+        } catch (BadRequestException e) {
+            return false;
+        }
+    }
+
     private BookingSummaryResponse convertToBookingSummary(Booking booking) {
         return BookingSummaryResponse.builder()
                 .id(booking.getId())
@@ -245,7 +382,13 @@ public class BookingService {
                 .userName(booking.getUser().getName())
                 .userEmail(booking.getUser().getEmail())
                 .createdAt(booking.getCreatedAt())
+                .expiresAt(booking.getExpiresAt())
                 .build();
     }
-}
 
+    public record BatchBooking(UserPrincipal currentUser, CreateBookingRequest request) {
+    }
+
+    public record BatchOutcome(BookingDetailResponse booking, RuntimeException error) {
+    }
+}
@@ -8,6 +8,8 @@ import com.almousleck.model.EventCategory;
 import com.almousleck.repository.EventCategoryRepository;
 import com.almousleck.repository.EventRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,7 +22,9 @@ public class CategoryService {
 
     private final EventCategoryRepository categoryRepository;
     private final EventRepository eventRepository;
+    private final EventListingProjector eventListingProjector;
 
+    @Cacheable(value = "categories", key = "'all'", sync = true)
     public List<CategoryResponse> getAllCategories() {
         List<EventCategory> categories = categoryRepository.findAll();
         return categories.stream()
@@ -28,6 +32,7 @@ public class CategoryService {
                 .collect(Collectors.toList());
     }
 
+    @Cacheable(value = "categories", key = "'active'", sync = true)
     public List<CategoryResponse> getActiveCategories() {
         List<EventCategory> categories = categoryRepository.findByActiveTrue();
         return categories.stream()
@@ -43,6 +48,7 @@ public class CategoryService {
     }
 
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public CategoryResponse createCategory(CategoryRequest categoryRequest) {
         if (categoryRepository.existsByName(categoryRequest.getName())) {
             throw new BadRequestException("Category name already exists");
@@ -61,6 +67,7 @@ public class CategoryService {
     }
 
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public CategoryResponse updateCategory(Long categoryId, CategoryRequest categoryRequest) {
         EventCategory category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("EventCategory", "id", categoryId));
@@ -70,6 +77,9 @@ public class CategoryService {
             throw new BadRequestException("Category name already exists");
         }
 
+        if (!category.getName().equals(categoryRequest.getName())) {
+            eventListingProjector.renameCategory(categoryId, categoryRequest.getName());
+        }
         category.setName(categoryRequest.getName());
         category.setDescription(categoryRequest.getDescription());
         category.setIconUrl(categoryRequest.getIconUrl());
@@ -81,6 +91,7 @@ public class CategoryService {
     }
 
     @Transactional
+    @CacheEvict(value = "categories", allEntries = true)
     public void deleteCategory(Long categoryId) {
         EventCategory category = categoryRepository.findById(categoryId)
                 .orElseThrow(() -> new ResourceNotFoundException("EventCategory", "id", categoryId));
@@ -105,6 +116,7 @@ public class CategoryService {
                 .description(category.getDescription())
                 .iconUrl(category.getIconUrl())
                 .active(category.isActive())
+                .updatedAt(category.getUpdatedAt())
                 .build();
     }
 }
@@ -13,9 +13,13 @@ import org.thymeleaf.context.Context;
 
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
+import java.math.BigDecimal;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @Service
 @RequiredArgsConstructor
@@ -57,7 +61,7 @@ public class EmailService {
     }
 
     @Async
-    public void sendBookingConfirmation(String to, String name, Booking booking) {
+    public CompletableFuture<Void> sendBookingConfirmation(String to, String name, Booking booking) {
         Event event = booking.getEvent();
 
         Map<String, Object> variables = new HashMap<>();
@@ -71,10 +75,36 @@ public class EmailService {
         variables.put("totalAmount", booking.getTotalAmount());
 
         sendEmail(to, "Booking Confirmation", "booking-confirmation", variables);
+        return CompletableFuture.completedFuture(null);
     }
 
     @Async
-    public void sendBookingCancellation(String to, String name, Booking booking) {
+    public CompletableFuture<Void> sendCartBookingConfirmation(String to, String name, List<Booking> bookings) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        BigDecimal totalAmount = BigDecimal.ZERO;
+        for (Booking booking : bookings) {
+            Map<String, Object> item = new HashMap<>();
+            item.put("bookingReference", booking.getBookingReference());
+            item.put("eventTitle", booking.getEvent().getTitle());
+            item.put("eventDate", booking.getEvent().getStartDate().format(DATE_FORMATTER));
+            item.put("ticketType", booking.getTicket().getType());
+            item.put("quantity", booking.getQuantity());
+            item.put("totalAmount", booking.getTotalAmount());
+            items.add(item);
+            totalAmount = totalAmount.add(booking.getTotalAmount());
+        }
+
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("name", name);
+        variables.put("items", items);
+        variables.put("totalAmount", totalAmount);
+
+        sendEmail(to, "Booking Confirmation", "cart-booking-confirmation", variables);
+        return CompletableFuture.completedFuture(null);
+    }
+
+    @Async
+    public CompletableFuture<Void> sendBookingCancellation(String to, String name, Booking booking) {
         Event event = booking.getEvent();
 
         Map<String, Object> variables = new HashMap<>();
@@ -84,6 +114,7 @@ public class EmailService {
         variables.put("eventDate", event.getStartDate().format(DATE_FORMATTER));
 
         sendEmail(to, "Booking Cancellation", "booking-cancellation", variables);
+        return CompletableFuture.completedFuture(null);
     }
 
     @Async
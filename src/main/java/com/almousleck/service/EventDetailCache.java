@@ -0,0 +1,72 @@
+package com.almousleck.service;
+
+import com.almousleck.dto.event.EventDetailResponse;
+import com.almousleck.model.Event;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+
+// Static event details versioned by Event.version; ticket availability lives in TicketAvailabilityService
+// so purchases never touch these entries
+@Component
+public class EventDetailCache {
+
+    public static final String EVENT_DETAILS = "eventDetails";
+
+    private final ConcurrentMap<Object, Object> details;
+
+    public EventDetailCache(CacheManager cacheManager) {
+        this.details = ((CaffeineCache) cacheManager.getCache(EVENT_DETAILS)).getNativeCache().asMap();
+    }
+
+    public Optional<Snapshot> getDetails(Long eventId) {
+        return details.get(eventId) instanceof Snapshot snapshot && snapshot.detail() != null
+                ? Optional.of(snapshot)
+                : Optional.empty();
+    }
+
+    // A reader that loaded before a write committed must not overwrite the newer version
+    public Snapshot putDetails(Long eventId, Snapshot snapshot) {
+        return (Snapshot) details.merge(eventId, snapshot, (current, loaded) -> newer((Snapshot) current, (Snapshot) loaded));
+    }
+
+    // Called once the event's version has moved on, which covers the ticket list as well
+    public void invalidate(Event event) {
+        // Leaves the new version behind as a floor until a reader loads it
+        afterCommit(() -> putDetails(event.getId(), new Snapshot(event.getVersion(), null)));
+    }
+
+    public void remove(Long eventId) {
+        afterCommit(() -> putDetails(eventId, new Snapshot(Long.MAX_VALUE, null)));
+    }
+
+    private Snapshot newer(Snapshot current, Snapshot loaded) {
+        if (loaded.version() > current.version()) {
+            return loaded;
+        }
+        return loaded.version() == current.version() && current.detail() == null ? loaded : current;
+    }
+
+    // Evicting before commit would let a concurrent read cache the old rows again
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Static event data with ticket availability left out
+    public record Snapshot(long version, EventDetailResponse detail) {
+    }
+}
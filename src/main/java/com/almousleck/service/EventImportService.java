@@ -0,0 +1,364 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.event.CreateTicketRequest;
+import com.almousleck.dto.event.EventImportResponse;
+import com.almousleck.dto.event.EventImportRow;
+import com.almousleck.exception.ResourceNotFoundException;
+import com.almousleck.model.Event;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.Ticket;
+import com.almousleck.model.User;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVParser;
+import org.apache.commons.csv.CSVRecord;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Streams a bulk upload row by row: parse, resolve the category, validate, then write events and their
+// tickets in chunks, one transaction per chunk. Only the current chunk is held in memory, and a bad row
+// is reported without stopping the rest of the file.
+@Service
+@Slf4j
+public class EventImportService {
+
+    private static final CSVFormat CSV_FORMAT = CSVFormat.DEFAULT.builder()
+            .setHeader()
+            .setSkipHeaderRecord(true)
+            .setIgnoreEmptyLines(true)
+            .setTrim(true)
+            .build();
+    // Tickets in a CSV cell look like "General|50.00|500;VIP|120.00|50"
+    private static final String TICKET_SEPARATOR = ";";
+    private static final String TICKET_FIELD_SEPARATOR = "\\|";
+
+    private final EventRepository eventRepository;
+    private final EventCategoryRepository categoryRepository;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final TicketInventoryService ticketInventoryService;
+    private final EventListingCache eventListingCache;
+    private final EventListingProjector eventListingProjector;
+    private final AuditLogger auditLogger;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.EventImport properties;
+
+    public EventImportService(EventRepository eventRepository,
+                              EventCategoryRepository categoryRepository,
+                              TicketRepository ticketRepository,
+                              UserRepository userRepository,
+                              TicketInventoryService ticketInventoryService,
+                              EventListingCache eventListingCache,
+                              EventListingProjector eventListingProjector,
+                              AuditLogger auditLogger,
+                              Validator validator,
+                              ObjectMapper objectMapper,
+                              EntityManager entityManager,
+                              PlatformTransactionManager transactionManager,
+                              AppProperties appProperties) {
+        this.eventRepository = eventRepository;
+        this.categoryRepository = categoryRepository;
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.ticketInventoryService = ticketInventoryService;
+        this.eventListingCache = eventListingCache;
+        this.eventListingProjector = eventListingProjector;
+        this.auditLogger = auditLogger;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = appProperties.getEventImport();
+    }
+
+    public EventImportResponse importEvents(UserPrincipal currentUser, InputStream input, ImportFormat format) {
+        User organizer = userRepository.findById(currentUser.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUser.getId()));
+
+        ImportRun run = new ImportRun(organizer, categoryRepository.findAll());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            if (format == ImportFormat.NDJSON) {
+                readNdjson(reader, run);
+            } else {
+                readCsv(reader, run);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            // Rows before the broken one are already committed; report where reading stopped
+            run.fail(run.totalRows + 1, "Could not read the rest of the file: " + e.getMessage());
+        }
+        run.writeChunk();
+
+        // One invalidation for the whole import rather than one per event
+        if (run.importedEvents > 0) {
+            eventListingCache.evictAll();
+        }
+
+        auditLogger.logEvent("IMPORT", "Event", null, currentUser,
+                "Imported " + run.importedEvents + " events from " + run.totalRows + " rows, " + run.failedRows + " failed");
+        log.info("Event import by {}: {} rows, {} events, {} tickets, {} failed",
+                currentUser.getUsername(), run.totalRows, run.importedEvents, run.importedTickets, run.failedRows);
+
+        return EventImportResponse.builder()
+                .totalRows(run.totalRows)
+                .importedEvents(run.importedEvents)
+                .importedTickets(run.importedTickets)
+                .failedRows(run.failedRows)
+                .errors(run.errors)
+                .build();
+    }
+
+    private void readCsv(BufferedReader reader, ImportRun run) throws IOException {
+        try (CSVParser parser = CSV_FORMAT.parse(reader)) {
+            for (CSVRecord record : parser) {
+                run.accept(record.getRecordNumber(), () -> fromCsv(record));
+            }
+        }
+    }
+
+    private void readNdjson(BufferedReader reader, ImportRun run) throws IOException {
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            String json = line;
+            run.accept(lineNumber, () -> objectMapper.readValue(json, EventImportRow.class));
+        }
+    }
+
+    private EventImportRow fromCsv(CSVRecord record) {
+        EventImportRow row = new EventImportRow();
+        row.setTitle(value(record, "title"));
+        row.setDescription(value(record, "description"));
+        row.setLocation(value(record, "location"));
+        row.setStartDate(parse(value(record, "startDate"), LocalDateTime::parse));
+        row.setEndDate(parse(value(record, "endDate"), LocalDateTime::parse));
+        row.setBasePrice(parse(value(record, "basePrice"), BigDecimal::new));
+        row.setImageUrl(value(record, "imageUrl"));
+        row.setCategory(value(record, "category"));
+        row.setCategoryId(parse(value(record, "categoryId"), Long::valueOf));
+        String published = value(record, "published");
+        row.setPublished(published == null || Boolean.parseBoolean(published));
+        row.setTickets(parseTickets(value(record, "tickets")));
+        return row;
+    }
+
+    private List<CreateTicketRequest> parseTickets(String value) {
+        if (value == null) {
+            return null;
+        }
+        List<CreateTicketRequest> tickets = new ArrayList<>();
+        for (String entry : value.split(TICKET_SEPARATOR)) {
+            String[] fields = entry.trim().split(TICKET_FIELD_SEPARATOR);
+            if (fields.length != 3) {
+                throw new IllegalArgumentException("Ticket '" + entry.trim() + "' must be type|price|quantity");
+            }
+            CreateTicketRequest ticket = new CreateTicketRequest();
+            ticket.setType(fields[0].trim());
+            ticket.setPrice(new BigDecimal(fields[1].trim()));
+            ticket.setQuantity(Integer.valueOf(fields[2].trim()));
+            tickets.add(ticket);
+        }
+        return tickets;
+    }
+
+    private String value(CSVRecord record, String column) {
+        if (!record.isSet(column)) {
+            return null;
+        }
+        String value = record.get(column);
+        return value.isEmpty() ? null : value;
+    }
+
+    private <T> T parse(String value, Function<String, T> parser) {
+        return value == null ? null : parser.apply(value);
+    }
+
+    public enum ImportFormat {
+        CSV, NDJSON
+    }
+
+    @FunctionalInterface
+    private interface RowParser {
+        EventImportRow parse() throws IOException;
+    }
+
+    private class ImportRun {
+        private final User organizer;
+        private final Map<Long, EventCategory> categoriesById = new HashMap<>();
+        private final Map<String, EventCategory> categoriesByName = new HashMap<>();
+        private final List<Long> chunkRows = new ArrayList<>();
+        private final List<Event> chunkEvents = new ArrayList<>();
+        private final List<Ticket> chunkTickets = new ArrayList<>();
+        private final List<EventImportResponse.RowError> errors = new ArrayList<>();
+        private long totalRows;
+        private long importedEvents;
+        private long importedTickets;
+        private long failedRows;
+
+        private ImportRun(User organizer, List<EventCategory> categories) {
+            this.organizer = organizer;
+            for (EventCategory category : categories) {
+                categoriesById.put(category.getId(), category);
+                categoriesByName.put(category.getName().toLowerCase(Locale.ROOT), category);
+            }
+        }
+
+        private void accept(long rowNumber, RowParser parser) {
+            totalRows++;
+            EventImportRow row;
+            try {
+                row = parser.parse();
+            } catch (IOException | RuntimeException e) {
+                fail(rowNumber, "Could not parse row: " + e.getMessage());
+                return;
+            }
+
+            EventCategory category = resolveCategory(row);
+            if (category == null) {
+                fail(rowNumber, "Unknown category: " + (row.getCategory() != null ? row.getCategory() : row.getCategoryId()));
+                return;
+            }
+            if (!category.isActive()) {
+                fail(rowNumber, "Cannot create event with inactive category");
+                return;
+            }
+            row.setCategoryId(category.getId());
+
+            Set<ConstraintViolation<EventImportRow>> violations = validator.validate(row);
+            if (!violations.isEmpty()) {
+                fail(rowNumber, violations.stream()
+                        .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            add(rowNumber, row, category);
+            if (chunkEvents.size() >= properties.getChunkSize()) {
+                writeChunk();
+            }
+        }
+
+        private EventCategory resolveCategory(EventImportRow row) {
+            if (row.getCategoryId() != null) {
+                return categoriesById.get(row.getCategoryId());
+            }
+            return row.getCategory() != null ? categoriesByName.get(row.getCategory().toLowerCase(Locale.ROOT)) : null;
+        }
+
+        private void add(long rowNumber, EventImportRow row, EventCategory category) {
+            Event event = Event.builder()
+                    .title(row.getTitle())
+                    .description(row.getDescription())
+                    .location(row.getLocation())
+                    .startDate(row.getStartDate())
+                    .endDate(row.getEndDate())
+                    .basePrice(row.getBasePrice())
+                    .imageUrl(row.getImageUrl())
+                    .published(row.isPublished())
+                    .category(category)
+                    .organizer(organizer)
+                    .build();
+
+            // Same default as a single create when no tickets are given
+            List<CreateTicketRequest> tickets = row.getTickets();
+            if (tickets == null || tickets.isEmpty()) {
+                chunkTickets.add(Ticket.builder()
+                        .type("General Admission")
+                        .price(row.getBasePrice())
+                        .totalQuantity(100)
+                        .availableQuantity(100)
+                        .event(event)
+                        .build());
+            } else {
+                for (CreateTicketRequest ticket : tickets) {
+                    chunkTickets.add(Ticket.builder()
+                            .type(ticket.getType())
+                            .price(ticket.getPrice())
+                            .totalQuantity(ticket.getQuantity())
+                            .availableQuantity(ticket.getQuantity())
+                            .shardCount(ticket.getShardCount() != null ? ticket.getShardCount() : 1)
+                            .event(event)
+                            .build());
+                }
+            }
+
+            chunkRows.add(rowNumber);
+            chunkEvents.add(event);
+        }
+
+        private void writeChunk() {
+            if (chunkEvents.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    eventRepository.saveAll(chunkEvents);
+                    ticketRepository.saveAll(chunkTickets);
+                    chunkTickets.forEach(ticketInventoryService::initialize);
+                    eventListingProjector.refresh(chunkEvents.stream()
+                            .filter(Event::isPublished)
+                            .map(Event::getId)
+                            .toList());
+                    // The request may keep one persistence context open, so drop this chunk from it
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                importedEvents += chunkEvents.size();
+                importedTickets += chunkTickets.size();
+            } catch (RuntimeException e) {
+                log.warn("Event import chunk of {} rows failed", chunkRows.size(), e);
+                chunkRows.forEach(rowNumber -> fail(rowNumber, "Could not be saved: " + e.getMessage()));
+            } finally {
+                chunkRows.clear();
+                chunkEvents.clear();
+                chunkTickets.clear();
+            }
+        }
+
+        private void fail(long rowNumber, String message) {
+            failedRows++;
+            if (errors.size() < properties.getMaxReportedErrors()) {
+                errors.add(EventImportResponse.RowError.builder()
+                        .row(rowNumber)
+                        .message(message)
+                        .build());
+            }
+        }
+    }
+}
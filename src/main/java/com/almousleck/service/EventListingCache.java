@@ -0,0 +1,143 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.event.EventSummaryResponse;
+import com.almousleck.model.Event;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.BiPredicate;
+
+// Keys and targeted invalidation for the event listing caches. Keys are built from SpEL in
+// EventService's @Cacheable methods through this bean.
+@Component
+@Slf4j
+public class EventListingCache {
+
+    public static final String EVENTS = "events";
+    public static final String EVENTS_BY_CATEGORY = "eventsByCategory";
+    public static final String UPCOMING_EVENTS = "upcomingEvents";
+
+    private final CacheManager cacheManager;
+    private final Duration upcomingBucket;
+    private final Clock clock;
+
+    @Autowired
+    public EventListingCache(CacheManager cacheManager, AppProperties appProperties) {
+        this(cacheManager, appProperties, Clock.systemDefaultZone());
+    }
+
+    EventListingCache(CacheManager cacheManager, AppProperties appProperties, Clock clock) {
+        this.cacheManager = cacheManager;
+        this.upcomingBucket = appProperties.getCache().getUpcomingBucket();
+        this.clock = clock;
+    }
+
+    public PageKey all(Pageable pageable) {
+        return PageKey.of(null, null, pageable);
+    }
+
+    public PageKey byCategory(Long categoryId, Pageable pageable) {
+        return PageKey.of(categoryId, null, pageable);
+    }
+
+    public PageKey upcoming(Pageable pageable) {
+        return PageKey.of(null, clock.millis() / upcomingBucket.toMillis(), pageable);
+    }
+
+    // The event's fields changed but it stays in the same listings: drop the pages that show it,
+    // and sorted pages of those listings since the event may have moved between them
+    public void evictContent(Event event) {
+        Long eventId = event.getId();
+        Long categoryId = event.getCategory().getId();
+        evict((key, page) -> key.sorted() || contains(page, eventId), (key, page) ->
+                Objects.equals(key.categoryId(), categoryId) && (key.sorted() || contains(page, eventId)), true);
+    }
+
+    // The event joined, left or moved between listings, which shifts every page of those listings
+    public void evictListings(Long categoryId, LocalDateTime startDate) {
+        // Upcoming pages only hold events that had not started when their bucket opened
+        boolean upcoming = startDate.isAfter(LocalDateTime.now(clock).minus(upcomingBucket));
+        evict((key, page) -> true, (key, page) -> Objects.equals(key.categoryId(), categoryId), upcoming);
+    }
+
+    // Bulk changes touch too many listings to track, so every page goes
+    public void evictAll() {
+        evict((key, page) -> true, (key, page) -> true, true);
+    }
+
+    private void evict(BiPredicate<PageKey, Object> listing, BiPredicate<PageKey, Object> byCategory, boolean upcoming) {
+        Runnable eviction = () -> {
+            int evicted = evict(EVENTS, listing) + evict(EVENTS_BY_CATEGORY, byCategory);
+            if (upcoming) {
+                evicted += evict(UPCOMING_EVENTS, listing);
+            }
+            log.debug("Evicted {} event listing pages", evicted);
+        };
+
+        // Evicting before commit would let a concurrent read cache the old rows again
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    eviction.run();
+                }
+            });
+        } else {
+            eviction.run();
+        }
+    }
+
+    private int evict(String cacheName, BiPredicate<PageKey, Object> predicate) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (!(cache instanceof CaffeineCache caffeineCache)) {
+            if (cache != null) {
+                cache.clear();
+            }
+            return 0;
+        }
+
+        int[] evicted = {0};
+        Map<Object, Object> entries = caffeineCache.getNativeCache().asMap();
+        entries.entrySet().removeIf(entry -> {
+            boolean remove = !(entry.getKey() instanceof PageKey key) || predicate.test(key, entry.getValue());
+            if (remove) {
+                evicted[0]++;
+            }
+            return remove;
+        });
+        return evicted[0];
+    }
+
+    private boolean contains(Object page, Long eventId) {
+        return page instanceof Page<?> events && events.getContent().stream()
+                .anyMatch(event -> event instanceof EventSummaryResponse summary && eventId.equals(summary.getId()));
+    }
+
+    public record PageKey(Long categoryId, Long timeBucket, int page, int size, String sort) {
+
+        static PageKey of(Long categoryId, Long timeBucket, Pageable pageable) {
+            if (pageable.isUnpaged()) {
+                return new PageKey(categoryId, timeBucket, -1, -1, pageable.getSort().toString());
+            }
+            return new PageKey(categoryId, timeBucket, pageable.getPageNumber(), pageable.getPageSize(), pageable.getSort().toString());
+        }
+
+        boolean sorted() {
+            return !"UNSORTED".equals(sort);
+        }
+    }
+}
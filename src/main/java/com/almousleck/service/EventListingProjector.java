@@ -0,0 +1,248 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.EventRepository.EventListingSource;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.TicketRepository.EventTicketAvailability;
+import com.almousleck.search.CategoryFacetCounts;
+import com.almousleck.search.EventSearchIndex;
+import com.almousleck.search.EventSuggester;
+import com.almousleck.search.IndexedEvent;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Keeps the event_listing read model, and the in-memory search structures fed from it, in step with events, categories,
+// organizers and tickets.
+// Event and ticket writes refresh their rows in the same transaction; availability moved by bookings is
+// collected and copied over on a schedule, so the booking path never waits on a listing row.
+@Service
+@Slf4j
+public class EventListingProjector {
+
+    private final EventRepository eventRepository;
+    private final TicketRepository ticketRepository;
+    private final EventListingRepository listingRepository;
+    private final EventSearchIndex eventSearchIndex;
+    private final EventSuggester eventSuggester;
+    private final CategoryFacetCounts categoryFacetCounts;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final AppProperties.EventListing properties;
+    private final Set<Long> staleAvailability = ConcurrentHashMap.newKeySet();
+
+    public EventListingProjector(EventRepository eventRepository,
+                                 TicketRepository ticketRepository,
+                                 EventListingRepository listingRepository,
+                                 EventSearchIndex eventSearchIndex,
+                                 EventSuggester eventSuggester,
+                                 CategoryFacetCounts categoryFacetCounts,
+                                 EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 AppProperties appProperties) {
+        this.eventRepository = eventRepository;
+        this.ticketRepository = ticketRepository;
+        this.listingRepository = listingRepository;
+        this.eventSearchIndex = eventSearchIndex;
+        this.eventSuggester = eventSuggester;
+        this.categoryFacetCounts = categoryFacetCounts;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.properties = appProperties.getEventListing();
+    }
+
+    public void refresh(Long eventId) {
+        refresh(List.of(eventId));
+    }
+
+    // Recomputes the rows from the write model; events that are no longer published lose theirs
+    public void refresh(Collection<Long> eventIds) {
+        if (eventIds.isEmpty()) {
+            return;
+        }
+
+        Map<Long, EventListing> existing = listingRepository.findAllById(eventIds).stream()
+                .collect(Collectors.toMap(EventListing::getId, Function.identity()));
+        Map<Long, List<EventTicketAvailability>> tickets = ticketsByEvent(eventIds);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<EventListing> rows = new ArrayList<>();
+        for (EventListingSource source : eventRepository.findListingSources(eventIds)) {
+            EventListing row = existing.remove(source.getId());
+            if (row == null) {
+                row = EventListing.builder().id(source.getId()).build();
+            }
+            row.setTitle(source.getTitle());
+            row.setDescription(source.getDescription());
+            row.setLocation(source.getLocation());
+            row.setStartDate(source.getStartDate());
+            row.setEndDate(source.getEndDate());
+            row.setBasePrice(source.getBasePrice());
+            row.setImageUrl(source.getImageUrl());
+            row.setCategoryId(source.getCategoryId());
+            row.setCategoryName(source.getCategoryName());
+            row.setOrganizerId(source.getOrganizerId());
+            row.setOrganizerName(source.getOrganizerName());
+            row.setCreatedAt(source.getCreatedAt());
+            applyTickets(row, tickets.getOrDefault(source.getId(), List.of()), now);
+            rows.add(row);
+        }
+
+        listingRepository.saveAll(rows);
+        // Whatever is left was unpublished or deleted
+        listingRepository.deleteAll(existing.values());
+
+        List<IndexedEvent> indexed = rows.stream().map(IndexedEvent::of).toList();
+        Set<Long> listed = rows.stream().map(EventListing::getId).collect(Collectors.toSet());
+        List<Long> unlisted = eventIds.stream().filter(eventId -> !listed.contains(eventId)).toList();
+        afterCommit(() -> {
+            indexed.forEach(eventSearchIndex::put);
+            unlisted.forEach(eventSearchIndex::remove);
+            indexed.forEach(eventSuggester::put);
+            unlisted.forEach(eventSuggester::remove);
+            indexed.forEach(categoryFacetCounts::put);
+            unlisted.forEach(categoryFacetCounts::remove);
+        });
+    }
+
+    public void renameCategory(Long categoryId, String name) {
+        listingRepository.updateCategoryName(categoryId, name);
+        if (!eventSearchIndex.isEnabled() && !eventSuggester.isEnabled()) {
+            return;
+        }
+        List<IndexedEvent> indexed = listingRepository.findAllByCategoryId(categoryId).stream()
+                .map(IndexedEvent::of)
+                .toList();
+        afterCommit(() -> {
+            indexed.forEach(eventSearchIndex::put);
+            indexed.forEach(eventSuggester::put);
+        });
+    }
+
+    // Called from the booking path; the count is copied by syncAvailability once the booking commits
+    public void markAvailabilityChanged(Long eventId) {
+        afterCommit(() -> staleAvailability.add(eventId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.event-listing.availability-sync-ms:5000}")
+    public void syncAvailability() {
+        if (staleAvailability.isEmpty()) {
+            return;
+        }
+
+        List<Long> eventIds = new ArrayList<>(staleAvailability);
+        staleAvailability.removeAll(eventIds);
+        for (int from = 0; from < eventIds.size(); from += properties.getRebuildChunkSize()) {
+            List<Long> chunk = eventIds.subList(from, Math.min(from + properties.getRebuildChunkSize(), eventIds.size()));
+            try {
+                List<IndexedEvent> synced = transactionTemplate.execute(status -> {
+                    Map<Long, List<EventTicketAvailability>> tickets = ticketsByEvent(chunk);
+                    LocalDateTime now = LocalDateTime.now();
+                    List<IndexedEvent> rows = new ArrayList<>();
+                    for (EventListing row : listingRepository.findAllById(chunk)) {
+                        applyTickets(row, tickets.getOrDefault(row.getId(), List.of()), now);
+                        rows.add(IndexedEvent.of(row));
+                    }
+                    return rows;
+                });
+                // Sold counts drive suggestion popularity
+                if (synced != null) {
+                    synced.forEach(eventSuggester::put);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Event listing availability sync failed for {} events, retrying next run", chunk.size(), e);
+                staleAvailability.addAll(chunk);
+            }
+        }
+        log.debug("Synced event listing availability for {} events", eventIds.size());
+    }
+
+    // Recovery: recomputes every row in place, so browsing keeps working while it runs
+    public int rebuild() {
+        int rebuilt = 0;
+        Long afterId = Long.MIN_VALUE;
+        List<Long> eventIds;
+        while (!(eventIds = eventRepository.findPublishedIdsAfter(afterId, Limit.of(properties.getRebuildChunkSize()))).isEmpty()) {
+            List<Long> chunk = eventIds;
+            transactionTemplate.executeWithoutResult(status -> {
+                refresh(chunk);
+                entityManager.flush();
+                entityManager.clear();
+            });
+            rebuilt += chunk.size();
+            afterId = chunk.get(chunk.size() - 1);
+        }
+
+        Integer orphans = transactionTemplate.execute(status -> listingRepository.deleteOrphans());
+        log.info("Rebuilt event listing: {} rows, {} orphaned rows removed", rebuilt, orphans);
+        return rebuilt;
+    }
+
+    // Ahead of the search index, which is built from this table
+    @EventListener(ApplicationReadyEvent.class)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void rebuildWhenEmpty() {
+        if (properties.isRebuildWhenEmpty() && listingRepository.count() == 0 && eventRepository.existsByPublishedTrue()) {
+            log.info("Event listing is empty, building it from published events");
+            rebuild();
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private Map<Long, List<EventTicketAvailability>> ticketsByEvent(Collection<Long> eventIds) {
+        return ticketRepository.findAvailabilityByEventIds(eventIds).stream()
+                .collect(Collectors.groupingBy(EventTicketAvailability::getEventId));
+    }
+
+    private void applyTickets(EventListing row, List<EventTicketAvailability> tickets, LocalDateTime now) {
+        row.setMinTicketPrice(tickets.stream()
+                .map(EventTicketAvailability::getPrice)
+                .filter(Objects::nonNull)
+                .min(BigDecimal::compareTo)
+                .orElse(null));
+        row.setAvailableTickets(tickets.stream()
+                .mapToInt(EventTicketAvailability::getAvailableQuantity)
+                .sum());
+        row.setSoldTickets(tickets.stream()
+                .mapToInt(ticket -> Math.max(0, ticket.getTotalQuantity() - ticket.getAvailableQuantity()))
+                .sum());
+        row.setRefreshedAt(now);
+    }
+}
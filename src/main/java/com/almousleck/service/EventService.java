@@ -1,22 +1,29 @@
 package com.almousleck.service;
 
 import com.almousleck.audit.AuditLogger;
+import com.almousleck.dto.common.CursorPage;
 import com.almousleck.dto.event.*;
 import com.almousleck.exception.BadRequestException;
 import com.almousleck.exception.ResourceNotFoundException;
 import com.almousleck.model.Event;
 import com.almousleck.model.EventCategory;
+import com.almousleck.model.EventListing;
 import com.almousleck.model.Ticket;
 import com.almousleck.model.User;
 import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
 import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.EventRepository.EventSummaryView;
 import com.almousleck.repository.TicketRepository;
 import com.almousleck.repository.UserRepository;
+import com.almousleck.search.EventKeywordSearch;
 import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.Cursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
@@ -24,7 +31,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -37,51 +48,96 @@ public class EventService {
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
     private final AuditLogger auditLogger;
-
-    @Cacheable(value = "events")
+    private final TicketInventoryService ticketInventoryService;
+    private final EventListingCache eventListingCache;
+    private final EventDetailCache eventDetailCache;
+    private final TicketAvailabilityService ticketAvailabilityService;
+    private final EventListingRepository eventListingRepository;
+    private final EventListingProjector eventListingProjector;
+    private final EventKeywordSearch eventKeywordSearch;
+
+    @Cacheable(value = EventListingCache.EVENTS, key = "@eventListingCache.all(#pageable)", sync = true)
     public Page<EventSummaryResponse> getAllEvents(Pageable pageable) {
-        Page<Event> events = eventRepository.findByPublishedTrue(pageable);
+        Page<EventListing> events = eventListingRepository.findAll(pageable);
         return events.map(this::convertToEventSummary);
     }
 
-    @CacheEvict(value = {"events", "upcomingEvents", "eventsByCategory"}, allEntries = true)
+    // Keyset alternative to getAllEvents: no count query and constant cost at any depth
+    public CursorPage<EventSummaryResponse> scrollEvents(String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        List<EventListing> events = after == null
+                ? eventListingRepository.findFirst(Limit.of(limit + 1))
+                : eventListingRepository.findAfter(after.key(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(events, limit, this::cursorOf, this::convertToEventSummary);
+    }
+
+    public CursorPage<EventSummaryResponse> scrollUpcomingEvents(String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        LocalDateTime now = LocalDateTime.now();
+        List<EventListing> events = after == null
+                ? eventListingRepository.findUpcomingFirst(now, Limit.of(limit + 1))
+                : eventListingRepository.findUpcomingAfter(now, after.key(), after.id(), Limit.of(limit + 1));
+        return CursorPage.of(events, limit, this::cursorOf, this::convertToEventSummary);
+    }
+
+    @CacheEvict(value = {EventListingCache.EVENTS, EventListingCache.UPCOMING_EVENTS, EventListingCache.EVENTS_BY_CATEGORY}, allEntries = true)
     public void clearEventCache() {
         log.info("Event caches cleared successfully");
     }
 
-    @Cacheable(value = "eventsByCategory", key = "#categoryId")
+    @Cacheable(value = EventListingCache.EVENTS_BY_CATEGORY, key = "@eventListingCache.byCategory(#categoryId, #pageable)", sync = true)
     public Page<EventSummaryResponse> getEventsByCategory(Long categoryId, Pageable pageable) {
-        EventCategory category = categoryRepository.findById(categoryId)
-                .orElseThrow(() -> new ResourceNotFoundException("EventCategory", "id", categoryId));
+        if (!categoryRepository.existsById(categoryId)) {
+            throw new ResourceNotFoundException("EventCategory", "id", categoryId);
+        }
 
-        Page<Event> events = eventRepository.findByPublishedTrueAndCategory(category, pageable);
+        Page<EventListing> events = eventListingRepository.findByCategoryId(categoryId, pageable);
         return events.map(this::convertToEventSummary);
     }
 
     public Page<EventSummaryResponse> searchEvents(String keyword, Pageable pageable) {
-        Page<Event> events = eventRepository.searchEvents(keyword, pageable);
+        // Unsorted pages come back in relevance order
+        Page<EventListing> events = eventKeywordSearch.search(keyword, pageable);
         return events.map(this::convertToEventSummary);
     }
 
-    @Cacheable(value = "upcomingEvents")
+    @Cacheable(value = EventListingCache.UPCOMING_EVENTS, key = "@eventListingCache.upcoming(#pageable)", sync = true)
     public Page<EventSummaryResponse> getUpcomingEvents(Pageable pageable) {
-        Page<Event> events = eventRepository.findUpcomingEvents(LocalDateTime.now(), pageable);
+        Page<EventListing> events = eventListingRepository.findByStartDateAfter(LocalDateTime.now(), pageable);
         return events.map(this::convertToEventSummary);
     }
 
+    // A cached snapshot and in-memory availability answer without touching the database
     public EventDetailResponse getEventById(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+        EventDetailResponse detail = getEventDetails(eventId);
+
+        if (!detail.isPublished()) {
+            throw new ResourceNotFoundException("Event", "id", eventId);
+        }
+
+        return detail.toBuilder()
+                .tickets(withAvailability(eventId, detail.getTickets()))
+                .build();
+    }
 
-        if (!event.isPublished()) {
+    // Validators for conditional reads: the snapshot version covers event edits, the availability digest covers sales
+    public String getEventDetailTag(Long eventId) {
+        EventDetailCache.Snapshot snapshot = getEventSnapshot(eventId);
+
+        if (!snapshot.detail().isPublished()) {
             throw new ResourceNotFoundException("Event", "id", eventId);
         }
 
-        return convertToEventDetail(event);
+        return eventTag("event", eventId, snapshot.version());
+    }
+
+    public String getEventTicketsTag(Long eventId) {
+        return eventTag("tickets", eventId, getEventSnapshot(eventId).version());
     }
 
     @Transactional
-    @CacheEvict(value = {"events", "upcomingEvents", "eventsByCategory"}, allEntries = true)
     public EventDetailResponse createEvent(UserPrincipal currentUser, CreateEventRequest createEventRequest) {
         User organizer = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUser.getId()));
@@ -107,20 +163,11 @@ public class EventService {
                 .build();
 
         Event savedEvent = eventRepository.save(event);
+        List<Ticket> savedTickets = new ArrayList<>();
 
         // Create tickets for the event
         if (createEventRequest.getTickets() != null && !createEventRequest.getTickets().isEmpty()) {
-            createEventRequest.getTickets().forEach(ticketRequest -> {
-                Ticket ticket = Ticket.builder()
-                        .type(ticketRequest.getType())
-                        .price(ticketRequest.getPrice())
-                        .totalQuantity(ticketRequest.getQuantity())
-                        .availableQuantity(ticketRequest.getQuantity())
-                        .event(savedEvent)
-                        .build();
-
-                ticketRepository.save(ticket);
-            });
+            createEventRequest.getTickets().forEach(ticketRequest -> savedTickets.add(saveNewTicket(savedEvent, ticketRequest)));
         } else {
             // Create a default ticket if none provided
             Ticket defaultTicket = Ticket.builder()
@@ -131,27 +178,35 @@ public class EventService {
                     .event(savedEvent)
                     .build();
 
-            ticketRepository.save(defaultTicket);
+            savedTickets.add(ticketRepository.save(defaultTicket));
         }
 
 
+        if (savedEvent.isPublished()) {
+            eventListingProjector.refresh(savedEvent.getId());
+            eventListingCache.evictListings(category.getId(), savedEvent.getStartDate());
+        }
+
         // Log audit event
         auditLogger.logEvent("CREATE", "Event", savedEvent.getId(), currentUser,
                 "Created event: " + savedEvent.getTitle());
 
-        return convertToEventDetail(savedEvent);
+        return convertToEventDetail(savedEvent, savedTickets);
     }
 
     @Transactional
-    @CacheEvict(value = {"events", "upcomingEvents", "eventsByCategory"}, allEntries = true)
     public EventDetailResponse updateEvent(UserPrincipal currentUser, Long eventId, UpdateEventRequest updateEventRequest) {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findDetailById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
         if (!event.getOrganizer().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("You don't have permission to update this event");
         }
 
+        boolean wasPublished = event.isPublished();
+        Long previousCategoryId = event.getCategory().getId();
+        LocalDateTime previousStartDate = event.getStartDate();
+
         if (updateEventRequest.getTitle() != null) {
             event.setTitle(updateEventRequest.getTitle());
         }
@@ -189,6 +244,24 @@ public class EventService {
         event.setPublished(updateEventRequest.isPublished());
 
         Event updatedEvent = eventRepository.save(event);
+        if (wasPublished || updatedEvent.isPublished()) {
+            eventListingProjector.refresh(updatedEvent.getId());
+        }
+
+        if (wasPublished != updatedEvent.isPublished()
+                || !previousCategoryId.equals(updatedEvent.getCategory().getId())
+                || !previousStartDate.equals(updatedEvent.getStartDate())) {
+            if (wasPublished) {
+                eventListingCache.evictListings(previousCategoryId, previousStartDate);
+            }
+            if (updatedEvent.isPublished()) {
+                eventListingCache.evictListings(updatedEvent.getCategory().getId(), updatedEvent.getStartDate());
+            }
+        } else if (updatedEvent.isPublished()) {
+            eventListingCache.evictContent(updatedEvent);
+        }
+
+        eventDetailCache.invalidate(updatedEvent);
 
         // Log audit event
         auditLogger.logEvent("UPDATE", "Event", updatedEvent.getId(), currentUser,
@@ -198,7 +271,6 @@ public class EventService {
     }
 
     @Transactional
-    @CacheEvict(value = {"events", "upcomingEvents", "eventsByCategory"}, allEntries = true)
     public void deleteEvent(UserPrincipal currentUser, Long eventId) {
         Event event = eventRepository.findById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
@@ -211,27 +283,31 @@ public class EventService {
         auditLogger.logEvent("DELETE", "Event", event.getId(), currentUser,
                 "Deleted event: " + event.getTitle());
 
+        event.getTickets().forEach(ticketInventoryService::evict);
         eventRepository.delete(event);
+        eventDetailCache.remove(event.getId());
+
+        if (event.isPublished()) {
+            eventListingProjector.refresh(event.getId());
+            eventListingCache.evictListings(event.getCategory().getId(), event.getStartDate());
+        }
     }
 
     @Transactional
     public TicketResponse createTicket(UserPrincipal currentUser, Long eventId, CreateTicketRequest createTicketRequest) {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findByIdForTicketChange(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
         if (!event.getOrganizer().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("You don't have permission to add tickets to this event");
         }
 
-        Ticket ticket = Ticket.builder()
-                .type(createTicketRequest.getType())
-                .price(createTicketRequest.getPrice())
-                .totalQuantity(createTicketRequest.getQuantity())
-                .availableQuantity(createTicketRequest.getQuantity())
-                .event(event)
-                .build();
-
-        Ticket savedTicket = ticketRepository.save(ticket);
+        Ticket savedTicket = saveNewTicket(event, createTicketRequest);
+        eventDetailCache.invalidate(event);
+        ticketAvailabilityService.evict(event.getId());
+        if (event.isPublished()) {
+            eventListingProjector.refresh(event.getId());
+        }
 
         // Log audit event
         auditLogger.logEvent("CREATE", "Ticket", savedTicket.getId(), currentUser,
@@ -242,7 +318,7 @@ public class EventService {
                 .type(savedTicket.getType())
                 .price(savedTicket.getPrice())
                 .totalQuantity(savedTicket.getTotalQuantity())
-                .availableQuantity(savedTicket.getAvailableQuantity())
+                .availableQuantity(ticketInventoryService.getAvailableQuantity(savedTicket))
                 .build();
     }
 
@@ -251,7 +327,11 @@ public class EventService {
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new ResourceNotFoundException("Ticket", "id", ticketId));
 
-        if (!ticket.getEvent().getOrganizer().getId().equals(currentUser.getId())) {
+        // Loaded before anything touches the ticket's event proxy, so the version bump applies
+        Event event = eventRepository.findByIdForTicketChange(ticket.getEvent().getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", ticket.getEvent().getId()));
+
+        if (!event.getOrganizer().getId().equals(currentUser.getId())) {
             throw new AccessDeniedException("You don't have permission to update this ticket");
         }
 
@@ -265,15 +345,19 @@ public class EventService {
 
         if (updateTicketRequest.getQuantity() != null) {
             int additionalQuantity = updateTicketRequest.getQuantity() - ticket.getTotalQuantity();
+            ticketInventoryService.adjustCapacity(ticket, additionalQuantity);
             ticket.setTotalQuantity(updateTicketRequest.getQuantity());
-            ticket.setAvailableQuantity(ticket.getAvailableQuantity() + additionalQuantity);
+        }
 
-            if (ticket.getAvailableQuantity() < 0) {
-                throw new BadRequestException("Cannot reduce quantity below the number of tickets already sold");
-            }
+        if (updateTicketRequest.getShardCount() != null) {
+            ticketInventoryService.reshard(ticket, updateTicketRequest.getShardCount());
         }
 
         Ticket updatedTicket = ticketRepository.save(ticket);
+        eventDetailCache.invalidate(event);
+        if (event.isPublished()) {
+            eventListingProjector.refresh(event.getId());
+        }
 
         // Log audit event
         auditLogger.logEvent("UPDATE", "Ticket", updatedTicket.getId(), currentUser,
@@ -284,39 +368,27 @@ public class EventService {
                 .type(updatedTicket.getType())
                 .price(updatedTicket.getPrice())
                 .totalQuantity(updatedTicket.getTotalQuantity())
-                .availableQuantity(updatedTicket.getAvailableQuantity())
+                .availableQuantity(ticketInventoryService.getAvailableQuantity(updatedTicket))
                 .build();
     }
 
+    // Counts come from the availability snapshot, at most max-staleness-ms behind the database
     public List<TicketResponse> getEventTickets(Long eventId) {
-        Event event = eventRepository.findById(eventId)
-                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
-
-        List<Ticket> tickets = ticketRepository.findByEvent(event);
-
-        return tickets.stream()
-                .map(ticket -> TicketResponse.builder()
-                        .id(ticket.getId())
-                        .type(ticket.getType())
-                        .price(ticket.getPrice())
-                        .totalQuantity(ticket.getTotalQuantity())
-                        .availableQuantity(ticket.getAvailableQuantity())
-                        .build())
-                .collect(Collectors.toList());
+        return withAvailability(eventId, getEventDetails(eventId).getTickets());
     }
 
     public Page<EventSummaryResponse> getOrganizerEvents(UserPrincipal currentUser, Pageable pageable) {
-        User organizer = userRepository.findById(currentUser.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUser.getId()));
+        if (!userRepository.existsById(currentUser.getId())) {
+            throw new ResourceNotFoundException("User", "id", currentUser.getId());
+        }
 
-        Page<Event> events = eventRepository.findByOrganizer(organizer, pageable);
+        Page<EventSummaryView> events = eventRepository.findSummariesByOrganizerId(currentUser.getId(), pageable);
         return events.map(this::convertToEventSummary);
     }
 
     @Transactional
-    @CacheEvict(value = {"events", "upcomingEvents", "eventsByCategory"}, allEntries = true)
     public EventDetailResponse publishEvent(UserPrincipal currentUser, Long eventId) {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findDetailById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
         if (!event.getOrganizer().getId().equals(currentUser.getId()) &&
@@ -326,6 +398,9 @@ public class EventService {
 
         event.setPublished(true);
         Event updatedEvent = eventRepository.save(event);
+        eventListingProjector.refresh(updatedEvent.getId());
+        eventListingCache.evictListings(updatedEvent.getCategory().getId(), updatedEvent.getStartDate());
+        eventDetailCache.invalidate(updatedEvent);
 
         // Log audit event
         auditLogger.logEvent("PUBLISH", "Event", updatedEvent.getId(), currentUser,
@@ -335,9 +410,8 @@ public class EventService {
     }
 
     @Transactional
-    @CacheEvict(value = {"events", "upcomingEvents", "eventsByCategory"}, allEntries = true)
     public EventDetailResponse unpublishEvent(UserPrincipal currentUser, Long eventId) {
-        Event event = eventRepository.findById(eventId)
+        Event event = eventRepository.findDetailById(eventId)
                 .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
 
         if (!event.getOrganizer().getId().equals(currentUser.getId()) &&
@@ -347,6 +421,9 @@ public class EventService {
 
         event.setPublished(false);
         Event updatedEvent = eventRepository.save(event);
+        eventListingProjector.refresh(updatedEvent.getId());
+        eventListingCache.evictListings(updatedEvent.getCategory().getId(), updatedEvent.getStartDate());
+        eventDetailCache.invalidate(updatedEvent);
 
         // Log audit event
         auditLogger.logEvent("UNPUBLISH", "Event", updatedEvent.getId(), currentUser,
@@ -355,7 +432,71 @@ public class EventService {
         return convertToEventDetail(updatedEvent);
     }
 
-    private EventSummaryResponse convertToEventSummary(Event event) {
+    private Ticket saveNewTicket(Event event, CreateTicketRequest ticketRequest) {
+        Ticket ticket = Ticket.builder()
+                .type(ticketRequest.getType())
+                .price(ticketRequest.getPrice())
+                .totalQuantity(ticketRequest.getQuantity())
+                .availableQuantity(ticketRequest.getQuantity())
+                .shardCount(ticketRequest.getShardCount() != null ? ticketRequest.getShardCount() : 1)
+                .event(event)
+                .build();
+
+        Ticket savedTicket = ticketRepository.save(ticket);
+        ticketInventoryService.initialize(savedTicket);
+        return savedTicket;
+    }
+
+    private EventDetailCache.Snapshot loadEventDetails(Long eventId) {
+        Event event = eventRepository.findDetailById(eventId)
+                .orElseThrow(() -> new ResourceNotFoundException("Event", "id", eventId));
+
+        List<TicketResponse> tickets = event.getTickets().stream()
+                .sorted(Comparator.comparing(Ticket::getId))
+                .map(ticket -> TicketResponse.builder()
+                        .id(ticket.getId())
+                        .type(ticket.getType())
+                        .price(ticket.getPrice())
+                        .totalQuantity(ticket.getTotalQuantity())
+                        .build())
+                .collect(Collectors.toList());
+
+        EventDetailCache.Snapshot snapshot = new EventDetailCache.Snapshot(event.getVersion(),
+                convertToEventDetail(event, tickets));
+        eventDetailCache.putDetails(eventId, snapshot);
+        return snapshot;
+    }
+
+    private EventDetailCache.Snapshot getEventSnapshot(Long eventId) {
+        return eventDetailCache.getDetails(eventId)
+                .orElseGet(() -> loadEventDetails(eventId));
+    }
+
+    private EventDetailResponse getEventDetails(Long eventId) {
+        return getEventSnapshot(eventId).detail();
+    }
+
+    private String eventTag(String resource, Long eventId, long version) {
+        return resource + "-" + eventId + "-" + version + "-" + ticketAvailabilityService.getAvailabilityTag(eventId);
+    }
+
+    private List<TicketResponse> withAvailability(Long eventId, List<TicketResponse> tickets) {
+        Map<Long, Integer> snapshot = ticketAvailabilityService.getAvailability(eventId);
+        // A miss here means the snapshot was taken just before a ticket was added
+        Map<Long, Integer> availability = tickets.stream().allMatch(ticket -> snapshot.containsKey(ticket.getId()))
+                ? snapshot
+                : ticketAvailabilityService.refresh(eventId);
+
+        return tickets.stream()
+                .map(ticket -> ticket.toBuilder().availableQuantity(availability.get(ticket.getId())).build())
+                .collect(Collectors.toList());
+    }
+
+    private Cursor cursorOf(EventListing event) {
+        return new Cursor(event.getStartDate(), event.getId());
+    }
+
+    private EventSummaryResponse convertToEventSummary(EventListing event) {
         return EventSummaryResponse.builder()
                 .id(event.getId())
                 .title(event.getTitle())
@@ -364,25 +505,52 @@ public class EventService {
                 .endDate(event.getEndDate())
                 .basePrice(event.getBasePrice())
                 .imageUrl(event.getImageUrl())
-                .categoryId(event.getCategory().getId())
-                .categoryName(event.getCategory().getName())
-                .organizerId(event.getOrganizer().getId())
-                .organizerName(event.getOrganizer().getName())
-                .status(event.isPublished() ? "PUBLISHED" : "DRAFT")
+                .categoryId(event.getCategoryId())
+                .categoryName(event.getCategoryName())
+                .organizerId(event.getOrganizerId())
+                .organizerName(event.getOrganizerName())
+                .status("PUBLISHED")
+                .minTicketPrice(event.getMinTicketPrice())
+                .availableTickets(event.getAvailableTickets())
                 .build();
     }
 
+    private EventSummaryResponse convertToEventSummary(EventSummaryView event) {
+        return EventSummaryResponse.builder()
+                .id(event.getId())
+                .title(event.getTitle())
+                .location(event.getLocation())
+                .startDate(event.getStartDate())
+                .endDate(event.getEndDate())
+                .basePrice(event.getBasePrice())
+                .imageUrl(event.getImageUrl())
+                .categoryId(event.getCategoryId())
+                .categoryName(event.getCategoryName())
+                .organizerId(event.getOrganizerId())
+                .organizerName(event.getOrganizerName())
+                .status(event.getPublished() ? "PUBLISHED" : "DRAFT")
+                .build();
+    }
+
+    // Expects the event loaded through the Event.detail graph, so its tickets are already in memory
     private EventDetailResponse convertToEventDetail(Event event) {
-        List<TicketResponse> tickets = ticketRepository.findByEvent(event).stream()
+        return convertToEventDetail(event, event.getTickets());
+    }
+
+    private EventDetailResponse convertToEventDetail(Event event, Collection<Ticket> tickets) {
+        return convertToEventDetail(event, tickets.stream()
+                .sorted(Comparator.comparing(Ticket::getId))
                 .map(ticket -> TicketResponse.builder()
                         .id(ticket.getId())
                         .type(ticket.getType())
                         .price(ticket.getPrice())
                         .totalQuantity(ticket.getTotalQuantity())
-                        .availableQuantity(ticket.getAvailableQuantity())
+                        .availableQuantity(ticketInventoryService.getAvailableQuantity(ticket))
                         .build())
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
+    }
 
+    private EventDetailResponse convertToEventDetail(Event event, List<TicketResponse> tickets) {
         return EventDetailResponse.builder()
                 .id(event.getId())
                 .title(event.getTitle())
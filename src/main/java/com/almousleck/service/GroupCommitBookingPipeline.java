@@ -0,0 +1,166 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.booking.BookingDetailResponse;
+import com.almousleck.dto.booking.CreateBookingRequest;
+import com.almousleck.exception.AppException;
+import com.almousleck.security.UserPrincipal;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Coalesces concurrent bookings of the same ticket into one transaction per short time window
+@Service
+@Slf4j
+public class GroupCommitBookingPipeline {
+
+    private final BookingService bookingService;
+    private final AppProperties.Booking.GroupCommit settings;
+    private final Map<Long, Batch> openBatches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService executor;
+
+    public GroupCommitBookingPipeline(BookingService bookingService, AppProperties appProperties) {
+        this.bookingService = bookingService;
+        this.settings = appProperties.getBooking().getGroupCommit();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = Executors.newScheduledThreadPool(Math.max(1, settings.getWorkers()), runnable -> {
+            Thread thread = new Thread(runnable, "BookingGroupCommit-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public boolean isEnabled() {
+        return settings.isEnabled();
+    }
+
+    public BookingDetailResponse submit(UserPrincipal currentUser, CreateBookingRequest createBookingRequest) {
+        Pending pending = new Pending(new BookingService.BatchBooking(currentUser, createBookingRequest),
+                new CompletableFuture<>());
+        Batch batch = enqueue(createBookingRequest.getTicketId(), pending);
+
+        try {
+            try {
+                return pending.result().get(settings.getTimeoutMs(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Still queued means nothing was booked, so the request is withdrawn and safe to retry.
+                // Once drained its transaction is running and may commit, so the caller waits for the outcome.
+                if (withdraw(batch, pending)) {
+                    throw new AppException("Booking could not be processed in time, please retry");
+                }
+                return pending.result().get();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new AppException("Booking failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException("Booking was interrupted");
+        }
+    }
+
+    // Requests waiting in the open batch for a ticket
+    int queued(Long ticketId) {
+        Batch batch = openBatches.get(ticketId);
+        if (batch == null) {
+            return 0;
+        }
+        synchronized (batch) {
+            return batch.closed ? 0 : batch.items.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private Batch enqueue(Long ticketId, Pending pending) {
+        while (true) {
+            Batch batch = openBatches.computeIfAbsent(ticketId, id -> {
+                Batch created = new Batch(id);
+                executor.schedule(() -> drain(created), settings.getWindowMs(), TimeUnit.MILLISECONDS);
+                return created;
+            });
+
+            synchronized (batch) {
+                if (batch.closed) {
+                    // Lost the race with the drain; open a fresh batch
+                    continue;
+                }
+                batch.items.add(pending);
+                if (batch.items.size() >= settings.getMaxBatchSize()) {
+                    executor.execute(() -> drain(batch));
+                }
+                return batch;
+            }
+        }
+    }
+
+    private boolean withdraw(Batch batch, Pending pending) {
+        synchronized (batch) {
+            return !batch.closed && batch.items.remove(pending);
+        }
+    }
+
+    private void drain(Batch batch) {
+        List<Pending> items;
+        synchronized (batch) {
+            if (batch.closed) {
+                return;
+            }
+            batch.closed = true;
+            items = batch.items;
+        }
+        openBatches.remove(batch.ticketId, batch);
+        if (items.isEmpty()) {
+            // Every request in it timed out and was withdrawn
+            return;
+        }
+
+        try {
+            List<BookingService.BatchOutcome> outcomes = bookingService.createBookingBatch(batch.ticketId,
+                    items.stream().map(Pending::booking).toList());
+
+            for (int i = 0; i < items.size(); i++) {
+                BookingService.BatchOutcome outcome = outcomes.get(i);
+                if (outcome.error() != null) {
+                    items.get(i).result().completeExceptionally(outcome.error());
+                } else {
+                    items.get(i).result().complete(outcome.booking());
+                }
+            }
+        } catch (RuntimeException e) {
+            log.debug("Booking batch of {} for ticket {} failed", items.size(), batch.ticketId, e);
+            items.forEach(item -> item.result().completeExceptionally(e));
+        }
+    }
+
+    private record Pending(BookingService.BatchBooking booking, CompletableFuture<BookingDetailResponse> result) {
+    }
+
+    private static final class Batch {
+        private final Long ticketId;
+        private final List<Pending> items = new ArrayList<>();
+        private boolean closed;
+
+        private Batch(Long ticketId) {
+            this.ticketId = ticketId;
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.exception.AppException;
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.model.IdempotencyRecord;
+import com.almousleck.repository.IdempotencyRecordRepository;
+import com.almousleck.security.UserPrincipal;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// Runs a client request at most once per Idempotency-Key and replays the stored response for retries
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final ObjectMapper objectMapper;
+    private final AppProperties.Idempotency properties;
+    private final Map<String, StoredResponse> recentResponses;
+    private final Map<String, CompletableFuture<StoredResponse>> inFlight = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Autowired
+    public IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                              ObjectMapper objectMapper,
+                              AppProperties appProperties) {
+        this(idempotencyRecordRepository, objectMapper, appProperties, Clock.systemDefaultZone());
+    }
+
+    IdempotencyService(IdempotencyRecordRepository idempotencyRecordRepository,
+                       ObjectMapper objectMapper,
+                       AppProperties appProperties,
+                       Clock clock) {
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.clock = clock;
+        this.objectMapper = objectMapper;
+        this.properties = appProperties.getIdempotency();
+        int cacheSize = properties.getCacheSize();
+        this.recentResponses = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    public <T> T execute(String idempotencyKey, UserPrincipal currentUser, String operation, Object request,
+                         Class<T> responseType, Supplier<T> action) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) {
+            return action.get();
+        }
+        if (idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new BadRequestException("Idempotency-Key must be at most " + MAX_KEY_LENGTH + " characters");
+        }
+
+        String cacheKey = operation + ":" + currentUser.getId() + ":" + idempotencyKey;
+        String requestHash = hash(request);
+
+        StoredResponse cached = recentResponses.get(cacheKey);
+        if (cached != null && cached.isExpired(expiryCutoff())) {
+            recentResponses.remove(cacheKey, cached);
+            cached = null;
+        }
+        if (cached != null) {
+            return replay(cached, requestHash, responseType);
+        }
+
+        // A retry that arrives while the first attempt is still running on this node waits for its result
+        CompletableFuture<StoredResponse> future = new CompletableFuture<>();
+        CompletableFuture<StoredResponse> running = inFlight.putIfAbsent(cacheKey, future);
+        if (running != null) {
+            return replay(await(running), requestHash, responseType);
+        }
+
+        try {
+            // The claim row is committed before the action runs, so a duplicate on another node,
+            // or a retry after this node died mid-request, finds it instead of booking again
+            IdempotencyRecord claim = claim(currentUser.getId(), operation, idempotencyKey, requestHash);
+            if (claim == null) {
+                StoredResponse stored = awaitOtherRequest(currentUser.getId(), operation, idempotencyKey, requestHash);
+                recentResponses.put(cacheKey, stored);
+                future.complete(stored);
+                return replay(stored, requestHash, responseType);
+            }
+
+            T response;
+            try {
+                response = action.get();
+            } catch (RuntimeException e) {
+                // Nothing was committed, so the key is free for the client to retry
+                idempotencyRecordRepository.delete(claim);
+                throw e;
+            }
+            StoredResponse stored = complete(claim, toJson(response));
+            recentResponses.put(cacheKey, stored);
+            future.complete(stored);
+            return response;
+        } catch (RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(cacheKey, future);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.idempotency.cleanup-interval-ms:3600000}")
+    public void purgeExpiredKeys() {
+        int deleted = idempotencyRecordRepository.deleteCreatedBefore(expiryCutoff());
+        if (deleted > 0) {
+            log.info("Purged {} expired idempotency keys", deleted);
+        }
+    }
+
+    // Inserts a pending row under the unique key; null when another request holds it
+    private IdempotencyRecord claim(Long userId, String operation, String idempotencyKey, String requestHash) {
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                return idempotencyRecordRepository.saveAndFlush(IdempotencyRecord.builder()
+                        .idempotencyKey(idempotencyKey)
+                        .userId(userId)
+                        .operation(operation)
+                        .requestHash(requestHash)
+                        .status(IdempotencyRecord.Status.PENDING)
+                        .build());
+            } catch (DataIntegrityViolationException e) {
+                IdempotencyRecord existing = idempotencyRecordRepository
+                        .findByUserIdAndOperationAndIdempotencyKey(userId, operation, idempotencyKey)
+                        .orElse(null);
+                if (existing != null && !isExpired(existing)) {
+                    return null;
+                }
+                // Gone or past its TTL but not purged yet: the key is free again
+                if (existing != null) {
+                    idempotencyRecordRepository.delete(existing);
+                }
+            }
+        }
+        throw new AppException("Could not claim idempotency key, please retry");
+    }
+
+    private StoredResponse complete(IdempotencyRecord claim, String responseBody) {
+        claim.setResponseBody(responseBody);
+        claim.setStatus(IdempotencyRecord.Status.COMPLETED);
+        IdempotencyRecord completed = idempotencyRecordRepository.save(claim);
+        return StoredResponse.of(completed, clock);
+    }
+
+    // Polls the row another request claimed until it holds a response
+    private StoredResponse awaitOtherRequest(Long userId, String operation, String idempotencyKey, String requestHash) {
+        long deadline = clock.millis() + properties.getWaitTimeoutMs();
+        while (true) {
+            IdempotencyRecord record = idempotencyRecordRepository
+                    .findByUserIdAndOperationAndIdempotencyKey(userId, operation, idempotencyKey)
+                    .orElseThrow(() -> new AppException("Original request failed, please retry"));
+            if (!record.getRequestHash().equals(requestHash)) {
+                throw new BadRequestException("Idempotency-Key has already been used for a different request");
+            }
+            if (!record.isPending()) {
+                return StoredResponse.of(record, clock);
+            }
+            // A claim left by a node that died mid-request stays pending until it expires, since
+            // whether its booking committed is unknown
+            if (clock.millis() >= deadline) {
+                throw new AppException("Original request is still in progress, please retry later");
+            }
+            try {
+                Thread.sleep(properties.getPollIntervalMs());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new AppException("Interrupted while waiting for the original request", e);
+            }
+        }
+    }
+
+    private boolean isExpired(IdempotencyRecord record) {
+        return record.getCreatedAt() != null && record.getCreatedAt().isBefore(expiryCutoff());
+    }
+
+    private LocalDateTime expiryCutoff() {
+        return LocalDateTime.now(clock).minusHours(properties.getTtlHours());
+    }
+
+    private <T> T replay(StoredResponse stored, String requestHash, Class<T> responseType) {
+        if (!stored.requestHash().equals(requestHash)) {
+            throw new BadRequestException("Idempotency-Key has already been used for a different request");
+        }
+        try {
+            return objectMapper.readValue(stored.responseBody(), responseType);
+        } catch (JsonProcessingException e) {
+            throw new AppException("Could not read stored response", e);
+        }
+    }
+
+    private StoredResponse await(CompletableFuture<StoredResponse> running) {
+        try {
+            return running.get(properties.getWaitTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new AppException("Original request failed", e.getCause());
+        } catch (TimeoutException e) {
+            throw new AppException("Original request is still in progress, please retry later", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AppException("Interrupted while waiting for the original request", e);
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(toJson(request).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AppException("SHA-256 is not available", e);
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new AppException("Could not serialize response", e);
+        }
+    }
+
+    private record StoredResponse(String requestHash, String responseBody, LocalDateTime createdAt) {
+
+        static StoredResponse of(IdempotencyRecord record, Clock clock) {
+            LocalDateTime createdAt = record.getCreatedAt() != null ? record.getCreatedAt() : LocalDateTime.now(clock);
+            return new StoredResponse(record.getRequestHash(), record.getResponseBody(), createdAt);
+        }
+
+        boolean isExpired(LocalDateTime cutoff) {
+            return createdAt.isBefore(cutoff);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.almousleck.service;
 
+import com.almousleck.dto.common.CursorPage;
 import com.almousleck.dto.notification.NotificationResponse;
 import com.almousleck.exception.ResourceNotFoundException;
 import com.almousleck.model.Notification;
@@ -7,13 +8,17 @@ import com.almousleck.model.User;
 import com.almousleck.repository.NotificationRepository;
 import com.almousleck.repository.UserRepository;
 import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.Cursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 @Service
 @RequiredArgsConstructor
 public class NotificationService {
@@ -35,6 +40,29 @@ public class NotificationService {
         return notifications.map(this::convertToNotificationResponse);
     }
 
+    // Keyset feed, newest first; cost does not grow with how far the client has scrolled
+    public CursorPage<NotificationResponse> scrollUserNotifications(UserPrincipal currentUser, boolean unreadOnly,
+                                                                    String cursor, int size) {
+        Cursor after = Cursor.decode(cursor);
+        int limit = Cursor.clampSize(size);
+        Long userId = currentUser.getId();
+
+        List<Notification> notifications;
+        if (unreadOnly) {
+            notifications = after == null
+                    ? notificationRepository.findFeedFirstByRead(userId, false, Limit.of(limit + 1))
+                    : notificationRepository.findFeedAfterByRead(userId, false, after.key(), after.id(), Limit.of(limit + 1));
+        } else {
+            notifications = after == null
+                    ? notificationRepository.findFeedFirst(userId, Limit.of(limit + 1))
+                    : notificationRepository.findFeedAfter(userId, after.key(), after.id(), Limit.of(limit + 1));
+        }
+
+        return CursorPage.of(notifications, limit,
+                notification -> new Cursor(notification.getCreatedAt(), notification.getId()),
+                this::convertToNotificationResponse);
+    }
+
     public long getUnreadCount(UserPrincipal currentUser) {
         User user = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUser.getId()));
@@ -7,6 +7,7 @@ import com.almousleck.exception.BadRequestException;
 import com.almousleck.exception.ResourceNotFoundException;
 import com.almousleck.model.*;
 import com.almousleck.repository.*;
+import com.almousleck.repository.EventRepository.EventSummaryView;
 import com.almousleck.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
@@ -32,6 +33,7 @@ public class OrganizerService {
     private final EmailService emailService;
     private final EventRepository eventRepository;
     private final BookingRepository bookingRepository;
+    private final EventListingRepository eventListingRepository;
 
     @Transactional
     public OrganizerApplicationResponse applyForOrganizerRole(UserPrincipal currentUser, OrganizerApplicationRequest request) {
@@ -130,7 +132,7 @@ public class OrganizerService {
 
     public Page<EventSummaryResponse> getOrganizerEvents(UserPrincipal currentUser, Pageable pageable) {
         User user = getUserById(currentUser.getId());
-        Page<Event> events = eventRepository.findByOrganizerId(user.getId(), pageable);
+        Page<EventSummaryView> events = eventRepository.findSummariesByOrganizerId(user.getId(), pageable);
         return events.map(this::convertToEventSummaryResponse);
     }
 
@@ -157,6 +159,9 @@ public class OrganizerService {
         User user = getUserById(currentUser.getId());
 
         // Update user basic info
+        if (!request.getName().equals(user.getName())) {
+            eventListingRepository.updateOrganizerName(user.getId(), request.getName());
+        }
         user.setName(request.getName());
         if (request.getEmail() != null && !request.getEmail().equals(user.getEmail())) {
             user.setEmail(request.getEmail());
@@ -191,13 +196,13 @@ public class OrganizerService {
     public Page<EventSummaryResponse> getEventsByStatus(UserPrincipal currentUser, String status, Pageable pageable) {
         User user = getUserById(currentUser.getId());
 
-        Page<Event> events;
+        Page<EventSummaryView> events;
         if ("published".equalsIgnoreCase(status)) {
-            events = eventRepository.findByOrganizerIdAndPublished(user.getId(), true, pageable);
+            events = eventRepository.findSummariesByOrganizerIdAndPublished(user.getId(), true, pageable);
         } else if ("draft".equalsIgnoreCase(status)) {
-            events = eventRepository.findByOrganizerIdAndPublished(user.getId(), false, pageable);
+            events = eventRepository.findSummariesByOrganizerIdAndPublished(user.getId(), false, pageable);
         } else {
-            events = eventRepository.findByOrganizerId(user.getId(), pageable);
+            events = eventRepository.findSummariesByOrganizerId(user.getId(), pageable);
         }
 
         return events.map(this::convertToEventSummaryResponse);
@@ -262,7 +267,7 @@ public class OrganizerService {
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", userId));
     }
 
-    private EventSummaryResponse convertToEventSummaryResponse(Event event) {
+    private EventSummaryResponse convertToEventSummaryResponse(EventSummaryView event) {
         return EventSummaryResponse.builder()
                 .id(event.getId())
                 .title(event.getTitle())
@@ -271,11 +276,11 @@ public class OrganizerService {
                 .endDate(event.getEndDate())
                 .basePrice(event.getBasePrice())
                 .imageUrl(event.getImageUrl())
-                .categoryId(event.getCategory().getId())
-                .categoryName(event.getCategory().getName())
-                .organizerId(event.getOrganizer().getId())
-                .organizerName(event.getOrganizer().getName())
-                .status(event.isPublished() ? "PUBLISHED" : "DRAFT")
+                .categoryId(event.getCategoryId())
+                .categoryName(event.getCategoryName())
+                .organizerId(event.getOrganizerId())
+                .organizerName(event.getOrganizerName())
+                .status(event.getPublished() ? "PUBLISHED" : "DRAFT")
                 .build();
     }
 
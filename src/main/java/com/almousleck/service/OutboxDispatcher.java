@@ -0,0 +1,250 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.Booking;
+import com.almousleck.model.Event;
+import com.almousleck.model.Notification;
+import com.almousleck.model.OutboxMessage;
+import com.almousleck.model.User;
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.repository.OutboxMessageRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Drains the outbox written by booking transactions and fans each message out to
+// notifications, audit and email. Delivery is at least once: a step can repeat after a crash.
+// Email is sent after the claiming transaction commits, so a slow mail server never holds row locks.
+@Component
+@Slf4j
+public class OutboxDispatcher {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final OutboxService outboxService;
+    private final BookingRepository bookingRepository;
+    private final EmailService emailService;
+    private final NotificationService notificationService;
+    private final AuditLogger auditLogger;
+    private final AppProperties.Outbox properties;
+    private final TransactionTemplate batchTransaction;
+    private final TransactionTemplate stepTransaction;
+
+    public OutboxDispatcher(OutboxMessageRepository outboxMessageRepository,
+                            OutboxService outboxService,
+                            BookingRepository bookingRepository,
+                            EmailService emailService,
+                            NotificationService notificationService,
+                            AuditLogger auditLogger,
+                            PlatformTransactionManager transactionManager,
+                            AppProperties appProperties) {
+        this.outboxMessageRepository = outboxMessageRepository;
+        this.outboxService = outboxService;
+        this.bookingRepository = bookingRepository;
+        this.emailService = emailService;
+        this.notificationService = notificationService;
+        this.auditLogger = auditLogger;
+        this.properties = appProperties.getOutbox();
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.stepTransaction = new TransactionTemplate(transactionManager);
+        this.stepTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval-ms:1000}")
+    public void dispatch() {
+        // Keep going while batches come back full
+        boolean full;
+        do {
+            Batch batch = batchTransaction.execute(status -> claimBatch());
+            batch.emails().forEach(this::sendEmail);
+            full = batch.full();
+        } while (full);
+    }
+
+    // Runs the transactional steps under SKIP LOCKED and leases the messages still owing an email
+    private Batch claimBatch() {
+        LocalDateTime now = LocalDateTime.now();
+        List<OutboxMessage> messages = outboxMessageRepository.findDueForUpdate(now, PageRequest.of(0, properties.getBatchSize()));
+        List<PendingEmail> emails = new ArrayList<>();
+
+        for (OutboxMessage message : messages) {
+            try {
+                List<Booking> bookings = deliver(message);
+                if (bookings.isEmpty() || isDone(message, Step.EMAIL)) {
+                    outboxMessageRepository.delete(message);
+                } else {
+                    // Other dispatchers skip the message until the send below has had time to finish
+                    message.setNextAttemptAt(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(2 * properties.getEmailTimeoutMs())));
+                    emails.add(new PendingEmail(message.getId(), message.getType(), bookings));
+                }
+            } catch (Exception e) {
+                fail(message, e, now);
+            }
+        }
+        return new Batch(emails, messages.size() == properties.getBatchSize());
+    }
+
+    private List<Booking> deliver(OutboxMessage message) {
+        List<Booking> bookings = bookingRepository.findAllWithDetailsByIdIn(outboxService.readBookingIds(message));
+        if (bookings.isEmpty()) {
+            return bookings;
+        }
+
+        if (!isDone(message, Step.NOTIFICATIONS)) {
+            // Notifications commit on their own so a failure here cannot roll back the batch
+            stepTransaction.executeWithoutResult(status -> notify(message.getType(), bookings));
+            markDone(message, Step.NOTIFICATIONS);
+        }
+        if (!isDone(message, Step.AUDIT)) {
+            audit(message.getType(), bookings);
+            markDone(message, Step.AUDIT);
+        }
+        return bookings;
+    }
+
+    // Sends outside any transaction, then records the outcome in a short one of its own
+    private void sendEmail(PendingEmail pending) {
+        Exception failure = null;
+        try {
+            email(pending.type(), pending.bookings()).get(properties.getEmailTimeoutMs(), TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            failure = e;
+        }
+
+        Exception result = failure;
+        batchTransaction.executeWithoutResult(status -> outboxMessageRepository.findById(pending.messageId())
+                .ifPresent(message -> {
+                    if (result == null) {
+                        outboxMessageRepository.delete(message);
+                    } else {
+                        fail(message, result, LocalDateTime.now());
+                    }
+                }));
+    }
+
+    private void fail(OutboxMessage message, Exception e, LocalDateTime now) {
+        int attempts = message.getAttempts() + 1;
+        message.setAttempts(attempts);
+        message.setLastError(StringUtils.abbreviate(e.toString(), 1000));
+        if (attempts >= properties.getMaxAttempts()) {
+            message.setNextAttemptAt(null);
+            log.error("Outbox message {} failed {} times and was parked", message.getId(), attempts, e);
+        } else {
+            long backoffMs = Math.min(properties.getMaxBackoffMs(), properties.getBaseBackoffMs() << Math.min(attempts - 1, 20));
+            message.setNextAttemptAt(now.plusNanos(TimeUnit.MILLISECONDS.toNanos(backoffMs)));
+            log.warn("Outbox message {} failed, retrying in {} ms", message.getId(), backoffMs, e);
+        }
+    }
+
+    private boolean isDone(OutboxMessage message, Step step) {
+        return (message.getCompletedSteps() & (1 << step.ordinal())) != 0;
+    }
+
+    private void markDone(OutboxMessage message, Step step) {
+        message.setCompletedSteps(message.getCompletedSteps() | (1 << step.ordinal()));
+    }
+
+    private void notify(OutboxMessage.MessageType type, List<Booking> bookings) {
+        switch (type) {
+            case BOOKING_CREATED -> bookings.forEach(booking -> {
+                Event event = booking.getEvent();
+                notificationService.createNotification(
+                        booking.getUser(),
+                        "Booking Created",
+                        "Your booking for " + event.getTitle() + " has been created. Reference: " + booking.getBookingReference(),
+                        Notification.NotificationType.SUCCESS
+                );
+                notificationService.createNotification(
+                        event.getOrganizer(),
+                        "New Booking",
+                        "A new booking has been made for your event " + event.getTitle() + ". Reference: " + booking.getBookingReference(),
+                        Notification.NotificationType.INFO
+                );
+            });
+            case CART_BOOKING_CREATED -> {
+                notificationService.createNotification(
+                        bookings.get(0).getUser(),
+                        "Booking Created",
+                        "Your booking of " + bookings.size() + " ticket types has been created. References: " + references(bookings),
+                        Notification.NotificationType.SUCCESS
+                );
+                // One notification per organizer involved in the cart
+                bookings.stream()
+                        .collect(Collectors.groupingBy(booking -> booking.getEvent().getOrganizer().getId()))
+                        .values()
+                        .forEach(organizerBookings -> notificationService.createNotification(
+                                organizerBookings.get(0).getEvent().getOrganizer(),
+                                "New Booking",
+                                "New bookings have been made for your events. References: " + references(organizerBookings),
+                                Notification.NotificationType.INFO
+                        ));
+            }
+            case BOOKING_CANCELLED -> bookings.forEach(booking -> {
+                Event event = booking.getEvent();
+                notificationService.createNotification(
+                        booking.getUser(),
+                        "Booking Cancelled",
+                        "Your booking for " + event.getTitle() + " has been cancelled. Reference: " + booking.getBookingReference(),
+                        Notification.NotificationType.INFO
+                );
+                notificationService.createNotification(
+                        event.getOrganizer(),
+                        "Booking Cancelled",
+                        "A booking for your event " + event.getTitle() + " has been cancelled. Reference: " + booking.getBookingReference(),
+                        Notification.NotificationType.INFO
+                );
+            });
+        }
+    }
+
+    private void audit(OutboxMessage.MessageType type, List<Booking> bookings) {
+        User user = bookings.get(0).getUser();
+        switch (type) {
+            case BOOKING_CREATED -> bookings.forEach(booking -> auditLogger.logEvent("CREATE", "Booking", booking.getId(), booking.getUser(),
+                    "Created booking: " + booking.getBookingReference() + " for event: " + booking.getEvent().getTitle()));
+            case CART_BOOKING_CREATED -> auditLogger.logEvent("CREATE", "Booking", bookings.get(0).getId(), user,
+                    "Created cart bookings: " + references(bookings));
+            case BOOKING_CANCELLED -> bookings.forEach(booking -> auditLogger.logEvent("CANCEL", "Booking", booking.getId(), booking.getUser(),
+                    "Cancelled booking: " + booking.getBookingReference()));
+        }
+    }
+
+    private CompletableFuture<?> email(OutboxMessage.MessageType type, List<Booking> bookings) {
+        User user = bookings.get(0).getUser();
+        return switch (type) {
+            case BOOKING_CREATED -> CompletableFuture.allOf(bookings.stream()
+                    .map(booking -> emailService.sendBookingConfirmation(booking.getUser().getEmail(), booking.getUser().getName(), booking))
+                    .toArray(CompletableFuture[]::new));
+            case CART_BOOKING_CREATED -> emailService.sendCartBookingConfirmation(user.getEmail(), user.getName(), bookings);
+            case BOOKING_CANCELLED -> CompletableFuture.allOf(bookings.stream()
+                    .map(booking -> emailService.sendBookingCancellation(booking.getUser().getEmail(), booking.getUser().getName(), booking))
+                    .toArray(CompletableFuture[]::new));
+        };
+    }
+
+    private String references(List<Booking> bookings) {
+        return bookings.stream().map(Booking::getBookingReference).collect(Collectors.joining(", "));
+    }
+
+    private enum Step {
+        NOTIFICATIONS, AUDIT, EMAIL
+    }
+
+    private record PendingEmail(Long messageId, OutboxMessage.MessageType type, List<Booking> bookings) {
+    }
+
+    private record Batch(List<PendingEmail> emails, boolean full) {
+    }
+}
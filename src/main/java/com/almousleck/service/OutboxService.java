@@ -0,0 +1,51 @@
+package com.almousleck.service;
+
+import com.almousleck.exception.AppException;
+import com.almousleck.model.OutboxMessage;
+import com.almousleck.repository.OutboxMessageRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxMessageRepository outboxMessageRepository;
+    private final ObjectMapper objectMapper;
+
+    // Joins the caller's transaction, so side effects are only recorded when the booking itself commits
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publish(OutboxMessage.MessageType type, List<Long> bookingIds) {
+        outboxMessageRepository.save(OutboxMessage.builder()
+                .type(type)
+                .payload(toJson(new BookingPayload(bookingIds)))
+                .nextAttemptAt(LocalDateTime.now())
+                .build());
+    }
+
+    public List<Long> readBookingIds(OutboxMessage message) {
+        try {
+            return objectMapper.readValue(message.getPayload(), BookingPayload.class).bookingIds();
+        } catch (JsonProcessingException e) {
+            throw new AppException("Could not read outbox message " + message.getId(), e);
+        }
+    }
+
+    private String toJson(BookingPayload payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new AppException("Could not write outbox message", e);
+        }
+    }
+
+    private record BookingPayload(List<Long> bookingIds) {
+    }
+}
@@ -24,6 +24,7 @@ public class PaymentService {
     private final PaymentTransactionRepository paymentTransactionRepository;
     private final BookingRepository bookingRepository;
     private final BookingService bookingService;
+    private final ReferenceGenerator referenceGenerator;
 
     @Transactional
     public PaymentResponse initiatePayment(UserPrincipal currentUser, PaymentRequest paymentRequest) {
@@ -44,7 +45,7 @@ public class PaymentService {
         }
 
         // Generate transaction reference
-        String transactionReference = ReferenceGenerator.generateTransactionReference();
+        String transactionReference = referenceGenerator.generateTransactionReference();
 
         // Create payment transaction
         PaymentTransaction transaction = PaymentTransaction.builder()
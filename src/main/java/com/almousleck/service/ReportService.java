@@ -33,6 +33,7 @@ public class ReportService {
     private final EventRepository eventRepository;
     private final BookingRepository bookingRepository;
     private final UserRepository userRepository;
+    private final TicketInventoryService ticketInventoryService;
 
     public byte[] generateEventReport(UserPrincipal currentUser, EventReportRequest request) throws IOException {
         User user = userRepository.findById(currentUser.getId())
@@ -83,7 +84,7 @@ public class ReportService {
                         .sum();
 
                 int availableTickets = event.getTickets().stream()
-                        .mapToInt(ticket -> ticket.getAvailableQuantity())
+                        .mapToInt(ticketInventoryService::getAvailableQuantity)
                         .sum();
 
                 csvPrinter.printRecord(
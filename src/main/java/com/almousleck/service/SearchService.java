@@ -1,29 +1,43 @@
 package com.almousleck.service;
 
+import com.almousleck.config.AppProperties;
 import com.almousleck.dto.search.SearchRequest;
 import com.almousleck.dto.search.SearchResponse;
-import com.almousleck.model.Event;
-import com.almousleck.model.EventCategory;
+import com.almousleck.dto.search.SuggestionResponse;
+import com.almousleck.model.EventListing;
 import com.almousleck.repository.EventCategoryRepository;
-import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventListingSpecifications;
+import com.almousleck.search.CategoryFacetCounts;
+import com.almousleck.search.EventKeywordSearch;
+import com.almousleck.search.EventSuggester;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class SearchService {
 
-    private final EventRepository eventRepository;
     private final EventCategoryRepository categoryRepository;
+    private final EventListingRepository eventListingRepository;
+    private final EventKeywordSearch eventKeywordSearch;
+    private final EventSuggester eventSuggester;
+    private final CategoryFacetCounts categoryFacetCounts;
+    private final AppProperties appProperties;
 
     public SearchResponse searchEvents(SearchRequest request) {
         // Build sort
@@ -35,28 +49,17 @@ public class SearchService {
                 request.getSize(),
                 sort);
 
-        // Apply filters
-        Page<Event> eventsPage;
-
-        if (request.getKeyword() != null && !request.getKeyword().trim().isEmpty()) {
-            eventsPage = eventRepository.searchEvents(request.getKeyword(), pageable);
-        } else if (request.getCategoryId() != null) {
-            EventCategory category = categoryRepository.findById(request.getCategoryId())
-                    .orElse(null);
-
-            if (category != null) {
-                if (request.getUpcomingOnly()) {
-                    eventsPage = eventRepository.findUpcomingEventsByCategory(category, LocalDateTime.now(), pageable);
-                } else {
-                    eventsPage = eventRepository.findByPublishedTrueAndCategory(category, pageable);
-                }
-            } else {
-                eventsPage = eventRepository.findByPublishedTrue(pageable);
-            }
-        } else if (request.getUpcomingOnly()) {
-            eventsPage = eventRepository.findUpcomingEvents(LocalDateTime.now(), pageable);
+        // Filters compose; results come from the event_listing read model. A keyword alone (with at most the
+        // upcoming filter) goes to the ranked keyword backend, anything more to one Specification query.
+        LocalDateTime startAfter = request.getUpcomingOnly() ? LocalDateTime.now() : null;
+        Page<EventListing> eventsPage;
+
+        if (hasKeyword(request) && !hasFilters(request, true)) {
+            eventsPage = eventKeywordSearch.search(request.getKeyword(), startAfter, pageable);
         } else {
-            eventsPage = eventRepository.findByPublishedTrue(pageable);
+            Pageable ordered = sort.isSorted() ? pageable
+                    : PageRequest.of(request.getPage(), request.getSize(), Sort.by("startDate", "id"));
+            eventsPage = eventListingRepository.findAll(buildSpecification(request, startAfter, true), ordered);
         }
 
         // Convert to response
@@ -70,21 +73,32 @@ public class SearchService {
                         .endDate(event.getEndDate())
                         .basePrice(event.getBasePrice())
                         .imageUrl(event.getImageUrl())
-                        .categoryId(event.getCategory().getId())
-                        .categoryName(event.getCategory().getName())
-                        .organizerId(event.getOrganizer().getId())
-                        .organizerName(event.getOrganizer().getName())
+                        .categoryId(event.getCategoryId())
+                        .categoryName(event.getCategoryName())
+                        .organizerId(event.getOrganizerId())
+                        .organizerName(event.getOrganizerName())
+                        .minTicketPrice(event.getMinTicketPrice())
+                        .availableTickets(event.getAvailableTickets())
                         .build())
                 .collect(Collectors.toList());
 
-        // Get categories for facets
+        // Facets count events per active category under every filter except the category one: from memory
+        // for plain browsing, from the keyword backend for a keyword alone, else one grouped query
         List<SearchResponse.CategoryFacet> categories = new ArrayList<>();
         if (request.getIncludeFacets()) {
+            Map<Long, Long> counts;
+            if (hasFilters(request, false)) {
+                counts = eventListingRepository.countPerCategory(buildSpecification(request, startAfter, false));
+            } else if (hasKeyword(request)) {
+                counts = eventKeywordSearch.countByCategory(request.getKeyword(), startAfter);
+            } else {
+                counts = categoryFacetCounts.count(startAfter);
+            }
             categories = categoryRepository.findByActiveTrue().stream()
                     .map(category -> SearchResponse.CategoryFacet.builder()
                             .id(category.getId())
                             .name(category.getName())
-                            .count(eventRepository.countByCategoryAndPublishedTrue(category))
+                            .count(counts.getOrDefault(category.getId(), 0L))
                             .build())
                     .collect(Collectors.toList());
         }
@@ -99,7 +113,86 @@ public class SearchService {
                 .build();
     }
 
+    // Served from memory on every keystroke, so no database access and no facets
+    public List<SuggestionResponse> suggest(String query, Integer limit) {
+        AppProperties.Search.Suggest settings = appProperties.getSearch().getSuggest();
+        int size = limit == null ? settings.getDefaultLimit() : Math.max(1, Math.min(limit, settings.getMaxLimit()));
+        return eventSuggester.suggest(query, size).stream()
+                .map(suggestion -> SuggestionResponse.builder()
+                        .text(suggestion.text())
+                        .type(suggestion.kind().name())
+                        .eventCount(suggestion.events())
+                        .build())
+                .toList();
+    }
+
+    private boolean hasKeyword(SearchRequest request) {
+        return request.getKeyword() != null && !request.getKeyword().trim().isEmpty();
+    }
+
+    // Filters beyond keyword and upcomingOnly
+    private boolean hasFilters(SearchRequest request, boolean includeCategories) {
+        return (includeCategories && !categoryIds(request).isEmpty())
+                || request.getStartFrom() != null || request.getStartTo() != null
+                || request.getMinPrice() != null || request.getMaxPrice() != null
+                || request.getOrganizerId() != null
+                || (request.getLocation() != null && !request.getLocation().isBlank());
+    }
+
+    private Set<Long> categoryIds(SearchRequest request) {
+        Set<Long> categoryIds = new LinkedHashSet<>();
+        if (request.getCategoryId() != null) {
+            categoryIds.add(request.getCategoryId());
+        }
+        if (request.getCategoryIds() != null) {
+            request.getCategoryIds().stream().filter(Objects::nonNull).forEach(categoryIds::add);
+        }
+        return categoryIds;
+    }
+
+    private Specification<EventListing> buildSpecification(SearchRequest request, LocalDateTime startAfter,
+                                                           boolean includeCategories) {
+        List<Specification<EventListing>> filters = new ArrayList<>();
+        if (hasKeyword(request)) {
+            filters.add(EventListingSpecifications.keywordMatches(request.getKeyword().trim()));
+        }
+        Set<Long> categoryIds = categoryIds(request);
+        if (includeCategories && !categoryIds.isEmpty()) {
+            filters.add(EventListingSpecifications.inCategories(categoryIds));
+        }
+        if (startAfter != null) {
+            filters.add(EventListingSpecifications.startsAfter(startAfter));
+        }
+        if (request.getStartFrom() != null) {
+            filters.add(EventListingSpecifications.startsFrom(request.getStartFrom()));
+        }
+        if (request.getStartTo() != null) {
+            filters.add(EventListingSpecifications.startsUntil(request.getStartTo()));
+        }
+        String priceAttribute = "ticket".equalsIgnoreCase(request.getPriceField())
+                ? EventListingSpecifications.MIN_TICKET_PRICE
+                : EventListingSpecifications.BASE_PRICE;
+        if (request.getMinPrice() != null) {
+            filters.add(EventListingSpecifications.priceAtLeast(priceAttribute, request.getMinPrice()));
+        }
+        if (request.getMaxPrice() != null) {
+            filters.add(EventListingSpecifications.priceAtMost(priceAttribute, request.getMaxPrice()));
+        }
+        if (request.getOrganizerId() != null) {
+            filters.add(EventListingSpecifications.organizedBy(request.getOrganizerId()));
+        }
+        if (request.getLocation() != null && !request.getLocation().isBlank()) {
+            filters.add(EventListingSpecifications.locatedIn(request.getLocation()));
+        }
+        return Specification.allOf(filters);
+    }
+
     private Sort buildSort(String sortBy, String sortDirection) {
+        // Keyword searches can be ranked by the search index instead of a column
+        if ("relevance".equalsIgnoreCase(sortBy)) {
+            return Sort.unsorted();
+        }
+
         Sort.Direction direction = Sort.Direction.ASC;
         if ("desc".equalsIgnoreCase(sortDirection)) {
             direction = Sort.Direction.DESC;
@@ -28,6 +28,7 @@ public class StatisticsService {
     private final BookingRepository bookingRepository;
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final TicketInventoryService ticketInventoryService;
 
     public EventStatisticsResponse getEventStatistics(UserPrincipal currentUser, Long eventId) {
         Event event = eventRepository.findById(eventId)
@@ -43,7 +44,7 @@ public class StatisticsService {
         Long totalBookings = bookingRepository.countConfirmedBookingsByEvent(event);
         Integer totalTicketsAvailable = ticketRepository.countAvailableTicketsByEvent(eventId);
         Integer totalTicketsSold = event.getTickets().stream()
-                .mapToInt(ticket -> ticket.getTotalQuantity() - ticket.getAvailableQuantity())
+                .mapToInt(ticket -> ticket.getTotalQuantity() - ticketInventoryService.getAvailableQuantity(ticket))
                 .sum();
 
         BigDecimal totalRevenue = bookingRepository.findByEventAndStatus(event, Booking.BookingStatus.CONFIRMED)
@@ -88,7 +89,7 @@ public class StatisticsService {
                 .map(event -> {
                     Long eventBookings = bookingRepository.countConfirmedBookingsByEvent(event);
                     Integer ticketsSold = event.getTickets().stream()
-                            .mapToInt(ticket -> ticket.getTotalQuantity() - ticket.getAvailableQuantity())
+                            .mapToInt(ticket -> ticket.getTotalQuantity() - ticketInventoryService.getAvailableQuantity(ticket))
                             .sum();
 
                     BigDecimal eventRevenue = bookingRepository.findByEventAndStatus(event, Booking.BookingStatus.CONFIRMED)
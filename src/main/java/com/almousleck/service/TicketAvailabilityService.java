@@ -0,0 +1,173 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.exception.AppException;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Collectors;
+
+// In-memory ticket availability per event. Bookings on this node adjust the counts as they commit,
+// and a periodic refresh from the database picks up everything else, so reads stay within the
+// configured staleness window without querying tickets on every page view. With the ledger strategy
+// the database itself trails by up to one flush interval, so refreshed counts can lag by that much too.
+@Service
+@Slf4j
+public class TicketAvailabilityService {
+
+    private static final int REFRESH_CHUNK_SIZE = 500;
+
+    private final TicketRepository ticketRepository;
+    private final AppProperties.Inventory.Availability properties;
+    private final Clock clock;
+    private final ConcurrentMap<Long, EventAvailability> snapshots = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TicketAvailabilityService(TicketRepository ticketRepository, AppProperties appProperties) {
+        this(ticketRepository, appProperties, Clock.systemDefaultZone());
+    }
+
+    TicketAvailabilityService(TicketRepository ticketRepository, AppProperties appProperties, Clock clock) {
+        this.ticketRepository = ticketRepository;
+        this.properties = appProperties.getInventory().getAvailability();
+        this.clock = clock;
+    }
+
+    // Available quantity by ticket id for one event
+    public Map<Long, Integer> getAvailability(Long eventId) {
+        long now = clock.millis();
+        EventAvailability snapshot = snapshots.get(eventId);
+        if (snapshot == null || now - snapshot.refreshedAt > properties.getMaxStalenessMs()) {
+            snapshot = load(List.of(eventId), now).get(eventId);
+        }
+        snapshot.lastReadAt = now;
+        return Collections.unmodifiableMap(snapshot.available);
+    }
+
+    // Digest of the event's counts for validators. Map.hashCode sums key ^ value, so different counts collide easily,
+    // while a digest of the sorted pairs only matches for the same counts and is the same on every node.
+    public String getAvailabilityTag(Long eventId) {
+        return digest(getAvailability(eventId));
+    }
+
+    static String digest(Map<Long, Integer> availability) {
+        StringBuilder pairs = new StringBuilder();
+        new TreeMap<>(availability).forEach((ticketId, available) ->
+                pairs.append(ticketId).append(':').append(available).append(';'));
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(pairs.toString().getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new AppException("SHA-256 is not available", e);
+        }
+    }
+
+    // Reloads one event right away, for callers that found a ticket the snapshot does not know yet
+    public Map<Long, Integer> refresh(Long eventId) {
+        EventAvailability snapshot = load(List.of(eventId), clock.millis()).get(eventId);
+        return Collections.unmodifiableMap(snapshot.available);
+    }
+
+    // Applied once the booking commits, so a rolled back booking never shows up in the counts
+    public void applyDelta(Ticket ticket, int delta) {
+        Long eventId = ticket.getEvent().getId();
+        Long ticketId = ticket.getId();
+        afterCommit(() -> {
+            EventAvailability snapshot = snapshots.get(eventId);
+            if (snapshot != null) {
+                snapshot.available.computeIfPresent(ticketId, (id, available) -> available + delta);
+            }
+        });
+    }
+
+    public void evict(Long eventId) {
+        afterCommit(() -> snapshots.remove(eventId));
+    }
+
+    @Scheduled(fixedDelayString = "${app.inventory.availability.refresh-interval-ms:5000}")
+    public void refreshAll() {
+        long now = clock.millis();
+        snapshots.values().removeIf(snapshot -> now - snapshot.lastReadAt > properties.getIdleTimeoutMs());
+
+        // Over the cap, the events read least recently are dropped and reload on their next read
+        int excess = snapshots.size() - properties.getMaxEvents();
+        if (excess > 0) {
+            snapshots.entrySet().stream()
+                    .sorted(Comparator.comparingLong(entry -> entry.getValue().lastReadAt))
+                    .limit(excess)
+                    .map(Map.Entry::getKey)
+                    .toList()
+                    .forEach(snapshots::remove);
+        }
+
+        List<Long> eventIds = new ArrayList<>(snapshots.keySet());
+        for (int from = 0; from < eventIds.size(); from += REFRESH_CHUNK_SIZE) {
+            load(eventIds.subList(from, Math.min(from + REFRESH_CHUNK_SIZE, eventIds.size())), now);
+        }
+        log.debug("Refreshed ticket availability for {} events", eventIds.size());
+    }
+
+    private Map<Long, EventAvailability> load(Collection<Long> eventIds, long now) {
+        Map<Long, Map<Long, Integer>> byEvent = ticketRepository.findAvailabilityByEventIds(eventIds).stream()
+                .collect(Collectors.groupingBy(TicketRepository.EventTicketAvailability::getEventId,
+                        Collectors.toMap(TicketRepository.EventTicketAvailability::getId,
+                                TicketRepository.EventTicketAvailability::getAvailableQuantity)));
+
+        Map<Long, EventAvailability> loaded = new HashMap<>();
+        for (Long eventId : eventIds) {
+            EventAvailability previous = snapshots.get(eventId);
+            EventAvailability snapshot = new EventAvailability(byEvent.getOrDefault(eventId, Map.of()), now,
+                    previous != null ? previous.lastReadAt : now);
+            snapshots.put(eventId, snapshot);
+            loaded.put(eventId, snapshot);
+        }
+        return loaded;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static final class EventAvailability {
+        private final ConcurrentMap<Long, Integer> available;
+        private final long refreshedAt;
+        private volatile long lastReadAt;
+
+        private EventAvailability(Map<Long, Integer> available, long refreshedAt, long lastReadAt) {
+            this.available = new ConcurrentHashMap<>(available);
+            this.refreshedAt = refreshedAt;
+            this.lastReadAt = lastReadAt;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.inventory.InventoryMode;
+import com.almousleck.inventory.InventoryStrategy;
+import com.almousleck.inventory.ShardedTicketInventory;
+import com.almousleck.model.Ticket;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@Slf4j
+public class TicketInventoryService {
+
+    private final InventoryStrategy inventoryStrategy;
+    private final ShardedTicketInventory shardedInventory;
+    private final TicketAvailabilityService ticketAvailabilityService;
+    private final EventListingProjector eventListingProjector;
+
+    public TicketInventoryService(List<InventoryStrategy> strategies, ShardedTicketInventory shardedInventory,
+                                  TicketAvailabilityService ticketAvailabilityService,
+                                  EventListingProjector eventListingProjector, AppProperties appProperties) {
+        InventoryMode mode = appProperties.getInventory().getStrategy();
+        this.inventoryStrategy = strategies.stream()
+                .filter(strategy -> strategy.getMode() == mode)
+                .findFirst()
+                .orElseThrow(() -> new IllegalStateException("No inventory strategy registered for mode " + mode));
+        this.shardedInventory = shardedInventory;
+        this.ticketAvailabilityService = ticketAvailabilityService;
+        this.eventListingProjector = eventListingProjector;
+        log.info("Using {} ticket inventory strategy", mode);
+    }
+
+    public Ticket getTicketForBooking(Long ticketId, int quantity) {
+        if (shardedInventory.isSharded(ticketId)) {
+            return shardedInventory.getTicketForBooking(ticketId);
+        }
+        return inventoryStrategy.getTicketForBooking(ticketId, quantity);
+    }
+
+    public void reserve(Ticket ticket, int quantity) {
+        if (ticket.isSharded()) {
+            shardedInventory.reserve(ticket, quantity);
+        } else {
+            inventoryStrategy.reserve(ticket, quantity);
+        }
+        ticketAvailabilityService.applyDelta(ticket, -quantity);
+        eventListingProjector.markAvailabilityChanged(ticket.getEvent().getId());
+    }
+
+    public void release(Ticket ticket, int quantity) {
+        if (ticket.isSharded()) {
+            shardedInventory.release(ticket, quantity);
+        } else {
+            inventoryStrategy.release(ticket, quantity);
+        }
+        ticketAvailabilityService.applyDelta(ticket, quantity);
+        eventListingProjector.markAvailabilityChanged(ticket.getEvent().getId());
+    }
+
+    // Applies an organizer capacity change; a reduction must fit in the unsold stock
+    public void adjustCapacity(Ticket ticket, int delta) {
+        if (ticket.isSharded()) {
+            shardedInventory.adjustCapacity(ticket, delta);
+        } else {
+            inventoryStrategy.adjustCapacity(ticket, delta);
+        }
+        ticketAvailabilityService.applyDelta(ticket, delta);
+        eventListingProjector.markAvailabilityChanged(ticket.getEvent().getId());
+    }
+
+    public int getAvailableQuantity(Ticket ticket) {
+        return ticket.isSharded()
+                ? shardedInventory.getAvailableQuantity(ticket)
+                : inventoryStrategy.getAvailableQuantity(ticket);
+    }
+
+    public void evict(Ticket ticket) {
+        if (!ticket.isSharded()) {
+            inventoryStrategy.evict(ticket);
+        }
+    }
+
+    // Moves the stock of a freshly saved sharded ticket off the ticket row
+    public void initialize(Ticket ticket) {
+        if (ticket.isSharded()) {
+            int available = ticket.getAvailableQuantity();
+            ticket.setAvailableQuantity(0);
+            shardedInventory.createShards(ticket, available);
+        }
+    }
+
+    public void reshard(Ticket ticket, int shardCount) {
+        if (shardCount == (ticket.isSharded() ? ticket.getShardCount() : 1)) {
+            return;
+        }
+
+        // Drain the current layout through the path that owns it, then refill the new one
+        int available;
+        if (ticket.isSharded()) {
+            available = shardedInventory.removeShards(ticket);
+        } else {
+            available = inventoryStrategy.getAvailableQuantity(ticket);
+            inventoryStrategy.adjustCapacity(ticket, -available);
+        }
+
+        ticket.setShardCount(shardCount);
+        if (ticket.isSharded()) {
+            shardedInventory.createShards(ticket, available);
+        } else {
+            inventoryStrategy.adjustCapacity(ticket, available);
+        }
+    }
+}
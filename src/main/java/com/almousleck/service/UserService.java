@@ -6,6 +6,7 @@ import com.almousleck.dto.user.UserProfileResponse;
 import com.almousleck.exception.BadRequestException;
 import com.almousleck.exception.ResourceNotFoundException;
 import com.almousleck.model.User;
+import com.almousleck.repository.EventListingRepository;
 import com.almousleck.repository.UserRepository;
 import com.almousleck.security.UserPrincipal;
 import lombok.RequiredArgsConstructor;
@@ -21,6 +22,7 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final EventListingRepository eventListingRepository;
 
 //    public UserProfileResponse getUserProfile(UserPrincipal currentUser) {
 //        User user = userRepository.findById(currentUser.getId())
@@ -83,8 +85,9 @@ public class UserService {
         User user = userRepository.findById(currentUser.getId())
                 .orElseThrow(() -> new ResourceNotFoundException("User", "id", currentUser.getId()));
 
-        if (updateRequest.getName() != null) {
+        if (updateRequest.getName() != null && !updateRequest.getName().equals(user.getName())) {
             user.setName(updateRequest.getName());
+            eventListingRepository.updateOrganizerName(user.getId(), user.getName());
         }
 
         if (updateRequest.getPhoneNumber() != null) {
@@ -1,23 +1,64 @@
 package com.almousleck.utils;
 
+import com.almousleck.config.AppProperties;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Weigher;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Slice;
+
+import java.util.Collection;
+import java.util.List;
 
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    private static final List<String> CACHE_NAMES = List.of(
+            "events",
+            "categories",
+            "upcomingEvents",
+            "eventsByCategory",
+            "userProfile",
+            "eventDetails"
+    );
+
+    // Cached lists and pages are weighed by their element count
+    private static final Weigher<Object, Object> ELEMENT_WEIGHER = (key, value) -> {
+        if (value instanceof Collection<?> collection) {
+            return Math.max(1, collection.size());
+        }
+        if (value instanceof Slice<?> slice) {
+            return Math.max(1, slice.getNumberOfElements());
+        }
+        return 1;
+    };
+
     @Bean
-    public CacheManager cacheManager() {
-        return new ConcurrentMapCacheManager(
-                "events",
-                "categories",
-                "upcomingEvents",
-                "eventsByCategory",
-                "userProfile"
-        );
+    public CacheManager cacheManager(AppProperties appProperties) {
+        AppProperties.Cache properties = appProperties.getCache();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        cacheManager.setAllowNullValues(false);
+
+        for (String name : CACHE_NAMES) {
+            AppProperties.Cache.Spec spec = properties.getCaches().getOrDefault(name, properties.getDefaults());
+            Caffeine<Object, Object> builder = Caffeine.newBuilder().recordStats();
+
+            // Caffeine's default W-TinyLFU eviction keeps hot entries through one-off scans
+            if (spec.getMaximumWeight() != null) {
+                builder.maximumWeight(spec.getMaximumWeight()).weigher(ELEMENT_WEIGHER);
+            } else if (spec.getMaximumSize() != null) {
+                builder.maximumSize(spec.getMaximumSize());
+            }
+            // Spring fills these caches from the annotated methods, so there is no loader to refresh with
+            if (spec.getExpireAfterWrite() != null) {
+                builder.expireAfterWrite(spec.getExpireAfterWrite());
+            }
+            cacheManager.registerCustomCache(name, builder.build());
+        }
+        return cacheManager;
     }
 }
-
@@ -0,0 +1,86 @@
+package com.almousleck.utils;
+
+import com.almousleck.config.AppProperties;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponses {
+
+    public static final String EVENT_DETAIL = "event-detail";
+    public static final String EVENT_TICKETS = "event-tickets";
+    public static final String CATEGORIES = "categories";
+    public static final String CATEGORY = "category";
+
+    private final AppProperties appProperties;
+
+    // Answers 304 before the body is built when the client's validators still match
+    public <T> ResponseEntity<T> respond(WebRequest request, String endpoint, String etag,
+                                         Instant lastModified, Supplier<T> body) {
+        boolean notModified = lastModified == null
+                ? request.checkNotModified(etag)
+                : request.checkNotModified(etag, lastModified.toEpochMilli());
+
+        ResponseEntity.BodyBuilder builder = notModified
+                ? ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                : ResponseEntity.ok();
+        builder.eTag(etag).cacheControl(cacheControl(endpoint));
+        if (lastModified != null) {
+            builder.lastModified(lastModified);
+        }
+        return notModified ? builder.build() : builder.body(body.get());
+    }
+
+    // Lists get a weak tag from their newest row and their size, which also catches deletions
+    public <T> ResponseEntity<List<T>> respondList(WebRequest request, String endpoint, String name,
+                                                   List<T> rows, Function<T, LocalDateTime> updatedAt) {
+        Instant lastModified = newest(rows, updatedAt);
+        String etag = "W/\"" + name + "-" + rows.size() + "-"
+                + (lastModified != null ? lastModified.toEpochMilli() : 0) + "\"";
+        return respond(request, endpoint, etag, lastModified, () -> rows);
+    }
+
+    public CacheControl cacheControl(String endpoint) {
+        AppProperties.HttpCache.Policy policy = appProperties.getHttpCache().getPolicies().get(endpoint);
+        if (policy == null) {
+            return CacheControl.noCache();
+        }
+
+        CacheControl cacheControl = CacheControl.maxAge(policy.getMaxAge());
+        cacheControl = policy.isCachePrivate() ? cacheControl.cachePrivate() : cacheControl.cachePublic();
+        if (policy.isMustRevalidate()) {
+            cacheControl = cacheControl.mustRevalidate();
+        }
+        if (policy.getStaleWhileRevalidate() != null) {
+            cacheControl = cacheControl.staleWhileRevalidate(policy.getStaleWhileRevalidate());
+        }
+        return cacheControl;
+    }
+
+    public static Instant toInstant(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.atZone(ZoneId.systemDefault()).toInstant() : null;
+    }
+
+    private static <T> Instant newest(Collection<T> rows, Function<T, LocalDateTime> updatedAt) {
+        return rows.stream()
+                .map(updatedAt)
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .map(ConditionalResponses::toInstant)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,68 @@
+package com.almousleck.utils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+// Buckets deadlines by tick, so finding what expired only touches the slots the clock has moved past
+public class HashedTimingWheel<K> {
+
+    private final long tickMillis;
+    private final List<Map<K, Long>> slots;
+    private final Map<K, Integer> slotByKey = new HashMap<>();
+    private long lastTick;
+
+    public HashedTimingWheel(long tickMillis, int slotCount, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new ArrayList<>(slotCount);
+        for (int i = 0; i < slotCount; i++) {
+            slots.add(new HashMap<>());
+        }
+        this.lastTick = startMillis / tickMillis - 1;
+    }
+
+    public synchronized void schedule(K key, long deadlineMillis) {
+        cancel(key);
+        // Deadlines already behind the clock go into the next slot to be visited
+        long tick = Math.max(deadlineMillis / tickMillis, lastTick + 1);
+        int slot = (int) (tick % slots.size());
+        slots.get(slot).put(key, deadlineMillis);
+        slotByKey.put(key, slot);
+    }
+
+    public synchronized boolean cancel(K key) {
+        Integer slot = slotByKey.remove(key);
+        return slot != null && slots.get(slot).remove(key) != null;
+    }
+
+    // Returns every key whose deadline fell in a tick that has fully elapsed
+    public synchronized List<K> advance(long nowMillis) {
+        long targetTick = nowMillis / tickMillis - 1;
+        if (targetTick <= lastTick) {
+            return List.of();
+        }
+
+        List<K> expired = new ArrayList<>();
+        // After a long pause one lap already covers every slot
+        long fromTick = Math.max(lastTick + 1, targetTick - slots.size() + 1);
+        for (long tick = fromTick; tick <= targetTick; tick++) {
+            Iterator<Map.Entry<K, Long>> entries = slots.get((int) (tick % slots.size())).entrySet().iterator();
+            while (entries.hasNext()) {
+                Map.Entry<K, Long> entry = entries.next();
+                if (entry.getValue() / tickMillis <= targetTick) {
+                    expired.add(entry.getKey());
+                    slotByKey.remove(entry.getKey());
+                    entries.remove();
+                }
+            }
+        }
+        lastTick = targetTick;
+        return expired;
+    }
+
+    public synchronized int size() {
+        return slotByKey.size();
+    }
+}
@@ -1,37 +1,174 @@
 package com.almousleck.utils;
 
-import java.security.SecureRandom;
-import java.time.LocalDateTime;
+import com.almousleck.config.AppProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
 import java.time.format.DateTimeFormatter;
+import java.util.concurrent.atomic.AtomicLong;
 
+// References look like ANB-yyMMdd-XXXXXXXXXX: the date, then millisecond of day, node id and a sequence
+// packed into 50 bits and written in Crockford Base32. Values are unique as long as every running node has
+// its own id and each start is seeded past what was already issued (see ReferenceInitializer); the
+// unique constraints on the reference columns remain the last line of defence.
+@Component
+@Slf4j
 public class ReferenceGenerator {
 
-    private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
-    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final char[] CROCKFORD_BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
     private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyMMdd");
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 13;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    private static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+    private static final int BLOCK_SIZE = 16;
+    private static final int ENCODED_LENGTH = 10;
+    public static final int REFERENCE_LENGTH = 11 + ENCODED_LENGTH;
+
+    private final long nodeBits;
+    private final Clock clock;
+    // Millisecond tick in the high bits and the next free sequence of that tick in the low bits.
+    // Sequences past the end of a tick roll into the next one, so the value only ever grows.
+    private final AtomicLong nextFree = new AtomicLong();
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+    private volatile Day day;
 
-    private ReferenceGenerator() {
-        // Private constructor to prevent instantiation
+    @Autowired
+    public ReferenceGenerator(AppProperties appProperties, Environment environment) {
+        this(resolveNodeId(appProperties.getReference().getNodeId(), environment), Clock.systemDefaultZone());
+    }
+
+    public ReferenceGenerator(int nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Reference node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    // Two instances left on the default id would issue the same references, so only a plain local run may omit it
+    static int resolveNodeId(Integer nodeId, Environment environment) {
+        if (nodeId != null) {
+            return nodeId;
+        }
+        if (environment.getActiveProfiles().length > 0) {
+            throw new IllegalStateException("app.reference.node-id (NODE_ID) must be set when profiles "
+                    + String.join(",", environment.getActiveProfiles()) + " are active");
+        }
+        log.warn("app.reference.node-id is not set, using 0; give every running instance its own id");
+        return 0;
     }
 
-    public static String generateBookingReference() {
-        String datePart = LocalDateTime.now().format(DATE_FORMAT);
-        String randomPart = generateRandomString(4);
-        return String.format("ANB-%s-%s", datePart, randomPart);
+    public String bookingPrefix() {
+        return prefix("ANB");
     }
 
-    public static String generateTransactionReference() {
-        String datePart = LocalDateTime.now().format(DATE_FORMAT);
-        String randomPart = generateRandomString(8);
-        return String.format("TRX-%s-%s", datePart, randomPart);
+    public String transactionPrefix() {
+        return prefix("TRX");
     }
 
-    public static String generateRandomString(int length) {
-        StringBuilder sb = new StringBuilder(length);
-        for (int i = 0; i < length; i++) {
-            sb.append(ALPHANUMERIC.charAt(RANDOM.nextInt(ALPHANUMERIC.length())));
+    // Moves the counter past the millisecond of an already issued reference, so a restart after the clock
+    // stepped back or after a burst borrowed future milliseconds does not hand the same values out again
+    public void advancePast(String reference) {
+        if (reference == null || reference.length() != REFERENCE_LENGTH) {
+            return;
         }
-        return sb.toString();
+        LocalDate date = LocalDate.parse(reference.substring(4, 10), DATE_FORMAT);
+        long bits = 0;
+        for (int i = 11; i < REFERENCE_LENGTH; i++) {
+            int digit = indexOf(reference.charAt(i));
+            if (digit < 0) {
+                return;
+            }
+            bits = bits << 5 | digit;
+        }
+        long tick = date.atStartOfDay(clock.getZone()).toInstant().toEpochMilli() + (bits >>> (NODE_BITS + SEQUENCE_BITS));
+        nextFree.accumulateAndGet((tick + 1) << SEQUENCE_BITS, Math::max);
+    }
+
+    public String generateBookingReference() {
+        return format('A', 'N', 'B', nextId());
+    }
+
+    public String generateTransactionReference() {
+        return format('T', 'R', 'X', nextId());
+    }
+
+    private long nextId() {
+        // Each thread takes a small block of sequences at a time, so the shared counter sees one CAS per block
+        Block block = blocks.get();
+        long now = clock.millis();
+        if (block.next == block.end || block.next >>> SEQUENCE_BITS < now) {
+            while (true) {
+                long current = nextFree.get();
+                long start = current >>> SEQUENCE_BITS < now ? now << SEQUENCE_BITS : current;
+                if (nextFree.compareAndSet(current, start + BLOCK_SIZE)) {
+                    block.next = start;
+                    block.end = start + BLOCK_SIZE;
+                    break;
+                }
+            }
+        }
+        return block.next++;
+    }
+
+    private String format(char first, char second, char third, long id) {
+        long tick = id >>> SEQUENCE_BITS;
+        Day current = dayOf(tick);
+        long bits = (tick - current.startMillis) << (NODE_BITS + SEQUENCE_BITS) | nodeBits | (id & SEQUENCE_MASK);
+
+        char[] chars = new char[REFERENCE_LENGTH];
+        chars[0] = first;
+        chars[1] = second;
+        chars[2] = third;
+        chars[3] = '-';
+        System.arraycopy(current.date, 0, chars, 4, 6);
+        chars[10] = '-';
+        for (int i = REFERENCE_LENGTH - 1; i > 10; i--) {
+            chars[i] = CROCKFORD_BASE32[(int) (bits & 31)];
+            bits >>>= 5;
+        }
+        return new String(chars);
     }
-}
 
+    private String prefix(String type) {
+        return type + "-" + LocalDate.now(clock).format(DATE_FORMAT) + "-";
+    }
+
+    private static int indexOf(char c) {
+        for (int i = 0; i < CROCKFORD_BASE32.length; i++) {
+            if (CROCKFORD_BASE32[i] == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private Day dayOf(long tick) {
+        Day current = day;
+        if (current != null && tick >= current.startMillis && tick < current.endMillis) {
+            return current;
+        }
+        ZoneId zone = clock.getZone();
+        LocalDate date = Instant.ofEpochMilli(tick).atZone(zone).toLocalDate();
+        current = new Day(date.atStartOfDay(zone).toInstant().toEpochMilli(),
+                date.plusDays(1).atStartOfDay(zone).toInstant().toEpochMilli(),
+                date.format(DATE_FORMAT).toCharArray());
+        day = current;
+        return current;
+    }
+
+    private static final class Block {
+        private long next;
+        private long end;
+    }
+
+    private record Day(long startMillis, long endMillis, char[] date) {
+    }
+}
@@ -0,0 +1,176 @@
+package com.almousleck.inventory;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.*;
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.repository.TicketRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Run with: mvn test -Dtest=InventoryStrategyBenchmarkTest -Dbenchmark=true
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class InventoryStrategyBenchmarkTest {
+
+    private static final int THREADS = 16;
+    private static final int BOOKINGS_PER_THREAD = 200;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void compareStrategiesUnderContention() throws Exception {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        AppProperties ledgerProperties = new AppProperties();
+        ledgerProperties.getInventory().setStrategy(InventoryMode.LEDGER);
+        TicketInventoryLedger ledger = new TicketInventoryLedger(ticketRepository, ledgerProperties);
+        InventoryConflictRetry retry = new InventoryConflictRetry(new AppProperties());
+        ledger.start();
+
+        List<InventoryStrategy> strategies = List.of(
+                new PessimisticInventoryStrategy(ticketRepository),
+                new OptimisticInventoryStrategy(ticketRepository, new AppProperties()),
+                new ConditionalUpdateInventoryStrategy(ticketRepository),
+                new LedgerInventoryStrategy(ticketRepository, ledger));
+
+        System.out.printf("%n%-12s %10s %12s %10s %10s %8s%n", "strategy", "ok", "ops/sec", "p50 ms", "p99 ms", "failed");
+        for (InventoryStrategy strategy : strategies) {
+            Fixture fixture = transactionTemplate.execute(status -> createFixture(THREADS * BOOKINGS_PER_THREAD));
+            Result result = run(strategy, fixture, transactionTemplate, retry);
+            ledger.flush();
+
+            System.out.printf("%-12s %10d %12.0f %10.2f %10.2f %8d%n", strategy.getMode(), result.succeeded,
+                    result.succeeded / result.elapsedSeconds, result.percentileMs(50), result.percentileMs(99), result.failed);
+
+            int remaining = ticketRepository.findAvailableQuantityById(fixture.ticketId).orElseThrow();
+            assertThat(remaining).isEqualTo(THREADS * BOOKINGS_PER_THREAD - result.succeeded);
+        }
+    }
+
+    // Conflicting optimistic bookings are retried as whole transactions, the way BookingController does
+    private Result run(InventoryStrategy strategy, Fixture fixture, TransactionTemplate transactionTemplate,
+                       InventoryConflictRetry retry) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger failed = new AtomicInteger();
+        long[][] latencies = new long[THREADS][BOOKINGS_PER_THREAD];
+
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < BOOKINGS_PER_THREAD; i++) {
+                    long began = System.nanoTime();
+                    try {
+                        retry.execute(() -> transactionTemplate.execute(status -> book(strategy, fixture)));
+                    } catch (Exception e) {
+                        failed.incrementAndGet();
+                    }
+                    latencies[thread][i] = System.nanoTime() - began;
+                }
+                return null;
+            });
+        }
+
+        long began = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.MINUTES)).isTrue();
+        double elapsedSeconds = (System.nanoTime() - began) / 1e9;
+
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        return new Result(THREADS * BOOKINGS_PER_THREAD - failed.get(), failed.get(), elapsedSeconds, all);
+    }
+
+    private Booking book(InventoryStrategy strategy, Fixture fixture) {
+        Ticket ticket = strategy.getTicketForBooking(fixture.ticketId, 1);
+        strategy.reserve(ticket, 1);
+
+        return bookingRepository.save(Booking.builder()
+                .bookingReference(UUID.randomUUID().toString())
+                .quantity(1)
+                .totalAmount(ticket.getPrice())
+                .status(Booking.BookingStatus.PENDING)
+                .user(entityManager.getEntityManager().getReference(User.class, fixture.userId))
+                .ticket(ticket)
+                .event(ticket.getEvent())
+                .build());
+    }
+
+    private Fixture createFixture(int quantity) {
+        String suffix = UUID.randomUUID().toString().substring(0, 8);
+        User user = entityManager.persist(User.builder()
+                .name("Benchmark User")
+                .username("bench-" + suffix)
+                .email("bench-" + suffix + "@example.com")
+                .password("password")
+                .enabled(true)
+                .build());
+        EventCategory category = entityManager.persist(EventCategory.builder()
+                .name("Benchmark " + suffix)
+                .active(true)
+                .build());
+        Event event = entityManager.persist(Event.builder()
+                .title("On-sale " + suffix)
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(true)
+                .category(category)
+                .organizer(user)
+                .build());
+        Ticket ticket = entityManager.persist(Ticket.builder()
+                .type("General Admission")
+                .price(new BigDecimal("50.00"))
+                .totalQuantity(quantity)
+                .availableQuantity(quantity)
+                .event(event)
+                .build());
+        return new Fixture(user.getId(), ticket.getId());
+    }
+
+    private record Fixture(Long userId, Long ticketId) {
+    }
+
+    private record Result(int succeeded, int failed, double elapsedSeconds, long[] sortedLatencies) {
+
+        double percentileMs(int percentile) {
+            int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+            return sortedLatencies[Math.max(0, index)] / 1e6;
+        }
+    }
+}
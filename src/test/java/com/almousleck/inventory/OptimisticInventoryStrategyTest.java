@@ -0,0 +1,102 @@
+package com.almousleck.inventory;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class OptimisticInventoryStrategyTest {
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final AppProperties appProperties = new AppProperties();
+    private final OptimisticInventoryStrategy strategy = new OptimisticInventoryStrategy(ticketRepository, appProperties);
+    private final InventoryConflictRetry retry = new InventoryConflictRetry(appProperties);
+    private final Ticket ticket = Ticket.builder().id(1L).build();
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void whenVersionKeepsChanging_thenConflictIsRaisedAfterTheInTransactionAttempts() {
+        when(ticketRepository.findVersionedAvailabilityById(1L)).thenReturn(Optional.of(availability(10, 7L)));
+        when(ticketRepository.reserveIfVersionMatches(eq(1L), anyInt(), anyLong())).thenReturn(0);
+
+        assertThatThrownBy(() -> strategy.reserve(ticket, 1))
+                .isInstanceOf(InventoryConflictException.class)
+                .hasMessage("Tickets are in high demand, please try again");
+
+        // Only the in-transaction re-reads; backing off is left to the retry outside the transaction
+        verify(ticketRepository, times(3)).reserveIfVersionMatches(1L, 1, 7L);
+    }
+
+    @Test
+    void whenBookingConflicts_thenTheWholeBookingIsRetried() {
+        AtomicInteger calls = new AtomicInteger();
+
+        String result = retry.execute(() -> {
+            if (calls.incrementAndGet() < 3) {
+                throw new InventoryConflictException("Tickets are in high demand, please try again");
+            }
+            return "booked";
+        });
+
+        assertThat(result).isEqualTo("booked");
+        assertThat(calls).hasValue(3);
+    }
+
+    @Test
+    void whenEveryAttemptConflicts_thenRetryGivesUpAfterMaxAttempts() {
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new InventoryConflictException("Tickets are in high demand, please try again");
+        })).isInstanceOf(InventoryConflictException.class);
+
+        assertThat(calls).hasValue(5);
+    }
+
+    @Test
+    void whenCalledInsideATransaction_thenBookingRunsOnce() {
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThatThrownBy(() -> retry.execute(() -> {
+            calls.incrementAndGet();
+            throw new InventoryConflictException("Tickets are in high demand, please try again");
+        })).isInstanceOf(InventoryConflictException.class);
+
+        assertThat(calls).hasValue(1);
+    }
+
+    private TicketRepository.VersionedAvailability availability(int available, Long version) {
+        return new TicketRepository.VersionedAvailability() {
+            @Override
+            public Integer getAvailableQuantity() {
+                return available;
+            }
+
+            @Override
+            public Long getVersion() {
+                return version;
+            }
+        };
+    }
+}
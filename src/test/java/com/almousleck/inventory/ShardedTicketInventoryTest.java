@@ -0,0 +1,132 @@
+package com.almousleck.inventory;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.model.Event;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.Ticket;
+import com.almousleck.model.User;
+import com.almousleck.repository.TicketInventoryShardRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.service.EventListingProjector;
+import com.almousleck.service.TicketAvailabilityService;
+import com.almousleck.service.TicketInventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class ShardedTicketInventoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketInventoryShardRepository shardRepository;
+
+    private TicketInventoryService ticketInventoryService;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        ticketInventoryService = new TicketInventoryService(
+                List.of(new PessimisticInventoryStrategy(ticketRepository)),
+                new ShardedTicketInventory(ticketRepository, shardRepository),
+                mock(TicketAvailabilityService.class),
+                mock(EventListingProjector.class),
+                new AppProperties());
+
+        User organizer = entityManager.persist(User.builder()
+                .name("Event Organizer")
+                .username("organizer")
+                .email("organizer@example.com")
+                .password("password123")
+                .enabled(true)
+                .build());
+        EventCategory category = entityManager.persist(EventCategory.builder()
+                .name("Music")
+                .build());
+        event = entityManager.persist(Event.builder()
+                .title("Stadium Concert")
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(true)
+                .category(category)
+                .organizer(organizer)
+                .build());
+    }
+
+    @Test
+    void whenTicketIsSharded_thenStockMovesToShards() {
+        Ticket ticket = createTicket(10, 4);
+
+        assertThat(ticket.getAvailableQuantity()).isZero();
+        assertThat(shardRepository.lockAvailableQuantities(ticket.getId())).containsExactly(3, 3, 2, 2);
+        assertThat(ticketInventoryService.getAvailableQuantity(ticket)).isEqualTo(10);
+    }
+
+    @Test
+    void whenNoSingleShardCoversQuantity_thenReserveGathersFromSeveral() {
+        Ticket ticket = createTicket(10, 4);
+
+        ticketInventoryService.reserve(ticket, 7);
+
+        assertThat(ticketInventoryService.getAvailableQuantity(ticket)).isEqualTo(3);
+        assertThatThrownBy(() -> ticketInventoryService.reserve(ticket, 4))
+                .isInstanceOf(BadRequestException.class);
+        assertThat(ticketInventoryService.getAvailableQuantity(ticket)).isEqualTo(3);
+    }
+
+    @Test
+    void whenCountingEventAvailability_thenShardsAreAggregated() {
+        Ticket sharded = createTicket(100, 8);
+        createTicket(20, 1);
+        ticketInventoryService.reserve(sharded, 5);
+
+        assertThat(ticketRepository.countAvailableTicketsByEvent(event.getId())).isEqualTo(115);
+    }
+
+    @Test
+    void whenMergingShards_thenStockReturnsToTicketRow() {
+        Ticket ticket = createTicket(10, 4);
+        ticketInventoryService.reserve(ticket, 4);
+
+        ticketInventoryService.reshard(ticket, 1);
+        entityManager.flush();
+
+        assertThat(ticket.isSharded()).isFalse();
+        assertThat(ticket.getAvailableQuantity()).isEqualTo(6);
+        assertThat(shardRepository.sumAvailableQuantityByTicketId(ticket.getId())).isZero();
+    }
+
+    private Ticket createTicket(int quantity, int shardCount) {
+        Ticket ticket = ticketRepository.save(Ticket.builder()
+                .type("General Admission")
+                .price(new BigDecimal("50.00"))
+                .totalQuantity(quantity)
+                .availableQuantity(quantity)
+                .shardCount(shardCount)
+                .event(event)
+                .build());
+        ticketInventoryService.initialize(ticket);
+        entityManager.flush();
+        return ticket;
+    }
+}
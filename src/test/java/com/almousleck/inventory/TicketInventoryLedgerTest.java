@@ -0,0 +1,236 @@
+package com.almousleck.inventory;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.exception.ServiceUnavailableException;
+import com.almousleck.repository.TicketRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TicketInventoryLedgerTest {
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private TicketInventoryLedger ledger;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new TicketInventoryLedger(ticketRepository, ledgerProperties());
+        when(ticketRepository.findAvailableQuantityById(1L)).thenReturn(Optional.of(100));
+        ledger.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void whenManyThreadsReserve_thenExactlyTheStockIsGranted() throws Exception {
+        int threads = 16;
+        int attemptsPerThread = 20;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int granted = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (ledger.tryReserve(1L, 1)) {
+                        granted++;
+                    }
+                }
+                return granted;
+            }));
+        }
+        start.countDown();
+
+        int granted = 0;
+        for (Future<Integer> result : results) {
+            granted += result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        assertThat(granted).isEqualTo(100);
+        assertThat(ledger.getAvailableQuantity(1L)).isZero();
+        assertThat(ledger.isKnownSoldOut(1L, 1)).isTrue();
+        // The stock row is loaded once however many threads miss at the same time
+        verify(ticketRepository, times(1)).findAvailableQuantityById(1L);
+    }
+
+    @Test
+    void whenBookingRollsBack_thenSeatsReturnAndNothingIsFlushed() {
+        TransactionSynchronizationManager.initSynchronization();
+        assertThat(ledger.tryReserve(1L, 5)).isTrue();
+        assertThat(ledger.getAvailableQuantity(1L)).isEqualTo(95);
+
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        ledger.flush();
+
+        assertThat(ledger.getAvailableQuantity(1L)).isEqualTo(100);
+        verify(ticketRepository, never()).adjustAvailableQuantity(anyLong(), anyInt());
+    }
+
+    @Test
+    void whenBookingCommits_thenFlushWritesTheDeltaOnce() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.tryReserve(1L, 5);
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+
+        ledger.flush();
+        ledger.flush();
+
+        assertThat(ledger.getAvailableQuantity(1L)).isEqualTo(95);
+        verify(ticketRepository, times(1)).adjustAvailableQuantity(1L, -5);
+    }
+
+    @Test
+    void whenReleaseRollsBack_thenStockIsUnchanged() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.release(1L, 3);
+        assertThat(ledger.getAvailableQuantity(1L)).isEqualTo(100);
+
+        // Release only lands after commit, so a rollback simply never applies it
+        TransactionSynchronizationManager.clearSynchronization();
+        assertThat(ledger.getAvailableQuantity(1L)).isEqualTo(100);
+    }
+
+    @Test
+    void whenFlushFails_thenDeltaIsKeptForTheNextFlush() {
+        ledger.tryReserve(1L, 4);
+        doThrow(new RuntimeException("database down")).doReturn(1)
+                .when(ticketRepository).adjustAvailableQuantity(1L, -4);
+
+        ledger.flush();
+        ledger.flush();
+
+        verify(ticketRepository, times(2)).adjustAvailableQuantity(1L, -4);
+    }
+
+    @Test
+    void whenStarted_thenStockIsReconciledAndLoadedBeforeAnyReservation() {
+        TicketInventoryLedger starting = new TicketInventoryLedger(ticketRepository, ledgerProperties());
+        when(ticketRepository.reconcileAvailableQuantities()).thenReturn(3);
+        when(ticketRepository.findAvailabilityForUpcomingEvents(any(LocalDateTime.class)))
+                .thenReturn(List.of(availability(1L, 42), availability(2L, 7)));
+
+        assertThatThrownBy(() -> starting.tryReserve(1L, 1))
+                .isInstanceOf(ServiceUnavailableException.class);
+        starting.start();
+
+        assertThat(starting.isRunning()).isTrue();
+        assertThat(starting.getAvailableQuantity(1L)).isEqualTo(42);
+        assertThat(starting.getAvailableQuantity(2L)).isEqualTo(7);
+        assertThat(starting.tryReserve(1L, 2)).isTrue();
+        verify(ticketRepository, never()).findAvailableQuantityById(anyLong());
+    }
+
+    @Test
+    void whenRebuildRunsWhileABookingIsInFlight_thenItsReservationIsKept() {
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.tryReserve(1L, 5);
+        when(ticketRepository.findAvailabilityForUpcomingEvents(any(LocalDateTime.class)))
+                .thenReturn(List.of(availability(1L, 100)));
+
+        ledger.rebuild();
+        complete(TransactionSynchronization.STATUS_COMMITTED);
+        ledger.flush();
+
+        assertThat(ledger.getAvailableQuantity(1L)).isEqualTo(95);
+        verify(ticketRepository, times(1)).adjustAvailableQuantity(1L, -5);
+    }
+
+    @Test
+    void whenEventHasStarted_thenEntryIsFlushedAndDropped() {
+        when(ticketRepository.findAvailableQuantityById(2L)).thenReturn(Optional.of(10));
+        ledger.tryReserve(1L, 2);
+        ledger.tryReserve(2L, 1);
+        when(ticketRepository.findIdsForUpcomingEvents(anyCollection(), any(LocalDateTime.class)))
+                .thenReturn(Set.of(2L));
+
+        ledger.evictFinished();
+
+        verify(ticketRepository).adjustAvailableQuantity(1L, -2);
+        verify(ticketRepository, never()).adjustAvailableQuantity(2L, -1);
+        // The evicted ticket is read again from the database on its next use
+        when(ticketRepository.findAvailableQuantityById(1L)).thenReturn(Optional.of(98));
+        assertThat(ledger.getAvailableQuantity(1L)).isEqualTo(98);
+        verify(ticketRepository, times(2)).findAvailableQuantityById(1L);
+    }
+
+    @Test
+    void whenTicketIsDeleted_thenEntryGoesOnlyAfterCommit() {
+        ledger.getAvailableQuantity(1L);
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.evict(1L);
+        complete(TransactionSynchronization.STATUS_ROLLED_BACK);
+        ledger.getAvailableQuantity(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        ledger.evict(1L);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        TransactionSynchronizationManager.clearSynchronization();
+        ledger.getAvailableQuantity(1L);
+
+        verify(ticketRepository, times(2)).findAvailableQuantityById(1L);
+    }
+
+    private AppProperties ledgerProperties() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getInventory().setStrategy(InventoryMode.LEDGER);
+        return appProperties;
+    }
+
+    private void complete(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(synchronization -> {
+            if (status == TransactionSynchronization.STATUS_COMMITTED) {
+                synchronization.afterCommit();
+            }
+            synchronization.afterCompletion(status);
+        });
+    }
+
+    private TicketRepository.TicketAvailability availability(Long id, int available) {
+        return new TicketRepository.TicketAvailability() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public Integer getAvailableQuantity() {
+                return available;
+            }
+        };
+    }
+}
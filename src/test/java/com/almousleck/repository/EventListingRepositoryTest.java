@@ -0,0 +1,110 @@
+package com.almousleck.repository;
+
+import com.almousleck.model.EventListing;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class EventListingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventListingRepository eventListingRepository;
+
+    @Test
+    void whenScrollingListings_thenEveryEventIsSeenOnceInOrder() {
+        // Given: ties on startDate must be broken by id so nothing is skipped or repeated
+        LocalDateTime sameStart = LocalDateTime.now().plusDays(3).withNano(0);
+        List<Long> expected = new ArrayList<>();
+        for (long id = 1; id <= 7; id++) {
+            eventListingRepository.save(listing(id, id <= 4 ? sameStart : sameStart.plusDays(id)));
+            expected.add(id);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        List<EventListing> slice = eventListingRepository.findFirst(Limit.of(3));
+        while (!slice.isEmpty()) {
+            slice.forEach(event -> seen.add(event.getId()));
+            EventListing last = slice.get(slice.size() - 1);
+            slice = eventListingRepository.findAfter(last.getStartDate(), last.getId(), Limit.of(3));
+        }
+
+        // Then
+        assertThat(seen).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void whenScrollingUpcomingListings_thenStartedEventsAreLeftOut() {
+        // Given
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        LocalDateTime sameStart = now.plusDays(2);
+        eventListingRepository.save(listing(1L, now.minusHours(1)));
+        eventListingRepository.save(listing(2L, sameStart));
+        eventListingRepository.save(listing(3L, sameStart));
+        eventListingRepository.save(listing(4L, now.minusDays(1)));
+        eventListingRepository.save(listing(5L, sameStart.plusDays(1)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Long> seen = new ArrayList<>();
+        List<EventListing> slice = eventListingRepository.findUpcomingFirst(now, Limit.of(2));
+        while (!slice.isEmpty()) {
+            slice.forEach(event -> seen.add(event.getId()));
+            EventListing last = slice.get(slice.size() - 1);
+            slice = eventListingRepository.findUpcomingAfter(now, last.getStartDate(), last.getId(), Limit.of(2));
+        }
+
+        // Then
+        assertThat(seen).containsExactly(2L, 3L, 5L);
+    }
+
+    @Test
+    void whenCategoryIsRenamed_thenItsRowsFollow() {
+        // Given
+        eventListingRepository.save(listing(1L, LocalDateTime.now().plusDays(1)));
+        entityManager.flush();
+
+        // When
+        int updated = eventListingRepository.updateCategoryName(10L, "Live Music");
+        entityManager.clear();
+
+        // Then
+        assertThat(updated).isEqualTo(1);
+        assertThat(eventListingRepository.findById(1L))
+                .hasValueSatisfying(row -> assertThat(row.getCategoryName()).isEqualTo("Live Music"));
+    }
+
+    private EventListing listing(Long id, LocalDateTime startDate) {
+        return EventListing.builder()
+                .id(id)
+                .title("Event " + id)
+                .location("Hall")
+                .startDate(startDate)
+                .endDate(startDate.plusHours(2))
+                .basePrice(new BigDecimal("10.00"))
+                .categoryId(10L)
+                .categoryName("Music")
+                .organizerId(20L)
+                .organizerName("Organizer")
+                .availableTickets(100)
+                .build();
+    }
+}
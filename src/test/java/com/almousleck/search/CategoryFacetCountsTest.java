@@ -0,0 +1,69 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.repository.EventListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CategoryFacetCountsTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    private EventListingRepository listingRepository;
+    private CategoryFacetCounts counts;
+
+    @BeforeEach
+    void setUp() {
+        listingRepository = mock(EventListingRepository.class);
+        when(listingRepository.findChunkAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        counts = new CategoryFacetCounts(listingRepository, new AppProperties());
+        counts.rebuild();
+    }
+
+    @Test
+    void whenFilteringUpcoming_thenOnlyLaterStartsCount() {
+        counts.put(event(1L, 10L, NOW.minusDays(1)));
+        counts.put(event(2L, 10L, NOW.plusDays(1)));
+        counts.put(event(3L, 10L, NOW.plusDays(2)));
+        counts.put(event(4L, 20L, NOW.minusDays(3)));
+
+        assertThat(counts.count(null)).containsOnlyKeys(10L, 20L)
+                .containsEntry(10L, 3L)
+                .containsEntry(20L, 1L);
+        assertThat(counts.count(NOW)).containsExactlyEntriesOf(Map.of(10L, 2L));
+        verify(listingRepository, never()).countPerCategory(any());
+    }
+
+    @Test
+    void whenEventMovesCategoryOrIsRemoved_thenCountsFollow() {
+        counts.put(event(1L, 10L, NOW.plusDays(1)));
+        counts.put(event(2L, 10L, NOW.plusDays(1)));
+        counts.put(event(1L, 20L, NOW.plusDays(5)));
+        // Refreshing an unchanged event does not count it twice
+        counts.put(event(2L, 10L, NOW.plusDays(1)));
+
+        assertThat(counts.count(NOW)).containsEntry(10L, 1L).containsEntry(20L, 1L);
+
+        counts.remove(1L);
+        counts.remove(2L);
+        counts.remove(99L);
+        assertThat(counts.count(null)).isEmpty();
+    }
+
+    private IndexedEvent event(Long id, Long categoryId, LocalDateTime startDate) {
+        return new IndexedEvent(id, categoryId, startDate, "Event " + id, null, "Dakar", "Category", 0);
+    }
+}
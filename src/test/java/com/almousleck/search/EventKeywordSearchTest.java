@@ -0,0 +1,66 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class EventKeywordSearchTest {
+
+    @Test
+    void whenPostgresBackendRunsOnAnotherDatabase_thenSearchFallsBackToLike() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSearch().setBackend(SearchBackend.POSTGRES);
+        SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class, RETURNS_DEEP_STUBS);
+        when(sessionFactory.getJdbcServices().getDialect()).thenReturn(new H2Dialect());
+        EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+        when(entityManagerFactory.unwrap(SessionFactoryImplementor.class)).thenReturn(sessionFactory);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        EventListingRepository listingRepository = mock(EventListingRepository.class);
+
+        PostgresFullTextSearch postgres = new PostgresFullTextSearch(entityManagerFactory, jdbcTemplate,
+                listingRepository, appProperties);
+        postgres.ensureSearchColumn();
+        LikeKeywordSearch like = new LikeKeywordSearch(listingRepository);
+        EventKeywordSearch keywordSearch = new EventKeywordSearch(List.of(postgres, like), like, appProperties);
+
+        Pageable pageable = PageRequest.of(0, 10);
+        Page<EventListing> likeResults = new PageImpl<>(List.of(EventListing.builder().id(1L).build()), pageable, 1);
+        when(listingRepository.findAll(ArgumentMatchers.<Specification<EventListing>>any(), any(Pageable.class)))
+                .thenReturn(likeResults);
+
+        assertThat(postgres.isAvailable()).isFalse();
+        assertThat(keywordSearch.search("jazz", pageable)).isSameAs(likeResults);
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void whenPageIsSorted_thenFullTextOrderUsesListingColumnsWithIdTieBreaker() {
+        assertThat(PostgresFullTextSearch.orderBy(Sort.unsorted()))
+                .hasValueSatisfying(order -> assertThat(order).startsWith("ts_rank("));
+        assertThat(PostgresFullTextSearch.orderBy(Sort.by(Sort.Direction.DESC, "startDate").and(Sort.by("title"))))
+                .contains("l.start_date DESC, l.title ASC, l.id");
+        // Unknown properties are left to the LIKE query rather than spliced into SQL
+        assertThat(PostgresFullTextSearch.orderBy(Sort.by("organizerName; DROP TABLE events"))).isEmpty();
+    }
+}
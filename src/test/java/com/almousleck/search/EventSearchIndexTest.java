@@ -0,0 +1,136 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSearchIndexTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    private EventListingRepository listingRepository;
+    private EventSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        listingRepository = mock(EventListingRepository.class);
+        when(listingRepository.findChunkAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSearch().setBackend(SearchBackend.INDEX);
+        index = new EventSearchIndex(listingRepository, appProperties);
+        index.rebuild();
+    }
+
+    @Test
+    void whenQueryHasSeveralTerms_thenEveryTermMustMatch() {
+        index.put(event(1L, "Jazz Night", "Smooth jazz in the park", "Dakar"));
+        index.put(event(2L, "Rock Night", "Loud guitars", "Dakar"));
+
+        assertThat(hits("jazz night")).containsExactly(1L);
+        assertThat(hits("night dakar")).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(hits("jazz guitars")).isEmpty();
+    }
+
+    @Test
+    void whenTermIsInTitle_thenItOutranksADescriptionMention() {
+        index.put(event(1L, "City Marathon", "Run with a jazz band at the finish line", "Lagos"));
+        index.put(event(2L, "Jazz Festival", "Three stages of live music", "Lagos"));
+
+        assertThat(hits("jazz")).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void whenLastTermIsUnfinished_thenItMatchesAsPrefix() {
+        index.put(event(1L, "Concert for Peace", null, "Accra"));
+        index.put(event(2L, "Conference on Climate", null, "Accra"));
+
+        assertThat(hits("conc")).containsExactly(1L);
+        assertThat(hits("con")).containsExactlyInAnyOrder(1L, 2L);
+        // Only the last term is a prefix
+        assertThat(hits("conc peace")).isEmpty();
+    }
+
+    @Test
+    void whenTextHasAccentsAndCase_thenBothSidesAreNormalised() {
+        index.put(event(1L, "Fête de la Musique", null, "Abidjan"));
+
+        assertThat(hits("FETE musique")).containsExactly(1L);
+    }
+
+    @Test
+    void whenEventIsUpdatedOrRemoved_thenOldTermsStopMatching() {
+        index.put(event(1L, "Jazz Night", null, "Dakar"));
+        index.put(event(1L, "Salsa Night", null, "Dakar"));
+
+        assertThat(hits("jazz")).isEmpty();
+        assertThat(hits("salsa")).containsExactly(1L);
+
+        index.remove(1L);
+        assertThat(hits("salsa")).isEmpty();
+    }
+
+    @Test
+    void whenManyUpdatesPileUp_thenCompactionKeepsResultsIntact() {
+        for (int round = 0; round < 5; round++) {
+            for (long id = 1; id <= 500; id++) {
+                index.put(event(id, "Workshop " + (id % 2 == 0 ? "even" : "odd"), null, "Hall"));
+            }
+        }
+
+        EventSearchIndex.Hits hits = index.search("workshop even", null, null,
+                EventSearchIndex.Order.START_DATE_ASC, 0, 1000).orElseThrow();
+        assertThat(hits.total()).isEqualTo(250);
+        assertThat(hits.eventIds()).doesNotHaveDuplicates().allMatch(id -> id % 2 == 0);
+    }
+
+    @Test
+    void whenFilteringAndPaging_thenOnlyMatchingDocumentsAreCounted() {
+        for (long id = 1; id <= 6; id++) {
+            index.put(new IndexedEvent(id, id <= 3 ? 10L : 20L, NOW.plusDays(id - 3), "Comedy Show " + id,
+                    null, "Theatre", "Comedy", 0));
+        }
+
+        EventSearchIndex.Hits upcomingInCategory = index.search("comedy", 20L, NOW,
+                EventSearchIndex.Order.START_DATE_DESC, 0, 2).orElseThrow();
+
+        assertThat(upcomingInCategory.total()).isEqualTo(3);
+        assertThat(upcomingInCategory.eventIds()).containsExactly(6L, 5L);
+    }
+
+    @Test
+    void whenPageIsSortedByAnotherColumn_thenDatabaseIsLeftToAnswer() {
+        index.put(event(1L, "Jazz Night", null, "Dakar"));
+        when(listingRepository.findAllById(eq(List.of(1L)))).thenReturn(List.of(EventListing.builder().id(1L).build()));
+
+        Page<EventListing> ranked = index.searchListings("jazz", null, PageRequest.of(0, 10)).orElseThrow();
+
+        assertThat(ranked.getContent()).extracting(EventListing::getId).containsExactly(1L);
+        assertThat(index.searchListings("jazz", null, PageRequest.of(0, 10, Sort.by("title")))).isEmpty();
+    }
+
+    private List<Long> hits(String query) {
+        return index.search(query, null, null, EventSearchIndex.Order.RELEVANCE, 0, 100)
+                .orElseThrow()
+                .eventIds();
+    }
+
+    private IndexedEvent event(Long id, String title, String description, String location) {
+        return new IndexedEvent(id, 1L, NOW.plusDays(id), title, description, location, "Music", 0);
+    }
+}
@@ -0,0 +1,105 @@
+package com.almousleck.search;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.repository.EventListingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EventSuggesterTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 6, 1, 12, 0);
+
+    private EventSuggester suggester;
+
+    @BeforeEach
+    void setUp() {
+        EventListingRepository listingRepository = mock(EventListingRepository.class);
+        when(listingRepository.findChunkAfter(anyLong(), any(Limit.class))).thenReturn(List.of());
+        suggester = new EventSuggester(listingRepository, new AppProperties());
+        suggester.rebuild();
+    }
+
+    @Test
+    void whenSeveralPhrasesMatch_thenMostPopularComeFirst() {
+        suggester.put(event(1L, "Jazz Night", "Dakar", "Music", 10));
+        suggester.put(event(2L, "Jazz Brunch", "Dakar", "Food", 400));
+        suggester.put(event(3L, "Japanese Film Week", "Accra", "Film", 50));
+
+        assertThat(texts("ja", 10)).containsExactly("Jazz Brunch", "Japanese Film Week", "Jazz Night");
+        assertThat(texts("ja", 2)).containsExactly("Jazz Brunch", "Japanese Film Week");
+        // Locations are shared, so their popularity adds up
+        assertThat(suggester.suggest("dak", 5)).singleElement()
+                .satisfies(suggestion -> {
+                    assertThat(suggestion.kind()).isEqualTo(EventSuggester.Kind.LOCATION);
+                    assertThat(suggestion.events()).isEqualTo(2);
+                });
+    }
+
+    @Test
+    void whenPrefixStartsALaterWord_thenPhraseStillMatches() {
+        suggester.put(event(1L, "Fête de la Musique", "Abidjan", "Music", 0));
+
+        assertThat(texts("musiq", 5)).containsExactly("Fête de la Musique");
+        assertThat(texts("FETE DE", 5)).containsExactly("Fête de la Musique");
+    }
+
+    @Test
+    void whenPrefixHasATypo_thenCloseWordsAreSuggested() {
+        suggester.put(event(1L, "Marathon", "Lagos", "Sport", 0));
+        suggester.put(event(2L, "Masterclass", "Lagos", "Education", 0));
+
+        assertThat(texts("mrath", 5)).containsExactly("Marathon");
+        assertThat(texts("marahton", 5)).containsExactly("Marathon");
+        assertThat(texts("xyzzy", 5)).isEmpty();
+    }
+
+    @Test
+    void whenEventIsUpdatedOrRemoved_thenTrieFollows() {
+        suggester.put(event(1L, "Rock Night", "Dakar", "Music", 0));
+        suggester.put(event(2L, "Rock Opera", "Dakar", "Music", 0));
+        suggester.put(event(1L, "Salsa Night", "Dakar", "Music", 0));
+
+        assertThat(texts("rock", 5)).containsExactly("Rock Opera");
+        assertThat(texts("sal", 5)).containsExactly("Salsa Night");
+
+        suggester.remove(2L);
+        assertThat(texts("rock", 5)).isEmpty();
+        assertThat(suggester.suggest("music", 5)).extracting(EventSuggester.Suggestion::text).containsExactly("Music");
+        suggester.remove(1L);
+        assertThat(suggester.suggest("music", 5)).isEmpty();
+    }
+
+    @Test
+    void whenSharedPrefixesSplitAndMerge_thenEveryKeyStaysReachable() {
+        suggester.put(event(1L, "Concert", "Hall", "Music", 3));
+        suggester.put(event(2L, "Conference", "Hall", "Business", 2));
+        suggester.put(event(3L, "Con", "Hall", "Comics", 1));
+
+        assertThat(texts("con", 10)).containsExactly("Concert", "Conference", "Con");
+        suggester.remove(3L);
+        suggester.remove(1L);
+        assertThat(texts("con", 10)).containsExactly("Conference");
+        assertThat(texts("confe", 10)).containsExactly("Conference");
+    }
+
+    private List<String> texts(String prefix, int limit) {
+        return suggester.suggest(prefix, limit).stream()
+                .filter(suggestion -> suggestion.kind() == EventSuggester.Kind.TITLE)
+                .map(EventSuggester.Suggestion::text)
+                .toList();
+    }
+
+    private IndexedEvent event(Long id, String title, String location, String category, int soldTickets) {
+        return new IndexedEvent(id, 1L, NOW.plusDays(id), title, null, location, category, soldTickets);
+    }
+}
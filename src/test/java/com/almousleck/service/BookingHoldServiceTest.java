@@ -0,0 +1,137 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.inventory.PessimisticInventoryStrategy;
+import com.almousleck.inventory.ShardedTicketInventory;
+import com.almousleck.model.*;
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.repository.TicketInventoryShardRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.utils.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class BookingHoldServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketInventoryShardRepository shardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final MutableClock clock = new MutableClock(Instant.now(), ZoneId.systemDefault());
+    private BookingHoldService bookingHoldService;
+    private User user;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getBooking().getHold().setTickMs(10);
+        TicketInventoryService ticketInventoryService = new TicketInventoryService(
+                List.of(new PessimisticInventoryStrategy(ticketRepository)),
+                new ShardedTicketInventory(ticketRepository, shardRepository),
+                mock(TicketAvailabilityService.class),
+                mock(EventListingProjector.class),
+                appProperties);
+        bookingHoldService = new BookingHoldService(bookingRepository, ticketInventoryService, transactionManager,
+                appProperties, clock);
+
+        user = entityManager.persist(User.builder()
+                .name("Test User")
+                .username("testuser")
+                .email("test@example.com")
+                .password("password123")
+                .enabled(true)
+                .build());
+        EventCategory category = entityManager.persist(EventCategory.builder()
+                .name("Music")
+                .build());
+        Event event = entityManager.persist(Event.builder()
+                .title("Concert")
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(true)
+                .category(category)
+                .organizer(user)
+                .build());
+        ticket = entityManager.persist(Ticket.builder()
+                .type("General Admission")
+                .price(new BigDecimal("50.00"))
+                .totalQuantity(10)
+                .availableQuantity(5)
+                .event(event)
+                .build());
+    }
+
+    @Test
+    void whenHoldsRunOut_thenSeatsReturnInOneRelease() {
+        Booking first = createBooking("BK-1", 2, Booking.BookingStatus.PENDING, LocalDateTime.now(clock).minusMinutes(1));
+        Booking second = createBooking("BK-2", 1, Booking.BookingStatus.PENDING, LocalDateTime.now(clock).minusMinutes(1));
+        Booking paid = createBooking("BK-3", 1, Booking.BookingStatus.CONFIRMED, LocalDateTime.now(clock).minusMinutes(1));
+        Booking active = createBooking("BK-4", 1, Booking.BookingStatus.PENDING, LocalDateTime.now(clock).plusMinutes(10));
+        entityManager.flush();
+
+        bookingHoldService.rebuild();
+        // Holds already past due land in the next tick, which has elapsed once the clock moves two ticks on
+        clock.advance(Duration.ofMillis(20));
+        bookingHoldService.expireHolds();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(bookingRepository.findById(first.getId()).orElseThrow().getStatus()).isEqualTo(Booking.BookingStatus.EXPIRED);
+        assertThat(bookingRepository.findById(second.getId()).orElseThrow().getStatus()).isEqualTo(Booking.BookingStatus.EXPIRED);
+        assertThat(bookingRepository.findById(paid.getId()).orElseThrow().getStatus()).isEqualTo(Booking.BookingStatus.CONFIRMED);
+        assertThat(bookingRepository.findById(active.getId()).orElseThrow().getStatus()).isEqualTo(Booking.BookingStatus.PENDING);
+        assertThat(ticketRepository.findAvailableQuantityById(ticket.getId())).contains(8);
+
+        clock.advance(Duration.ofMinutes(11));
+        bookingHoldService.expireHolds();
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(bookingRepository.findById(active.getId()).orElseThrow().getStatus()).isEqualTo(Booking.BookingStatus.EXPIRED);
+        assertThat(ticketRepository.findAvailableQuantityById(ticket.getId())).contains(9);
+    }
+
+    private Booking createBooking(String reference, int quantity, Booking.BookingStatus status, LocalDateTime expiresAt) {
+        return entityManager.persist(Booking.builder()
+                .bookingReference(reference)
+                .quantity(quantity)
+                .totalAmount(ticket.getPrice().multiply(BigDecimal.valueOf(quantity)))
+                .status(status)
+                .expiresAt(expiresAt)
+                .user(user)
+                .ticket(ticket)
+                .event(ticket.getEvent())
+                .build());
+    }
+}
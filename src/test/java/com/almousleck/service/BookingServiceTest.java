@@ -0,0 +1,233 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.booking.BookingDetailResponse;
+import com.almousleck.dto.booking.CartBookingResponse;
+import com.almousleck.dto.booking.CreateBookingRequest;
+import com.almousleck.dto.booking.CreateCartBookingRequest;
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.inventory.PessimisticInventoryStrategy;
+import com.almousleck.inventory.ShardedTicketInventory;
+import com.almousleck.model.*;
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.TicketInventoryShardRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.ReferenceGenerator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+// Each checkout commits or rolls back for real, as it would behind the service proxy
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BookingServiceTest {
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private TicketInventoryShardRepository shardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final List<User> users = new ArrayList<>();
+    private final List<Event> events = new ArrayList<>();
+    private TransactionTemplate transactionTemplate;
+    private BookingService bookingService;
+    private EventCategory category;
+    private User organizer;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        TicketInventoryService ticketInventoryService = new TicketInventoryService(
+                List.of(new PessimisticInventoryStrategy(ticketRepository)),
+                new ShardedTicketInventory(ticketRepository, shardRepository),
+                mock(TicketAvailabilityService.class),
+                mock(EventListingProjector.class),
+                appProperties);
+        bookingService = new BookingService(bookingRepository, eventRepository, userRepository,
+                mock(NotificationService.class), mock(AuditLogger.class), ticketInventoryService,
+                new BookingHoldService(bookingRepository, ticketInventoryService, transactionManager, appProperties),
+                new ReferenceGenerator(0, Clock.systemDefaultZone()), mock(OutboxService.class));
+
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        organizer = user("organizer");
+        category = categoryRepository.save(EventCategory.builder().name("Music").build());
+        event = event("Concert", true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        bookingRepository.deleteAll();
+        events.forEach(saved -> ticketRepository.deleteAll(ticketRepository.findByEvent(saved)));
+        eventRepository.deleteAll(events);
+        categoryRepository.delete(category);
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void whenOneBatchItemWantsMoreThanIsLeft_thenTheOthersAreStillBooked() {
+        Ticket ticket = ticket(event, 3);
+        List<BookingService.BatchBooking> batch = List.of(
+                batchItem(user("first"), ticket, 2),
+                batchItem(user("second"), ticket, 2),
+                batchItem(user("third"), ticket, 1));
+
+        List<BookingService.BatchOutcome> outcomes = transactionTemplate.execute(status ->
+                bookingService.createBookingBatch(ticket.getId(), batch));
+
+        assertThat(outcomes.get(0).booking()).isNotNull();
+        assertThat(outcomes.get(1).error()).isInstanceOf(BadRequestException.class);
+        assertThat(outcomes.get(2).booking()).isNotNull();
+        assertThat(ticketRepository.findAvailableQuantityById(ticket.getId())).contains(0);
+        assertThat(bookingRepository.count()).isEqualTo(2);
+    }
+
+    @Test
+    void whenOneCartItemIsSoldOut_thenNothingInTheCartIsBooked() {
+        Ticket vip = ticket(event, 5);
+        Ticket general = ticket(event, 1);
+        User buyer = user("buyer");
+
+        assertThatThrownBy(() -> checkout(buyer, item(vip, 2), item(general, 3)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Not enough tickets available");
+
+        // The first item was already reserved when the second failed
+        assertThat(ticketRepository.findAvailableQuantityById(vip.getId())).contains(5);
+        assertThat(ticketRepository.findAvailableQuantityById(general.getId())).contains(1);
+        assertThat(bookingRepository.count()).isZero();
+    }
+
+    @Test
+    void whenCartRepeatsATicket_thenItIsBookedOnceWithTheSummedQuantity() {
+        Ticket vip = ticket(event, 5);
+
+        CartBookingResponse cart = checkout(user("buyer"), item(vip, 1), item(vip, 2));
+
+        assertThat(cart.getBookings()).singleElement()
+                .satisfies(booking -> assertThat(booking.getQuantity()).isEqualTo(3));
+        assertThat(cart.getTotalAmount()).isEqualByComparingTo("150.00");
+        assertThat(ticketRepository.findAvailableQuantityById(vip.getId())).contains(2);
+    }
+
+    @Test
+    void whenCartSpansEvents_thenAnUnbookableEventRejectsTheWholeCart() {
+        Ticket concert = ticket(event, 5);
+        Ticket unpublished = ticket(event("Draft", false), 5);
+        User buyer = user("buyer");
+
+        assertThatThrownBy(() -> checkout(buyer, item(concert, 1), item(unpublished, 1)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Cannot book tickets for an unpublished event");
+        assertThat(ticketRepository.findAvailableQuantityById(concert.getId())).contains(5);
+        assertThat(bookingRepository.count()).isZero();
+
+        // Tickets of several bookable events still go through together
+        Event festival = event("Festival", true);
+        CartBookingResponse cart = checkout(buyer, item(concert, 1), item(ticket(festival, 5), 2));
+        assertThat(cart.getBookings()).extracting(BookingDetailResponse::getEventId)
+                .containsExactlyInAnyOrder(event.getId(), festival.getId());
+    }
+
+    private CartBookingResponse checkout(User buyer, CreateBookingRequest... items) {
+        return transactionTemplate.execute(status -> bookingService.createCartBooking(principal(buyer), cart(items)));
+    }
+
+    private CreateCartBookingRequest cart(CreateBookingRequest... items) {
+        CreateCartBookingRequest cart = new CreateCartBookingRequest();
+        cart.setItems(List.of(items));
+        return cart;
+    }
+
+    private CreateBookingRequest item(Ticket ticket, int quantity) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setTicketId(ticket.getId());
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private BookingService.BatchBooking batchItem(User user, Ticket ticket, int quantity) {
+        return new BookingService.BatchBooking(principal(user), item(ticket, quantity));
+    }
+
+    private UserPrincipal principal(User user) {
+        return UserPrincipal.builder().id(user.getId()).username(user.getUsername()).authorities(List.of()).build();
+    }
+
+    private User user(String username) {
+        User user = userRepository.save(User.builder()
+                .name(username)
+                .username(username)
+                .email(username + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .build());
+        users.add(user);
+        return user;
+    }
+
+    private Event event(String title, boolean published) {
+        Event saved = eventRepository.save(Event.builder()
+                .title(title)
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(published)
+                .category(category)
+                .organizer(organizer)
+                .build());
+        events.add(saved);
+        return saved;
+    }
+
+    private Ticket ticket(Event event, int available) {
+        return ticketRepository.save(Ticket.builder()
+                .type("General Admission")
+                .price(new BigDecimal("50.00"))
+                .totalQuantity(available)
+                .availableQuantity(available)
+                .event(event)
+                .build());
+    }
+}
@@ -0,0 +1,180 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.booking.BookingDetailResponse;
+import com.almousleck.dto.event.EventDetailResponse;
+import com.almousleck.dto.payment.PaymentResponse;
+import com.almousleck.model.Booking;
+import com.almousleck.model.Event;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.PaymentTransaction;
+import com.almousleck.model.Ticket;
+import com.almousleck.model.User;
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.PaymentTransactionRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.search.EventKeywordSearch;
+import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.CacheConfig;
+import com.almousleck.utils.ReferenceGenerator;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// Query budgets for the detail endpoints; a new lazy walk in a converter shows up here as an extra statement
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class DetailQueryBudgetTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PaymentTransactionRepository paymentTransactionRepository;
+
+    private EventService eventService;
+    private BookingService bookingService;
+    private PaymentService paymentService;
+    private Statistics statistics;
+    private UserPrincipal buyer;
+    private Event event;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        CacheManager cacheManager = new CacheConfig().cacheManager(appProperties);
+        eventService = new EventService(eventRepository, categoryRepository, ticketRepository, userRepository,
+                mock(AuditLogger.class), mock(TicketInventoryService.class), new EventListingCache(cacheManager, appProperties),
+                new EventDetailCache(cacheManager), new TicketAvailabilityService(ticketRepository, appProperties),
+                mock(EventListingRepository.class), mock(EventListingProjector.class),
+                mock(EventKeywordSearch.class));
+        bookingService = new BookingService(bookingRepository, eventRepository, userRepository,
+                mock(NotificationService.class), mock(AuditLogger.class), mock(TicketInventoryService.class),
+                mock(BookingHoldService.class), mock(ReferenceGenerator.class), mock(OutboxService.class));
+        paymentService = new PaymentService(paymentTransactionRepository, bookingRepository, bookingService,
+                mock(ReferenceGenerator.class));
+
+        User organizer = entityManager.persist(user("organizer"));
+        User customer = entityManager.persist(user("customer"));
+        buyer = UserPrincipal.create(customer);
+        EventCategory category = entityManager.persist(EventCategory.builder()
+                .name("Music")
+                .active(true)
+                .build());
+        event = entityManager.persist(Event.builder()
+                .title("Concert")
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(true)
+                .category(category)
+                .organizer(organizer)
+                .build());
+        Ticket ticket = null;
+        for (String type : new String[]{"General", "VIP", "Backstage"}) {
+            ticket = entityManager.persist(Ticket.builder()
+                    .type(type)
+                    .price(new BigDecimal("50.00"))
+                    .totalQuantity(100)
+                    .availableQuantity(100)
+                    .event(event)
+                    .build());
+        }
+        Booking booking = entityManager.persist(Booking.builder()
+                .bookingReference("BK-1")
+                .quantity(2)
+                .totalAmount(new BigDecimal("100.00"))
+                .status(Booking.BookingStatus.PENDING)
+                .user(customer)
+                .ticket(ticket)
+                .event(event)
+                .build());
+        entityManager.persist(PaymentTransaction.builder()
+                .transactionReference("TX-1")
+                .amount(new BigDecimal("100.00"))
+                .status(PaymentTransaction.PaymentStatus.PENDING)
+                .paymentMethod(PaymentTransaction.PaymentMethod.STRIPE)
+                .booking(booking)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void eventDetail_loadsGraphAndAvailabilityInTwoStatements() {
+        EventDetailResponse detail = eventService.getEventById(event.getId());
+
+        assertThat(detail.getTickets()).hasSize(3);
+        assertThat(detail.getOrganizerName()).isEqualTo("organizer");
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    void bookingDetail_loadsInOneStatement() {
+        BookingDetailResponse detail = bookingService.getBookingByReference(buyer, "BK-1");
+
+        assertThat(detail.getEventTitle()).isEqualTo("Concert");
+        assertThat(detail.getUserEmail()).isEqualTo("customer@example.com");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void paymentStatus_loadsInOneStatement() {
+        PaymentResponse response = paymentService.getPaymentStatus(buyer, "TX-1");
+
+        assertThat(response.getBookingReference()).isEqualTo("BK-1");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private User user(String name) {
+        return User.builder()
+                .name(name)
+                .username(name)
+                .email(name + "@example.com")
+                .password("password123")
+                .enabled(true)
+                .roles(new HashSet<>())
+                .build();
+    }
+}
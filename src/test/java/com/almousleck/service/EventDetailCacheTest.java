@@ -0,0 +1,191 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.event.EventDetailResponse;
+import com.almousleck.dto.event.UpdateTicketRequest;
+import com.almousleck.inventory.PessimisticInventoryStrategy;
+import com.almousleck.inventory.ShardedTicketInventory;
+import com.almousleck.model.Event;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.Ticket;
+import com.almousleck.model.User;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.TicketInventoryShardRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.search.EventKeywordSearch;
+import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.CacheConfig;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// Runs without a test transaction so cache invalidation sees real commits
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventDetailCacheTest {
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketInventoryShardRepository shardRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EventDetailCache eventDetailCache;
+    private TicketInventoryService ticketInventoryService;
+    private EventService eventService;
+    private TransactionTemplate transactionTemplate;
+    private UserPrincipal organizer;
+    private Event event;
+    private Ticket ticket;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        CacheManager cacheManager = new CacheConfig().cacheManager(appProperties);
+        eventDetailCache = new EventDetailCache(cacheManager);
+        TicketAvailabilityService ticketAvailabilityService = new TicketAvailabilityService(ticketRepository, appProperties);
+        ticketInventoryService = new TicketInventoryService(
+                List.of(new PessimisticInventoryStrategy(ticketRepository)),
+                new ShardedTicketInventory(ticketRepository, shardRepository),
+                ticketAvailabilityService,
+                mock(EventListingProjector.class),
+                appProperties);
+        eventService = new EventService(eventRepository, categoryRepository, ticketRepository, userRepository,
+                mock(AuditLogger.class), ticketInventoryService, new EventListingCache(cacheManager, appProperties), eventDetailCache,
+                ticketAvailabilityService, mock(EventListingRepository.class), mock(EventListingProjector.class),
+                mock(EventKeywordSearch.class));
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        User user = userRepository.save(User.builder()
+                .name("Organizer")
+                .username("organizer")
+                .email("organizer@example.com")
+                .password("password123")
+                .enabled(true)
+                .roles(new HashSet<>())
+                .build());
+        organizer = UserPrincipal.create(user);
+        EventCategory category = categoryRepository.save(EventCategory.builder()
+                .name("Music")
+                .active(true)
+                .build());
+        event = eventRepository.save(Event.builder()
+                .title("Concert")
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(true)
+                .category(category)
+                .organizer(user)
+                .build());
+        ticket = ticketRepository.save(Ticket.builder()
+                .type("General Admission")
+                .price(new BigDecimal("50.00"))
+                .totalQuantity(100)
+                .availableQuantity(100)
+                .event(event)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void whenDetailIsCached_thenNoSqlRuns() {
+        eventService.getEventById(event.getId());
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        EventDetailResponse detail = eventService.getEventById(event.getId());
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+        assertThat(detail.getTitle()).isEqualTo("Concert");
+        assertThat(detail.getTickets()).singleElement()
+                .satisfies(cached -> assertThat(cached.getAvailableQuantity()).isEqualTo(100));
+    }
+
+    @Test
+    void whenTicketsAreBooked_thenDetailIsKeptAndAvailabilityMoves() {
+        eventService.getEventById(event.getId());
+        long version = eventDetailCache.getDetails(event.getId()).orElseThrow().version();
+
+        transactionTemplate.executeWithoutResult(status -> ticketInventoryService.reserve(
+                ticketInventoryService.getTicketForBooking(ticket.getId(), 3), 3));
+
+        assertThat(eventDetailCache.getDetails(event.getId())).hasValueSatisfying(
+                snapshot -> assertThat(snapshot.version()).isEqualTo(version));
+        assertThat(eventService.getEventById(event.getId()).getTickets().get(0).getAvailableQuantity()).isEqualTo(97);
+    }
+
+    @Test
+    void whenTicketChanges_thenEventVersionMovesAndDetailIsReplaced() {
+        eventService.getEventById(event.getId());
+        long version = eventDetailCache.getDetails(event.getId()).orElseThrow().version();
+
+        UpdateTicketRequest request = new UpdateTicketRequest();
+        request.setPrice(new BigDecimal("75.00"));
+        transactionTemplate.executeWithoutResult(status -> eventService.updateTicket(organizer, ticket.getId(), request));
+
+        assertThat(eventDetailCache.getDetails(event.getId())).isEmpty();
+        assertThat(eventService.getEventById(event.getId()).getTickets().get(0).getPrice()).isEqualByComparingTo("75.00");
+        assertThat(eventDetailCache.getDetails(event.getId())).hasValueSatisfying(
+                snapshot -> assertThat(snapshot.version()).isGreaterThan(version));
+    }
+
+    @Test
+    void whenStaleReaderFinishesLate_thenNewerVersionIsKept() {
+        EventDetailResponse newer = EventDetailResponse.builder().title("New title").tickets(List.of()).build();
+        EventDetailResponse older = EventDetailResponse.builder().title("Old title").tickets(List.of()).build();
+
+        eventDetailCache.putDetails(1L, new EventDetailCache.Snapshot(2, newer));
+        eventDetailCache.putDetails(1L, new EventDetailCache.Snapshot(1, older));
+
+        assertThat(eventDetailCache.getDetails(1L)).hasValueSatisfying(
+                snapshot -> assertThat(snapshot.detail().getTitle()).isEqualTo("New title"));
+    }
+}
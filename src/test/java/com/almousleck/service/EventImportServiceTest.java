@@ -0,0 +1,170 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.event.EventImportResponse;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.User;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.security.UserPrincipal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.Validation;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Runs without a test transaction because every chunk commits on its own
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventImportServiceTest {
+
+    private static final String START = LocalDateTime.now().plusDays(30).withNano(0).toString();
+    private static final String END = LocalDateTime.now().plusDays(30).plusHours(3).withNano(0).toString();
+    private static final String CSV_HEADER = "title,location,startDate,endDate,basePrice,category,tickets\n";
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final EventListingCache eventListingCache = mock(EventListingCache.class);
+    private EventImportService eventImportService;
+    private UserPrincipal organizer;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getEventImport().setChunkSize(2);
+        eventImportService = new EventImportService(eventRepository, categoryRepository, ticketRepository, userRepository,
+                mock(TicketInventoryService.class), eventListingCache, mock(EventListingProjector.class), mock(AuditLogger.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules(),
+                entityManager, transactionManager, appProperties);
+
+        organizer = UserPrincipal.create(userRepository.save(User.builder()
+                .name("Organizer")
+                .username("organizer")
+                .email("organizer@example.com")
+                .password("password123")
+                .enabled(true)
+                .roles(new HashSet<>())
+                .build()));
+        categoryRepository.save(EventCategory.builder().name("Music").active(true).build());
+        categoryRepository.save(EventCategory.builder().name("Archived").active(false).build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void whenCsvHasBadRows_thenGoodRowsAreImportedAndBadOnesReported() {
+        String csv = CSV_HEADER
+                + "Concert 1,Arena," + START + "," + END + ",50.00,music,General|50.00|500;VIP|120.00|50\n"
+                + "Concert 2,Arena," + START + "," + END + ",50.00,Music,\n"
+                + "Concert 3,Arena," + START + "," + END + ",50.00,Theatre,\n"
+                + "Concert 4,Arena," + START + "," + END + ",not-a-price,Music,\n"
+                + "Concert 5,Arena," + START + "," + END + ",50.00,Archived,\n"
+                + "Concert 6,Arena," + START + "," + END + ",50.00,Music,Floor|40.00|1000\n";
+
+        EventImportResponse response = eventImportService.importEvents(organizer, stream(csv),
+                EventImportService.ImportFormat.CSV);
+
+        assertThat(response.getTotalRows()).isEqualTo(6);
+        assertThat(response.getImportedEvents()).isEqualTo(3);
+        assertThat(response.getImportedTickets()).isEqualTo(4);
+        assertThat(response.getErrors()).extracting(EventImportResponse.RowError::getRow).containsExactly(3L, 4L, 5L);
+        assertThat(eventRepository.count()).isEqualTo(3);
+        assertThat(ticketRepository.count()).isEqualTo(4);
+        verify(eventListingCache, times(1)).evictAll();
+    }
+
+    @Test
+    void whenNdjsonRowFailsValidation_thenViolationIsReported() {
+        String ndjson = "{\"title\":\"Festival\",\"location\":\"Park\",\"startDate\":\"" + START + "\",\"endDate\":\"" + END
+                + "\",\"basePrice\":80.00,\"category\":\"Music\",\"tickets\":[{\"type\":\"Day pass\",\"price\":80.00,\"quantity\":2000}]}\n"
+                + "\n"
+                + "{\"location\":\"Park\",\"startDate\":\"" + START + "\",\"endDate\":\"" + END
+                + "\",\"basePrice\":80.00,\"category\":\"Music\"}\n";
+
+        EventImportResponse response = eventImportService.importEvents(organizer, stream(ndjson),
+                EventImportService.ImportFormat.NDJSON);
+
+        assertThat(response.getImportedEvents()).isEqualTo(1);
+        assertThat(response.getErrors()).singleElement().satisfies(error -> {
+            assertThat(error.getRow()).isEqualTo(3);
+            assertThat(error.getMessage()).contains("title");
+        });
+    }
+
+    @Test
+    void whenImportingManyRows_thenWritesAreBatched() {
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < 100; i++) {
+            csv.append("Show ").append(i).append(",Hall,").append(START).append(',').append(END)
+                    .append(",25.00,Music,A|25.00|100;B|35.00|100;C|45.00|100\n");
+        }
+        AppProperties appProperties = new AppProperties();
+        EventImportService service = new EventImportService(eventRepository, categoryRepository, ticketRepository,
+                userRepository, mock(TicketInventoryService.class), eventListingCache, mock(EventListingProjector.class), mock(AuditLogger.class),
+                Validation.buildDefaultValidatorFactory().getValidator(), new ObjectMapper().findAndRegisterModules(),
+                entityManager, transactionManager, appProperties);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        EventImportResponse response = service.importEvents(organizer, stream(csv.toString()),
+                EventImportService.ImportFormat.CSV);
+
+        assertThat(response.getImportedTickets()).isEqualTo(300);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(400);
+        // Lookups, pooled sequence calls and a handful of batched inserts instead of one statement per row
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(30);
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
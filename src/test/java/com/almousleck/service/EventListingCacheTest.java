@@ -0,0 +1,151 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.event.EventSummaryResponse;
+import com.almousleck.model.Event;
+import com.almousleck.model.EventCategory;
+import com.almousleck.utils.CacheConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventListingCacheTest {
+
+    private static final int CATEGORIES = 5;
+    private static final int PAGES = 10;
+    private static final int PAGE_SIZE = 10;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-06-01T12:00:00Z"), ZoneId.of("UTC"));
+
+    private CacheManager cacheManager;
+    private EventListingCache eventListingCache;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        cacheManager = new CacheConfig().cacheManager(appProperties);
+        eventListingCache = new EventListingCache(cacheManager, appProperties, clock);
+    }
+
+    @Test
+    void whenPageOrSortDiffers_thenKeysDiffer() {
+        assertThat(eventListingCache.all(PageRequest.of(0, 10))).isNotEqualTo(eventListingCache.all(PageRequest.of(3, 10)));
+        assertThat(eventListingCache.all(PageRequest.of(0, 10))).isNotEqualTo(eventListingCache.all(PageRequest.of(0, 20)));
+        assertThat(eventListingCache.all(PageRequest.of(0, 10)))
+                .isNotEqualTo(eventListingCache.all(PageRequest.of(0, 10, Sort.by("startDate"))));
+        assertThat(eventListingCache.byCategory(1L, PageRequest.of(0, 10)))
+                .isNotEqualTo(eventListingCache.byCategory(2L, PageRequest.of(0, 10)));
+        assertThat(eventListingCache.upcoming(PageRequest.of(0, 10))).isEqualTo(eventListingCache.upcoming(PageRequest.of(0, 10)));
+    }
+
+    @Test
+    void whenEventContentChanges_thenOnlyPagesShowingItAreEvicted() {
+        fill();
+
+        eventListingCache.evictContent(event(1L, 1L));
+
+        // Event 1 sits on page 0 of the full listing and of category 1's listing
+        assertThat(size(EventListingCache.EVENTS)).isEqualTo(PAGES - 1);
+        assertThat(size(EventListingCache.EVENTS_BY_CATEGORY)).isEqualTo(CATEGORIES * PAGES - 1);
+        assertThat(size(EventListingCache.UPCOMING_EVENTS)).isEqualTo(PAGES - 1);
+    }
+
+    @Test
+    void whenEventLeavesListings_thenOtherCategoriesStayCached() {
+        fill();
+
+        eventListingCache.evictListings(0L, LocalDateTime.now(clock).minusDays(1));
+
+        assertThat(size(EventListingCache.EVENTS)).isZero();
+        assertThat(size(EventListingCache.EVENTS_BY_CATEGORY)).isEqualTo((CATEGORIES - 1) * PAGES);
+        // A past event was never on an upcoming page
+        assertThat(size(EventListingCache.UPCOMING_EVENTS)).isEqualTo(PAGES);
+    }
+
+    @Test
+    void whenReadsAndEditsInterleave_thenTargetedEvictionKeepsHitRateHigh() {
+        double targeted = simulate(false);
+        double evictAll = simulate(true);
+
+        System.out.printf("Category listing hit rate: targeted %.3f, evict all %.3f%n", targeted, evictAll);
+        assertThat(targeted).isGreaterThan(evictAll);
+    }
+
+    // Readers browse category pages while organizers edit one event every 20 reads
+    private double simulate(boolean evictAll) {
+        setUp();
+        Cache cache = cacheManager.getCache(EventListingCache.EVENTS_BY_CATEGORY);
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            long categoryId = random.nextInt(CATEGORIES);
+            int page = random.nextInt(PAGES);
+            cache.get(eventListingCache.byCategory(categoryId, PageRequest.of(page, PAGE_SIZE)), () -> page(categoryId, page));
+
+            if (i % 20 == 0) {
+                long eventId = random.nextInt(CATEGORIES * PAGES * PAGE_SIZE);
+                if (evictAll) {
+                    cache.clear();
+                } else {
+                    eventListingCache.evictContent(event(eventId, eventId % CATEGORIES));
+                }
+            }
+        }
+        return ((CaffeineCache) cache).getNativeCache().stats().hitRate();
+    }
+
+    private void fill() {
+        for (int page = 0; page < PAGES; page++) {
+            PageRequest pageable = PageRequest.of(page, PAGE_SIZE);
+            cacheManager.getCache(EventListingCache.EVENTS).put(eventListingCache.all(pageable), allPage(page));
+            cacheManager.getCache(EventListingCache.UPCOMING_EVENTS).put(eventListingCache.upcoming(pageable), allPage(page));
+            for (long categoryId = 0; categoryId < CATEGORIES; categoryId++) {
+                cacheManager.getCache(EventListingCache.EVENTS_BY_CATEGORY)
+                        .put(eventListingCache.byCategory(categoryId, pageable), page(categoryId, page));
+            }
+        }
+    }
+
+    // Event ids are spread over categories by id % CATEGORIES
+    private Page<EventSummaryResponse> page(long categoryId, int page) {
+        return new PageImpl<>(LongStream.range(0, PAGE_SIZE)
+                .map(i -> (page * PAGE_SIZE + i) * CATEGORIES + categoryId)
+                .mapToObj(id -> EventSummaryResponse.builder().id(id).categoryId(categoryId).build())
+                .toList());
+    }
+
+    private Page<EventSummaryResponse> allPage(int page) {
+        return new PageImpl<>(LongStream.range(page * PAGE_SIZE, (page + 1) * PAGE_SIZE)
+                .mapToObj(id -> EventSummaryResponse.builder().id(id).categoryId(id % CATEGORIES).build())
+                .toList());
+    }
+
+    private Event event(long id, long categoryId) {
+        return Event.builder()
+                .id(id)
+                .category(EventCategory.builder().id(categoryId).build())
+                .startDate(LocalDateTime.now(clock).plusDays(10))
+                .build();
+    }
+
+    private long size(String cacheName) {
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> cache = ((CaffeineCache) cacheManager.getCache(cacheName)).getNativeCache();
+        cache.cleanUp();
+        return cache.estimatedSize();
+    }
+}
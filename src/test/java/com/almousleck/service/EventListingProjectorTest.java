@@ -0,0 +1,225 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.Event;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.EventListing;
+import com.almousleck.model.Ticket;
+import com.almousleck.model.User;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.search.CategoryFacetCounts;
+import com.almousleck.search.EventSearchIndex;
+import com.almousleck.search.EventSuggester;
+import com.almousleck.search.SearchBackend;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs without a test transaction so the availability sync sees real commits
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EventListingProjectorTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventListingRepository eventListingRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EventListingProjector projector;
+    private EventSearchIndex eventSearchIndex;
+    private EventSuggester eventSuggester;
+    private TransactionTemplate transactionTemplate;
+    private Event event;
+    private Ticket general;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSearch().setBackend(SearchBackend.INDEX);
+        eventSearchIndex = new EventSearchIndex(eventListingRepository, appProperties);
+        eventSearchIndex.rebuild();
+        eventSuggester = new EventSuggester(eventListingRepository, appProperties);
+        eventSuggester.rebuild();
+        projector = new EventListingProjector(eventRepository, ticketRepository, eventListingRepository,
+                eventSearchIndex, eventSuggester, new CategoryFacetCounts(eventListingRepository, appProperties), entityManager, transactionManager, appProperties);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+
+        User organizer = userRepository.save(User.builder()
+                .name("Organizer")
+                .username("organizer")
+                .email("organizer@example.com")
+                .password("password123")
+                .enabled(true)
+                .roles(new HashSet<>())
+                .build());
+        EventCategory category = categoryRepository.save(EventCategory.builder()
+                .name("Music")
+                .active(true)
+                .build());
+        event = eventRepository.save(Event.builder()
+                .title("Concert")
+                .description("Live music")
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(true)
+                .category(category)
+                .organizer(organizer)
+                .build());
+        general = ticketRepository.save(ticket("General", "50.00", 100));
+        ticketRepository.save(ticket("Balcony", "35.00", 40));
+    }
+
+    @AfterEach
+    void tearDown() {
+        eventListingRepository.deleteAll();
+        ticketRepository.deleteAll();
+        eventRepository.deleteAll();
+        categoryRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void whenEventIsRefreshed_thenRowCarriesEverythingTheListingShows() {
+        transactionTemplate.executeWithoutResult(status -> projector.refresh(event.getId()));
+
+        EventListing row = eventListingRepository.findById(event.getId()).orElseThrow();
+        assertThat(row.getTitle()).isEqualTo("Concert");
+        assertThat(row.getCategoryName()).isEqualTo("Music");
+        assertThat(row.getOrganizerName()).isEqualTo("Organizer");
+        assertThat(row.getMinTicketPrice()).isEqualByComparingTo("35.00");
+        assertThat(row.getAvailableTickets()).isEqualTo(140);
+    }
+
+    @Test
+    void whenRefreshCommits_thenSearchIndexFollows() {
+        transactionTemplate.executeWithoutResult(status -> {
+            projector.refresh(event.getId());
+            // Nothing is searchable until the transaction commits
+            assertThat(hits("arena concert")).isEmpty();
+        });
+        assertThat(hits("arena concert")).containsExactly(event.getId());
+        assertThat(eventSuggester.suggest("conc", 5)).extracting(EventSuggester.Suggestion::text).containsExactly("Concert");
+
+        transactionTemplate.executeWithoutResult(status -> projector.renameCategory(
+                eventRepository.findById(event.getId()).orElseThrow().getCategory().getId(), "Jazz"));
+        assertThat(hits("jazz")).containsExactly(event.getId());
+
+        transactionTemplate.executeWithoutResult(status -> {
+            eventRepository.findById(event.getId()).orElseThrow().setPublished(false);
+            projector.refresh(event.getId());
+        });
+        assertThat(hits("concert")).isEmpty();
+        assertThat(eventSuggester.suggest("conc", 5)).isEmpty();
+    }
+
+    @Test
+    void whenEventIsUnpublished_thenRowIsRemoved() {
+        transactionTemplate.executeWithoutResult(status -> projector.refresh(event.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Event loaded = eventRepository.findById(event.getId()).orElseThrow();
+            loaded.setPublished(false);
+            projector.refresh(loaded.getId());
+        });
+
+        assertThat(eventListingRepository.existsById(event.getId())).isFalse();
+    }
+
+    @Test
+    void whenBookingMovesAvailability_thenSyncCopiesItOnlyAfterCommit() {
+        transactionTemplate.executeWithoutResult(status -> projector.refresh(event.getId()));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            Ticket ticket = ticketRepository.findById(general.getId()).orElseThrow();
+            ticket.setAvailableQuantity(ticket.getAvailableQuantity() - 5);
+            projector.markAvailabilityChanged(event.getId());
+        });
+        // A rolled back booking leaves nothing to sync
+        transactionTemplate.executeWithoutResult(status -> {
+            projector.markAvailabilityChanged(event.getId() + 1);
+            status.setRollbackOnly();
+        });
+
+        assertThat(eventListingRepository.findById(event.getId()).orElseThrow().getAvailableTickets()).isEqualTo(140);
+        projector.syncAvailability();
+        EventListing row = eventListingRepository.findById(event.getId()).orElseThrow();
+        assertThat(row.getAvailableTickets()).isEqualTo(135);
+        assertThat(row.getSoldTickets()).isEqualTo(5);
+    }
+
+    @Test
+    void whenRowsAreMissingOrOrphaned_thenRebuildRestoresThem() {
+        eventListingRepository.save(EventListing.builder()
+                .id(event.getId() + 1000)
+                .title("Deleted")
+                .location("Nowhere")
+                .startDate(LocalDateTime.now())
+                .endDate(LocalDateTime.now())
+                .basePrice(BigDecimal.ONE)
+                .categoryId(1L)
+                .categoryName("Gone")
+                .organizerId(1L)
+                .organizerName("Gone")
+                .availableTickets(0)
+                .build());
+
+        int rebuilt = projector.rebuild();
+
+        assertThat(rebuilt).isEqualTo(1);
+        assertThat(eventListingRepository.findAll()).extracting(EventListing::getId).containsExactly(event.getId());
+    }
+
+    private List<Long> hits(String query) {
+        return eventSearchIndex.search(query, null, null, EventSearchIndex.Order.RELEVANCE, 0, 10)
+                .orElseThrow()
+                .eventIds();
+    }
+
+    private Ticket ticket(String type, String price, int quantity) {
+        return Ticket.builder()
+                .type(type)
+                .price(new BigDecimal(price))
+                .totalQuantity(quantity)
+                .availableQuantity(quantity)
+                .event(event)
+                .build();
+    }
+}
@@ -0,0 +1,134 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.event.CreateEventRequest;
+import com.almousleck.dto.event.CreateTicketRequest;
+import com.almousleck.dto.event.EventDetailResponse;
+import com.almousleck.inventory.PessimisticInventoryStrategy;
+import com.almousleck.inventory.ShardedTicketInventory;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.User;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.TicketInventoryShardRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.search.EventKeywordSearch;
+import com.almousleck.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class EventServiceBatchingTest {
+
+    private static final int TICKET_TYPES = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TicketInventoryShardRepository shardRepository;
+
+    private EventService eventService;
+    private UserPrincipal organizer;
+    private EventCategory category;
+
+    @BeforeEach
+    void setUp() {
+        TicketInventoryService ticketInventoryService = new TicketInventoryService(
+                List.of(new PessimisticInventoryStrategy(ticketRepository)),
+                new ShardedTicketInventory(ticketRepository, shardRepository),
+                mock(TicketAvailabilityService.class),
+                mock(EventListingProjector.class),
+                new AppProperties());
+        eventService = new EventService(eventRepository, categoryRepository, ticketRepository, userRepository,
+                mock(AuditLogger.class), ticketInventoryService, mock(EventListingCache.class), mock(EventDetailCache.class),
+                mock(TicketAvailabilityService.class), mock(EventListingRepository.class), mock(EventListingProjector.class),
+                mock(EventKeywordSearch.class));
+
+        User user = entityManager.persist(User.builder()
+                .name("Organizer")
+                .username("organizer")
+                .email("organizer@example.com")
+                .password("password123")
+                .enabled(true)
+                .roles(new HashSet<>())
+                .build());
+        organizer = UserPrincipal.create(user);
+        category = entityManager.persist(EventCategory.builder()
+                .name("Music")
+                .active(true)
+                .build());
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenEventHasManyTicketTypes_thenTicketsAreInsertedInOneBatch() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        EventDetailResponse response = eventService.createEvent(organizer, createEventRequest());
+        entityManager.flush();
+
+        assertThat(response.getTickets()).hasSize(TICKET_TYPES);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(TICKET_TYPES + 1);
+        // Lookups, sequence calls, one event insert, one batched ticket insert and the ticket read-back
+        assertThat(statistics.getPrepareStatementCount()).isLessThan(10);
+    }
+
+    private CreateEventRequest createEventRequest() {
+        List<CreateTicketRequest> tickets = new ArrayList<>();
+        for (int i = 0; i < TICKET_TYPES; i++) {
+            CreateTicketRequest ticket = new CreateTicketRequest();
+            ticket.setType("Tier " + i);
+            ticket.setPrice(new BigDecimal("50.00"));
+            ticket.setQuantity(100);
+            tickets.add(ticket);
+        }
+
+        CreateEventRequest request = new CreateEventRequest();
+        request.setTitle("Festival");
+        request.setLocation("Arena");
+        request.setStartDate(LocalDateTime.now().plusDays(30));
+        request.setEndDate(LocalDateTime.now().plusDays(31));
+        request.setBasePrice(new BigDecimal("50.00"));
+        request.setCategoryId(category.getId());
+        request.setTickets(tickets);
+        return request;
+    }
+}
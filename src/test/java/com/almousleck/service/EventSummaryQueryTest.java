@@ -0,0 +1,212 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.event.EventSummaryResponse;
+import com.almousleck.dto.search.SearchRequest;
+import com.almousleck.dto.search.SearchResponse;
+import com.almousleck.model.Event;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.User;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.almousleck.search.CategoryFacetCounts;
+import com.almousleck.search.EventKeywordSearch;
+import com.almousleck.search.EventSearchIndex;
+import com.almousleck.search.EventSuggester;
+import com.almousleck.search.LikeKeywordSearch;
+import com.almousleck.search.SearchBackend;
+import com.almousleck.security.UserPrincipal;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// Public pages read the event_listing read model: one select plus one count, with no joins, however many
+// organizers and categories they span. Organizer pages still read the events table through a joined projection.
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("test")
+class EventSummaryQueryTest {
+
+    private static final int EVENTS = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventListingRepository eventListingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private EventService eventService;
+    private SearchService searchService;
+    private CategoryFacetCounts categoryFacetCounts;
+    private Statistics statistics;
+    private List<User> organizers;
+    private List<EventCategory> categories;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties likeSearch = new AppProperties();
+        likeSearch.getSearch().setBackend(SearchBackend.LIKE);
+        LikeKeywordSearch likeKeywordSearch = new LikeKeywordSearch(eventListingRepository);
+        EventKeywordSearch keywordSearch = new EventKeywordSearch(List.of(likeKeywordSearch), likeKeywordSearch, likeSearch);
+        EventListingProjector projector = new EventListingProjector(eventRepository, ticketRepository,
+                eventListingRepository, mock(EventSearchIndex.class), mock(EventSuggester.class), mock(CategoryFacetCounts.class),
+                entityManager.getEntityManager(), transactionManager,
+                new AppProperties());
+        eventService = new EventService(eventRepository, categoryRepository, ticketRepository, userRepository,
+                mock(AuditLogger.class), mock(TicketInventoryService.class), mock(EventListingCache.class),
+                mock(EventDetailCache.class), mock(TicketAvailabilityService.class), eventListingRepository, projector, keywordSearch);
+        categoryFacetCounts = new CategoryFacetCounts(eventListingRepository, new AppProperties());
+        searchService = new SearchService(categoryRepository, eventListingRepository, keywordSearch,
+                mock(EventSuggester.class), categoryFacetCounts, new AppProperties());
+
+        organizers = new ArrayList<>();
+        categories = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            organizers.add(entityManager.persist(User.builder()
+                    .name("Organizer " + i)
+                    .username("organizer" + i)
+                    .email("organizer" + i + "@example.com")
+                    .password("password123")
+                    .enabled(true)
+                    .roles(new HashSet<>())
+                    .build()));
+            categories.add(entityManager.persist(EventCategory.builder()
+                    .name("Category " + i)
+                    .active(true)
+                    .build()));
+        }
+        for (int i = 0; i < EVENTS; i++) {
+            entityManager.persist(Event.builder()
+                    .title("Concert " + i)
+                    .description("Live music")
+                    .location("Arena")
+                    .startDate(LocalDateTime.now().plusDays(i + 1))
+                    .endDate(LocalDateTime.now().plusDays(i + 1).plusHours(3))
+                    .basePrice(new BigDecimal("50.00"))
+                    .published(true)
+                    .category(categories.get(i % 4))
+                    .organizer(organizers.get(i / 5))
+                    .build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        projector.rebuild();
+        categoryFacetCounts.rebuild();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void whenListingAllEvents_thenOnePageIsOneSelectAndOneCount() {
+        Page<EventSummaryResponse> page = eventService.getAllEvents(PageRequest.of(0, EVENTS, Sort.by("startDate")));
+
+        assertThat(page.getContent()).hasSize(EVENTS);
+        assertThat(page.getContent()).extracting(EventSummaryResponse::getOrganizerName).contains("Organizer 3");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertNoWriteModelLoaded();
+    }
+
+    @Test
+    void whenListingUpcomingAndSearching_thenNoAssociationIsLoaded() {
+        eventService.getUpcomingEvents(PageRequest.of(0, EVENTS));
+        eventService.searchEvents("concert", PageRequest.of(0, EVENTS));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertNoWriteModelLoaded();
+    }
+
+    @Test
+    void whenListingByCategoryOrOrganizer_thenOnlyTheExistenceCheckIsAdded() {
+        Page<EventSummaryResponse> byCategory = eventService.getEventsByCategory(categories.get(0).getId(), PageRequest.of(0, EVENTS));
+        Page<EventSummaryResponse> byOrganizer = eventService.getOrganizerEvents(
+                UserPrincipal.create(organizers.get(0)), PageRequest.of(0, EVENTS));
+
+        assertThat(byCategory.getContent()).hasSize(EVENTS / 4);
+        assertThat(byOrganizer.getContent()).hasSize(5)
+                .allSatisfy(event -> assertThat(event.getCategoryName()).startsWith("Category"));
+        // Existence check and select each; the count is skipped because neither page is full
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+        assertNoWriteModelLoaded();
+    }
+
+    @Test
+    void whenSearching_thenResultsCarryDescriptionWithoutExtraQueries() {
+        SearchRequest request = new SearchRequest();
+        request.setKeyword("concert");
+        request.setSize(EVENTS);
+        request.setIncludeFacets(false);
+
+        SearchResponse response = searchService.searchEvents(request);
+
+        assertThat(response.getEvents()).hasSize(EVENTS)
+                .allSatisfy(event -> assertThat(event.getDescription()).isEqualTo("Live music"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void whenSearchingWithFacets_thenCountsNeedAtMostOneGroupedQuery() {
+        SearchRequest keywordSearch = new SearchRequest();
+        keywordSearch.setKeyword("concert");
+        SearchResponse matched = searchService.searchEvents(keywordSearch);
+        // Page and count, active categories, then one GROUP BY for the keyword facets
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+
+        statistics.clear();
+        SearchResponse browsed = searchService.searchEvents(new SearchRequest());
+        // Without a keyword the counts come from memory
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+
+        for (SearchResponse response : List.of(matched, browsed)) {
+            assertThat(response.getCategories()).hasSize(4)
+                    .allSatisfy(facet -> assertThat(facet.getCount()).isEqualTo(EVENTS / 4));
+        }
+    }
+
+    // Listing rows are entities themselves; what must not load is the write model behind them
+    private void assertNoWriteModelLoaded() {
+        for (Class<?> entity : List.of(Event.class, EventCategory.class, User.class)) {
+            assertThat(statistics.getEntityStatistics(entity.getName()).getLoadCount()).isZero();
+        }
+    }
+}
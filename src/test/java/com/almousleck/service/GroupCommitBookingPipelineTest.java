@@ -0,0 +1,154 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.booking.BookingDetailResponse;
+import com.almousleck.dto.booking.CreateBookingRequest;
+import com.almousleck.exception.AppException;
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GroupCommitBookingPipelineTest {
+
+    private final BookingService bookingService = mock(BookingService.class);
+    private GroupCommitBookingPipeline pipeline;
+
+    @AfterEach
+    void tearDown() {
+        pipeline.shutdown();
+    }
+
+    @Test
+    void whenBatchFills_thenRequestsForTheTicketCommitTogetherInArrivalOrder() throws Exception {
+        pipeline = pipeline(10_000, 3, 30_000);
+        when(bookingService.createBookingBatch(eq(1L), anyList())).thenAnswer(invocation -> {
+            List<BookingService.BatchBooking> batch = invocation.getArgument(1);
+            return batch.stream()
+                    .map(item -> new BookingService.BatchOutcome(booking("BK-" + item.currentUser().getId()), null))
+                    .toList();
+        });
+
+        CompletableFuture<BookingDetailResponse> first = submitAsync(1L, 1L);
+        awaitQueued(1);
+        CompletableFuture<BookingDetailResponse> second = submitAsync(2L, 1L);
+        awaitQueued(2);
+        BookingDetailResponse third = pipeline.submit(user(3L), request(1L, 1));
+
+        assertThat(first.get(5, TimeUnit.SECONDS).getBookingReference()).isEqualTo("BK-1");
+        assertThat(second.get(5, TimeUnit.SECONDS).getBookingReference()).isEqualTo("BK-2");
+        assertThat(third.getBookingReference()).isEqualTo("BK-3");
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<BookingService.BatchBooking>> batch = ArgumentCaptor.forClass(List.class);
+        verify(bookingService).createBookingBatch(eq(1L), batch.capture());
+        assertThat(batch.getValue()).extracting(item -> item.currentUser().getId()).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    void whenOneItemIsSoldOut_thenOnlyThatRequestFails() throws Exception {
+        pipeline = pipeline(10_000, 2, 30_000);
+        when(bookingService.createBookingBatch(eq(1L), anyList())).thenReturn(List.of(
+                new BookingService.BatchOutcome(booking("BK-1"), null),
+                new BookingService.BatchOutcome(null, new BadRequestException("Not enough tickets available"))));
+
+        CompletableFuture<BookingDetailResponse> first = submitAsync(1L, 1L);
+        awaitQueued(1);
+
+        assertThatThrownBy(() -> pipeline.submit(user(2L), request(1L, 5)))
+                .isInstanceOf(BadRequestException.class)
+                .hasMessage("Not enough tickets available");
+        assertThat(first.get(5, TimeUnit.SECONDS).getBookingReference()).isEqualTo("BK-1");
+    }
+
+    @Test
+    void whenTimeoutPassesWhileQueued_thenRequestIsWithdrawnAndNeverBooked() {
+        pipeline = pipeline(300, 100, 20);
+
+        assertThatThrownBy(() -> pipeline.submit(user(1L), request(1L, 1)))
+                .isInstanceOf(AppException.class)
+                .hasMessageContaining("please retry");
+
+        // The window closes later with nothing left in the batch
+        verify(bookingService, after(600).never()).createBookingBatch(any(), anyList());
+    }
+
+    @Test
+    void whenTimeoutPassesWhileCommitting_thenCallerGetsTheCommittedBooking() throws Exception {
+        pipeline = pipeline(1, 100, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(bookingService.createBookingBatch(eq(1L), anyList())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return List.of(new BookingService.BatchOutcome(booking("BK-1"), null));
+        });
+
+        CompletableFuture<BookingDetailResponse> result = submitAsync(1L, 1L);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // Outlast the caller's timeout while the batch transaction is still running
+        Thread.sleep(150);
+        release.countDown();
+
+        assertThat(result.get(5, TimeUnit.SECONDS).getBookingReference()).isEqualTo("BK-1");
+    }
+
+    private GroupCommitBookingPipeline pipeline(long windowMs, int maxBatchSize, long timeoutMs) {
+        AppProperties appProperties = new AppProperties();
+        AppProperties.Booking.GroupCommit settings = appProperties.getBooking().getGroupCommit();
+        settings.setEnabled(true);
+        settings.setWindowMs(windowMs);
+        settings.setMaxBatchSize(maxBatchSize);
+        settings.setTimeoutMs(timeoutMs);
+        return new GroupCommitBookingPipeline(bookingService, appProperties);
+    }
+
+    private CompletableFuture<BookingDetailResponse> submitAsync(Long userId, Long ticketId) {
+        return CompletableFuture.supplyAsync(() -> pipeline.submit(user(userId), request(ticketId, 1)));
+    }
+
+    // Waits until the given number of requests sit in the open batch, so arrival order is fixed
+    private void awaitQueued(int expected) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (pipeline.queued(1L) < expected && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(pipeline.queued(1L)).isEqualTo(expected);
+    }
+
+    private UserPrincipal user(Long id) {
+        return UserPrincipal.builder().id(id).username("user" + id).authorities(List.of()).build();
+    }
+
+    private CreateBookingRequest request(Long ticketId, int quantity) {
+        CreateBookingRequest request = new CreateBookingRequest();
+        request.setTicketId(ticketId);
+        request.setQuantity(quantity);
+        return request;
+    }
+
+    private BookingDetailResponse booking(String reference) {
+        return BookingDetailResponse.builder()
+                .bookingReference(reference)
+                .quantity(1)
+                .status("PENDING")
+                .build();
+    }
+}
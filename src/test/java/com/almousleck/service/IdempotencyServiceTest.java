@@ -0,0 +1,225 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.booking.BookingDetailResponse;
+import com.almousleck.dto.booking.CreateBookingRequest;
+import com.almousleck.exception.BadRequestException;
+import com.almousleck.model.IdempotencyRecord;
+import com.almousleck.repository.IdempotencyRecordRepository;
+import com.almousleck.security.UserPrincipal;
+import com.almousleck.utils.MutableClock;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class IdempotencyServiceTest {
+
+    @Mock
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-06-01T12:00:00Z"), ZoneOffset.UTC);
+    private IdempotencyService idempotencyService;
+    private UserPrincipal currentUser;
+    private CreateBookingRequest request;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getIdempotency().setPollIntervalMs(1);
+        idempotencyService = new IdempotencyService(idempotencyRecordRepository,
+                new ObjectMapper().findAndRegisterModules(), appProperties, clock);
+        lenient().when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        lenient().when(idempotencyRecordRepository.save(any(IdempotencyRecord.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        currentUser = UserPrincipal.builder().id(1L).username("testuser").authorities(List.of()).build();
+        request = new CreateBookingRequest();
+        request.setTicketId(10L);
+        request.setQuantity(2);
+    }
+
+    @Test
+    void whenKeyIsRetried_thenResponseIsReplayedWithoutRunningAgain() {
+        AtomicInteger runs = new AtomicInteger();
+
+        BookingDetailResponse first = execute("key-1", request, () -> booking("BK-" + runs.incrementAndGet()));
+        BookingDetailResponse retry = execute("key-1", request, () -> booking("BK-" + runs.incrementAndGet()));
+
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(retry.getBookingReference()).isEqualTo(first.getBookingReference());
+        assertThat(retry.getCreatedAt()).isEqualTo(first.getCreatedAt());
+        verify(idempotencyRecordRepository).saveAndFlush(any(IdempotencyRecord.class));
+        verify(idempotencyRecordRepository).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void whenDuplicateArrivesWhileRunning_thenItWaitsForTheSameResult() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+
+        CompletableFuture<BookingDetailResponse> original = CompletableFuture.supplyAsync(() ->
+                execute("key-1", request, () -> {
+                    runs.incrementAndGet();
+                    started.countDown();
+                    await(release);
+                    return booking("BK-1");
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<BookingDetailResponse> duplicate = CompletableFuture.supplyAsync(() ->
+                execute("key-1", request, () -> booking("BK-" + runs.incrementAndGet())));
+
+        Thread.sleep(50);
+        release.countDown();
+
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).getBookingReference()).isEqualTo("BK-1");
+        assertThat(original.get(5, TimeUnit.SECONDS).getBookingReference()).isEqualTo("BK-1");
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void whenKeyIsReusedForDifferentRequest_thenReject() {
+        execute("key-1", request, () -> booking("BK-1"));
+
+        CreateBookingRequest other = new CreateBookingRequest();
+        other.setTicketId(10L);
+        other.setQuantity(3);
+
+        assertThatThrownBy(() -> execute("key-1", other, () -> booking("BK-2")))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void whenClaimIsCompletedByAnotherNode_thenReplayWithoutRunning() {
+        AtomicInteger runs = new AtomicInteger();
+        execute("key-1", request, () -> booking("BK-" + runs.incrementAndGet()));
+        ArgumentCaptor<IdempotencyRecord> stored = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).save(stored.capture());
+
+        IdempotencyService otherNode = new IdempotencyService(idempotencyRecordRepository,
+                new ObjectMapper().findAndRegisterModules(), new AppProperties(), clock);
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyRecordRepository.findByUserIdAndOperationAndIdempotencyKey(1L, "CREATE_BOOKING", "key-1"))
+                .thenReturn(Optional.of(stored.getValue()));
+
+        BookingDetailResponse replayed = otherNode.execute("key-1", currentUser, "CREATE_BOOKING", request,
+                BookingDetailResponse.class, () -> booking("BK-" + runs.incrementAndGet()));
+
+        assertThat(replayed.getBookingReference()).isEqualTo("BK-1");
+        assertThat(runs.get()).isEqualTo(1);
+    }
+
+    @Test
+    void whenAnotherNodeHoldsThePendingClaim_thenWaitForItsResponse() {
+        IdempotencyRecord pending = IdempotencyRecord.builder()
+                .requestHash(claimedHash())
+                .status(IdempotencyRecord.Status.PENDING)
+                .createdAt(LocalDateTime.now(clock))
+                .build();
+        IdempotencyRecord completed = IdempotencyRecord.builder()
+                .requestHash(pending.getRequestHash())
+                .responseBody("{\"bookingReference\":\"BK-1\",\"quantity\":2}")
+                .status(IdempotencyRecord.Status.COMPLETED)
+                .createdAt(pending.getCreatedAt())
+                .build();
+        when(idempotencyRecordRepository.saveAndFlush(any(IdempotencyRecord.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+        when(idempotencyRecordRepository.findByUserIdAndOperationAndIdempotencyKey(1L, "CREATE_BOOKING", "key-1"))
+                .thenReturn(Optional.of(pending), Optional.of(pending), Optional.of(completed));
+        AtomicInteger runs = new AtomicInteger();
+
+        BookingDetailResponse replayed = execute("key-1", request, () -> booking("BK-" + runs.incrementAndGet()));
+
+        assertThat(replayed.getBookingReference()).isEqualTo("BK-1");
+        assertThat(runs.get()).isZero();
+    }
+
+    @Test
+    void whenActionFails_thenClaimIsReleasedForRetry() {
+        assertThatThrownBy(() -> execute("key-1", request, () -> {
+            throw new BadRequestException("Not enough tickets available");
+        })).isInstanceOf(BadRequestException.class);
+
+        verify(idempotencyRecordRepository).delete(any(IdempotencyRecord.class));
+        verify(idempotencyRecordRepository, never()).save(any(IdempotencyRecord.class));
+        assertThat(execute("key-1", request, () -> booking("BK-2")).getBookingReference()).isEqualTo("BK-2");
+    }
+
+    @Test
+    void whenCachedResponseOutlivesTtl_thenItIsNotReplayed() {
+        AtomicInteger runs = new AtomicInteger();
+        execute("key-1", request, () -> booking("BK-" + runs.incrementAndGet()));
+
+        clock.advance(Duration.ofHours(25));
+        BookingDetailResponse later = execute("key-1", request, () -> booking("BK-" + runs.incrementAndGet()));
+
+        assertThat(later.getBookingReference()).isEqualTo("BK-2");
+        assertThat(runs.get()).isEqualTo(2);
+    }
+
+    @Test
+    void whenNoKey_thenAlwaysRuns() {
+        AtomicInteger runs = new AtomicInteger();
+
+        execute(null, request, () -> booking("BK-" + runs.incrementAndGet()));
+        execute(null, request, () -> booking("BK-" + runs.incrementAndGet()));
+
+        assertThat(runs.get()).isEqualTo(2);
+        verifyNoInteractions(idempotencyRecordRepository);
+    }
+
+    private BookingDetailResponse execute(String key, CreateBookingRequest request,
+                                          Supplier<BookingDetailResponse> action) {
+        return idempotencyService.execute(key, currentUser, "CREATE_BOOKING", request, BookingDetailResponse.class, action);
+    }
+
+    // The hash a claim for the default request carries, taken from the row the service inserts
+    private String claimedHash() {
+        execute("probe", request, () -> booking("BK-0"));
+        ArgumentCaptor<IdempotencyRecord> claim = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(idempotencyRecordRepository).saveAndFlush(claim.capture());
+        clearInvocations(idempotencyRecordRepository);
+        return claim.getValue().getRequestHash();
+    }
+
+    private BookingDetailResponse booking(String reference) {
+        return BookingDetailResponse.builder()
+                .bookingReference(reference)
+                .quantity(2)
+                .status("PENDING")
+                .createdAt(LocalDateTime.now())
+                .build();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.almousleck.service;
+
+import com.almousleck.audit.AuditLogger;
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.*;
+import com.almousleck.repository.BookingRepository;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventRepository;
+import com.almousleck.repository.OutboxMessageRepository;
+import com.almousleck.repository.TicketRepository;
+import com.almousleck.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// The dispatcher commits its own transactions, so the fixtures are committed and cleaned up by hand
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OutboxDispatcherTest {
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private OutboxMessageRepository outboxMessageRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final EmailService emailService = mock(EmailService.class);
+    private final NotificationService notificationService = mock(NotificationService.class);
+    private final AuditLogger auditLogger = mock(AuditLogger.class);
+
+    private OutboxService outboxService;
+    private OutboxDispatcher outboxDispatcher;
+    private User user;
+    private EventCategory category;
+    private Event event;
+    private Ticket ticket;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        outboxService = new OutboxService(outboxMessageRepository, new ObjectMapper());
+        outboxDispatcher = new OutboxDispatcher(outboxMessageRepository, outboxService, bookingRepository,
+                emailService, notificationService, auditLogger, transactionManager, new AppProperties());
+
+        user = userRepository.save(User.builder()
+                .name("Test User")
+                .username("testuser")
+                .email("test@example.com")
+                .password("password123")
+                .enabled(true)
+                .build());
+        category = categoryRepository.save(EventCategory.builder()
+                .name("Music")
+                .build());
+        event = eventRepository.save(Event.builder()
+                .title("Concert")
+                .location("Arena")
+                .startDate(LocalDateTime.now().plusDays(30))
+                .endDate(LocalDateTime.now().plusDays(30).plusHours(3))
+                .basePrice(new BigDecimal("50.00"))
+                .published(true)
+                .category(category)
+                .organizer(user)
+                .build());
+        ticket = ticketRepository.save(Ticket.builder()
+                .type("General Admission")
+                .price(new BigDecimal("50.00"))
+                .totalQuantity(10)
+                .availableQuantity(8)
+                .event(event)
+                .build());
+        booking = bookingRepository.save(Booking.builder()
+                .bookingReference("BK-1")
+                .quantity(2)
+                .totalAmount(new BigDecimal("100.00"))
+                .status(Booking.BookingStatus.PENDING)
+                .user(user)
+                .ticket(ticket)
+                .event(event)
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        outboxMessageRepository.deleteAll();
+        bookingRepository.delete(booking);
+        ticketRepository.delete(ticket);
+        eventRepository.delete(event);
+        categoryRepository.delete(category);
+        userRepository.delete(user);
+    }
+
+    @Test
+    void whenMessageIsDelivered_thenItIsRemoved() {
+        when(emailService.sendBookingConfirmation(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        outboxService.publish(OutboxMessage.MessageType.BOOKING_CREATED, List.of(booking.getId()));
+
+        outboxDispatcher.dispatch();
+
+        verify(emailService).sendBookingConfirmation(eq("test@example.com"), eq("Test User"), any());
+        verify(notificationService, times(2)).createNotification(any(), anyString(), anyString(), any());
+        verify(auditLogger).logEvent(eq("CREATE"), eq("Booking"), eq(booking.getId()), any(User.class), anyString());
+        assertThat(outboxMessageRepository.count()).isZero();
+    }
+
+    @Test
+    void whenEmailFails_thenOnlyEmailIsRetried() {
+        when(emailService.sendBookingCancellation(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("SMTP down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        outboxService.publish(OutboxMessage.MessageType.BOOKING_CANCELLED, List.of(booking.getId()));
+
+        outboxDispatcher.dispatch();
+
+        OutboxMessage failed = outboxMessageRepository.findAll().get(0);
+        assertThat(failed.getAttempts()).isEqualTo(1);
+        assertThat(failed.getLastError()).contains("SMTP down");
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now());
+
+        failed.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxMessageRepository.save(failed);
+        outboxDispatcher.dispatch();
+
+        verify(emailService, times(2)).sendBookingCancellation(anyString(), anyString(), any());
+        verify(notificationService, times(2)).createNotification(any(), anyString(), anyString(), any());
+        verify(auditLogger, times(1)).logEvent(eq("CANCEL"), eq("Booking"), eq(booking.getId()), any(User.class), anyString());
+        assertThat(outboxMessageRepository.count()).isZero();
+    }
+
+    @Test
+    void whenEmailIsSending_thenClaimHasCommittedAndMessageIsLeased() {
+        when(emailService.sendBookingConfirmation(anyString(), anyString(), any())).thenAnswer(invocation -> {
+            assertThat(TransactionSynchronizationManager.isActualTransactionActive()).isFalse();
+            // Another dispatcher polling now would skip the message
+            assertThat(outboxMessageRepository.findAll()).singleElement().satisfies(message -> {
+                assertThat(message.getCompletedSteps()).isEqualTo(0b011);
+                assertThat(message.getNextAttemptAt()).isAfter(LocalDateTime.now());
+            });
+            return CompletableFuture.completedFuture(null);
+        });
+        outboxService.publish(OutboxMessage.MessageType.BOOKING_CREATED, List.of(booking.getId()));
+
+        outboxDispatcher.dispatch();
+
+        verify(emailService).sendBookingConfirmation(eq("test@example.com"), eq("Test User"), any());
+        assertThat(outboxMessageRepository.count()).isZero();
+    }
+}
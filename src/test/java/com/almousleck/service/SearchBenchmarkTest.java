@@ -0,0 +1,180 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.search.SearchRequest;
+import com.almousleck.model.EventCategory;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.search.CategoryFacetCounts;
+import com.almousleck.search.EventKeywordSearch;
+import com.almousleck.search.EventSuggester;
+import com.almousleck.search.LikeKeywordSearch;
+import com.almousleck.search.SearchBackend;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import static org.mockito.Mockito.mock;
+
+// Seeds event_listing and times the common search filter combinations, printing H2's plan for each.
+// Run with: mvn test -Dtest=SearchBenchmarkTest -Dbenchmark=true [-Dbenchmark.events=1000000]
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class SearchBenchmarkTest {
+
+    private static final int CATEGORIES = 20;
+    private static final int ORGANIZERS = 2000;
+    private static final String[] CITIES = {"Dakar", "Abidjan", "Accra", "Lagos", "Bamako", "Lome", "Cotonou", "Niamey"};
+    private static final String[] WORDS = {"Jazz", "Rock", "Marathon", "Workshop", "Festival", "Conference",
+            "Comedy", "Theatre", "Expo", "Gala", "Summit", "Concert"};
+    private static final int INSERT_BATCH = 5000;
+    private static final int WARMUP = 5;
+    private static final int RUNS = 30;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EventListingRepository eventListingRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    @Test
+    void timeFilterCombinations() {
+        int events = Integer.getInteger("benchmark.events", 1_000_000);
+        List<Long> categoryIds = new ArrayList<>();
+        for (int i = 0; i < CATEGORIES; i++) {
+            categoryIds.add(categoryRepository.save(EventCategory.builder()
+                    .name("Category " + i)
+                    .active(true)
+                    .build()).getId());
+        }
+        try {
+            long seedStart = System.nanoTime();
+            seed(events, categoryIds);
+            System.out.printf("%nSeeded %d listing rows in %.1f s%n", events, (System.nanoTime() - seedStart) / 1e9);
+            run(categoryIds);
+        } finally {
+            jdbcTemplate.execute("TRUNCATE TABLE event_listing");
+            categoryRepository.deleteAllById(categoryIds);
+        }
+    }
+
+    private void run(List<Long> categoryIds) {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSearch().setBackend(SearchBackend.LIKE);
+        LikeKeywordSearch like = new LikeKeywordSearch(eventListingRepository);
+        CategoryFacetCounts facetCounts = new CategoryFacetCounts(eventListingRepository, appProperties);
+        facetCounts.rebuild();
+        SearchService searchService = new SearchService(categoryRepository, eventListingRepository,
+                new EventKeywordSearch(List.of(like), like, appProperties), mock(EventSuggester.class),
+                facetCounts, appProperties);
+
+        LocalDateTime now = LocalDateTime.now();
+        Long category = categoryIds.get(3);
+        Map<String, Scenario> scenarios = new LinkedHashMap<>();
+        scenarios.put("upcoming", new Scenario(request -> {
+        }, "SELECT * FROM event_listing WHERE start_date > ? ORDER BY start_date, id LIMIT 10"));
+        scenarios.put("category+upcoming", new Scenario(request -> request.setCategoryId(category),
+                "SELECT * FROM event_listing WHERE category_id IN (?) AND start_date > ? ORDER BY start_date, id LIMIT 10"));
+        scenarios.put("3 categories+dates", new Scenario(request -> {
+            request.setCategoryIds(categoryIds.subList(0, 3));
+            request.setStartFrom(now.plusDays(30));
+            request.setStartTo(now.plusDays(60));
+        }, "SELECT * FROM event_listing WHERE category_id IN (?, ?, ?) AND start_date > ? AND start_date >= ? " +
+                "AND start_date <= ? ORDER BY start_date, id LIMIT 10"));
+        scenarios.put("base price+upcoming", new Scenario(request -> {
+            request.setMinPrice(new BigDecimal("20"));
+            request.setMaxPrice(new BigDecimal("25"));
+        }, "SELECT * FROM event_listing WHERE start_date > ? AND base_price >= ? AND base_price <= ? " +
+                "ORDER BY start_date, id LIMIT 10"));
+        scenarios.put("organizer+upcoming", new Scenario(request -> request.setOrganizerId(42L),
+                "SELECT * FROM event_listing WHERE start_date > ? AND organizer_id = ? ORDER BY start_date, id LIMIT 10"));
+        scenarios.put("ticket price+location", new Scenario(request -> {
+            request.setPriceField("ticket");
+            request.setMaxPrice(new BigDecimal("15"));
+            request.setLocation("dakar");
+        }, "SELECT * FROM event_listing WHERE start_date > ? AND min_ticket_price <= ? " +
+                "AND LOWER(location) LIKE ? ORDER BY start_date, id LIMIT 10"));
+        scenarios.put("keyword+category", new Scenario(request -> {
+            request.setKeyword("jazz");
+            request.setCategoryId(category);
+        }, "SELECT * FROM event_listing WHERE (LOWER(title) LIKE ? OR LOWER(description) LIKE ?) " +
+                "AND category_id IN (?) AND start_date > ? ORDER BY start_date, id LIMIT 10"));
+
+        System.out.printf("%n%-24s %10s %10s %10s%n", "filters", "p50 ms", "p99 ms", "total");
+        Map<String, String> plans = new LinkedHashMap<>();
+        scenarios.forEach((name, scenario) -> {
+            long[] latencies = new long[RUNS];
+            long total = 0;
+            for (int run = -WARMUP; run < RUNS; run++) {
+                SearchRequest request = new SearchRequest();
+                scenario.filters().accept(request);
+                long start = System.nanoTime();
+                total = searchService.searchEvents(request).getTotalElements();
+                if (run >= 0) {
+                    latencies[run] = System.nanoTime() - start;
+                }
+            }
+            Arrays.sort(latencies);
+            System.out.printf("%-24s %10.2f %10.2f %10d%n", name, percentileMs(latencies, 50),
+                    percentileMs(latencies, 99), total);
+            plans.put(name, String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + scenario.sql(), String.class)));
+        });
+        plans.forEach((name, plan) -> System.out.printf("%n-- %s%n%s%n", name, plan));
+    }
+
+    private void seed(int events, List<Long> categoryIds) {
+        Random random = new Random(42);
+        LocalDateTime base = LocalDateTime.now().minusDays(180);
+        Timestamp created = Timestamp.valueOf(base);
+        List<Object[]> batch = new ArrayList<>(INSERT_BATCH);
+        for (int i = 1; i <= events; i++) {
+            // A year of events around today, so about half are upcoming
+            LocalDateTime start = base.plusMinutes(random.nextInt(365 * 24 * 60));
+            BigDecimal basePrice = BigDecimal.valueOf(5 + random.nextInt(200));
+            int city = random.nextInt(CITIES.length);
+            long organizerId = 1 + random.nextInt(ORGANIZERS);
+            String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + i;
+            batch.add(new Object[]{(long) i, title, "An evening of " + title.toLowerCase(), CITIES[city] + " Centre",
+                    Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(3)), basePrice,
+                    categoryIds.get(random.nextInt(categoryIds.size())), "Category", organizerId,
+                    "Organizer " + organizerId, random.nextInt(10) == 0 ? null : basePrice.multiply(new BigDecimal("0.8")),
+                    random.nextInt(500), random.nextInt(500), created});
+            if (batch.size() == INSERT_BATCH || i == events) {
+                jdbcTemplate.batchUpdate("INSERT INTO event_listing (id, title, description, location, start_date, " +
+                        "end_date, base_price, category_id, category_name, organizer_id, organizer_name, " +
+                        "min_ticket_price, available_tickets, sold_tickets, created_at) " +
+                        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private static double percentileMs(long[] sortedLatencies, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sortedLatencies.length) - 1;
+        return sortedLatencies[Math.max(0, index)] / 1e6;
+    }
+
+    private record Scenario(Consumer<SearchRequest> filters, String sql) {
+    }
+}
@@ -0,0 +1,135 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.dto.search.SearchRequest;
+import com.almousleck.dto.search.SearchResponse;
+import com.almousleck.model.EventCategory;
+import com.almousleck.model.EventListing;
+import com.almousleck.repository.EventCategoryRepository;
+import com.almousleck.repository.EventListingRepository;
+import com.almousleck.search.CategoryFacetCounts;
+import com.almousleck.search.EventKeywordSearch;
+import com.almousleck.search.EventSuggester;
+import com.almousleck.search.LikeKeywordSearch;
+import com.almousleck.search.SearchBackend;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.mock;
+
+@DataJpaTest
+@ActiveProfiles("test")
+class SearchServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.now().withNano(0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EventListingRepository eventListingRepository;
+
+    @Autowired
+    private EventCategoryRepository categoryRepository;
+
+    private SearchService searchService;
+    private Long music;
+    private Long sport;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getSearch().setBackend(SearchBackend.LIKE);
+        LikeKeywordSearch like = new LikeKeywordSearch(eventListingRepository);
+        searchService = new SearchService(categoryRepository, eventListingRepository,
+                new EventKeywordSearch(List.of(like), like, appProperties), mock(EventSuggester.class),
+                new CategoryFacetCounts(eventListingRepository, appProperties), appProperties);
+
+        music = entityManager.persist(EventCategory.builder().name("Music").active(true).build()).getId();
+        sport = entityManager.persist(EventCategory.builder().name("Sport").active(true).build()).getId();
+        save(1L, "Jazz Night", "Dakar Plateau", music, 7L, 5, "40.00", "25.00");
+        save(2L, "Jazz Run", "Dakar Corniche", sport, 7L, 10, "15.00", "15.00");
+        save(3L, "Rock Festival", "Abidjan", music, 8L, 20, "90.00", "60.00");
+        save(4L, "Jazz Brunch", "Dakar Plateau", music, 8L, -3, "30.00", null);
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void whenKeywordAndCategoryAreGiven_thenBothApply() {
+        SearchRequest request = new SearchRequest();
+        request.setKeyword("jazz");
+        request.setCategoryIds(List.of(music));
+
+        SearchResponse response = searchService.searchEvents(request);
+
+        // Jazz Run is in another category and Jazz Brunch already started
+        assertThat(response.getEvents()).extracting(SearchResponse.EventResult::getId).containsExactly(1L);
+    }
+
+    @Test
+    void whenCombiningDatePriceLocationAndOrganizer_thenEveryFilterNarrows() {
+        SearchRequest request = new SearchRequest();
+        request.setUpcomingOnly(false);
+        request.setStartFrom(NOW.minusDays(5));
+        request.setStartTo(NOW.plusDays(12));
+        request.setLocation("dakar");
+        request.setPriceField("ticket");
+        request.setMaxPrice(new BigDecimal("20.00"));
+
+        assertThat(ids(request)).containsExactly(2L);
+
+        request.setMaxPrice(null);
+        request.setOrganizerId(8L);
+        // Without tickets there is no ticket price, but no price bound is set any more
+        assertThat(ids(request)).containsExactly(4L);
+    }
+
+    @Test
+    void whenFilteringByCategory_thenFacetsKeepOtherFiltersButNotTheCategory() {
+        SearchRequest request = new SearchRequest();
+        request.setCategoryId(sport);
+        request.setLocation("dakar");
+
+        SearchResponse response = searchService.searchEvents(request);
+
+        assertThat(response.getEvents()).extracting(SearchResponse.EventResult::getId).containsExactly(2L);
+        assertThat(response.getCategories())
+                .extracting(SearchResponse.CategoryFacet::getName, SearchResponse.CategoryFacet::getCount)
+                .containsExactlyInAnyOrder(tuple("Music", 1L), tuple("Sport", 1L));
+    }
+
+    private List<Long> ids(SearchRequest request) {
+        return searchService.searchEvents(request).getEvents().stream()
+                .map(SearchResponse.EventResult::getId)
+                .toList();
+    }
+
+    private void save(Long id, String title, String location, Long categoryId, Long organizerId, int startInDays,
+                      String basePrice, String minTicketPrice) {
+        eventListingRepository.save(EventListing.builder()
+                .id(id)
+                .title(title)
+                .location(location)
+                .startDate(NOW.plusDays(startInDays))
+                .endDate(NOW.plusDays(startInDays).plusHours(3))
+                .basePrice(new BigDecimal(basePrice))
+                .minTicketPrice(minTicketPrice != null ? new BigDecimal(minTicketPrice) : null)
+                .categoryId(categoryId)
+                .categoryName(categoryId.equals(music) ? "Music" : "Sport")
+                .organizerId(organizerId)
+                .organizerName("Organizer " + organizerId)
+                .availableTickets(100)
+                .build());
+    }
+}
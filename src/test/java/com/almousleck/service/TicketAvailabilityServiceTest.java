@@ -0,0 +1,140 @@
+package com.almousleck.service;
+
+import com.almousleck.config.AppProperties;
+import com.almousleck.model.Event;
+import com.almousleck.model.Ticket;
+import com.almousleck.repository.TicketRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TicketAvailabilityServiceTest {
+
+    private final TicketRepository ticketRepository = mock(TicketRepository.class);
+    private final Clock clock = mock(Clock.class);
+    private final AppProperties appProperties = new AppProperties();
+    private TicketAvailabilityService ticketAvailabilityService;
+
+    @BeforeEach
+    void setUp() {
+        appProperties.getInventory().getAvailability().setMaxStalenessMs(15_000);
+        appProperties.getInventory().getAvailability().setIdleTimeoutMs(60_000);
+        when(clock.millis()).thenReturn(0L);
+        when(ticketRepository.findAvailabilityByEventIds(anyCollection()))
+                .thenReturn(List.of(new Row(10L, 1L, 100)));
+        ticketAvailabilityService = new TicketAvailabilityService(ticketRepository, appProperties, clock);
+    }
+
+    @Test
+    void whenReadWithinStalenessWindow_thenDatabaseIsNotQueried() {
+        ticketAvailabilityService.getAvailability(1L);
+        when(clock.millis()).thenReturn(10_000L);
+
+        assertThat(ticketAvailabilityService.getAvailability(1L)).containsEntry(10L, 100);
+        verify(ticketRepository, times(1)).findAvailabilityByEventIds(anyCollection());
+    }
+
+    @Test
+    void whenSnapshotIsTooOld_thenReadReloads() {
+        ticketAvailabilityService.getAvailability(1L);
+        when(ticketRepository.findAvailabilityByEventIds(anyCollection()))
+                .thenReturn(List.of(new Row(10L, 1L, 80)));
+        when(clock.millis()).thenReturn(20_000L);
+
+        assertThat(ticketAvailabilityService.getAvailability(1L)).containsEntry(10L, 80);
+    }
+
+    @Test
+    void whenBookingCommits_thenDeltaIsApplied() {
+        ticketAvailabilityService.getAvailability(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ticketAvailabilityService.applyDelta(ticket(10L, 1L), -3);
+            assertThat(ticketAvailabilityService.getAvailability(1L)).containsEntry(10L, 100);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertThat(ticketAvailabilityService.getAvailability(1L)).containsEntry(10L, 97);
+    }
+
+    @Test
+    void whenEventIsIdle_thenScheduledRefreshDropsIt() {
+        ticketAvailabilityService.getAvailability(1L);
+        when(clock.millis()).thenReturn(120_000L);
+
+        ticketAvailabilityService.refreshAll();
+        ticketAvailabilityService.getAvailability(1L);
+
+        // One load for the first read and one after the idle entry was dropped
+        verify(ticketRepository, times(2)).findAvailabilityByEventIds(anyCollection());
+    }
+
+    @Test
+    void whenCountsChangeButMapHashCollides_thenAvailabilityTagChanges() {
+        Map<Long, Integer> before = Map.of(1L, 2, 2L, 2);
+        Map<Long, Integer> after = Map.of(1L, 3, 2L, 3);
+        assertThat(before.hashCode()).isEqualTo(after.hashCode());
+
+        when(ticketRepository.findAvailabilityByEventIds(anyCollection()))
+                .thenReturn(List.of(new Row(1L, 1L, 2), new Row(2L, 1L, 2)));
+        String first = ticketAvailabilityService.getAvailabilityTag(1L);
+        when(ticketRepository.findAvailabilityByEventIds(anyCollection()))
+                .thenReturn(List.of(new Row(1L, 1L, 3), new Row(2L, 1L, 3)));
+        when(clock.millis()).thenReturn(20_000L);
+        String second = ticketAvailabilityService.getAvailabilityTag(1L);
+
+        assertThat(first).isEqualTo(TicketAvailabilityService.digest(before));
+        assertThat(second).isEqualTo(TicketAvailabilityService.digest(after)).isNotEqualTo(first);
+    }
+
+    private Ticket ticket(Long ticketId, Long eventId) {
+        return Ticket.builder()
+                .id(ticketId)
+                .event(Event.builder().id(eventId).build())
+                .build();
+    }
+
+    private record Row(Long id, Long eventId, Integer availableQuantity) implements TicketRepository.EventTicketAvailability {
+        @Override
+        public Long getId() {
+            return id;
+        }
+
+        @Override
+        public Long getEventId() {
+            return eventId;
+        }
+
+        @Override
+        public BigDecimal getPrice() {
+            return BigDecimal.TEN;
+        }
+
+        @Override
+        public Integer getTotalQuantity() {
+            return availableQuantity;
+        }
+
+        @Override
+        public Integer getAvailableQuantity() {
+            return availableQuantity;
+        }
+    }
+}
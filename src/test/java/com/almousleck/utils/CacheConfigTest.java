@@ -0,0 +1,81 @@
+package com.almousleck.utils;
+
+import com.almousleck.config.AppProperties;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheConfigTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        AppProperties.Cache.Spec categories = new AppProperties.Cache.Spec();
+        categories.setMaximumSize(2L);
+        AppProperties.Cache.Spec events = new AppProperties.Cache.Spec();
+        events.setMaximumWeight(10L);
+        events.setExpireAfterWrite(Duration.ofMillis(20));
+        appProperties.getCache().getCaches().put("categories", categories);
+        appProperties.getCache().getCaches().put("events", events);
+
+        cacheManager = new CacheConfig().cacheManager(appProperties);
+    }
+
+    @Test
+    void whenCacheIsFull_thenEntriesAreEvicted() {
+        Cache cache = cacheManager.getCache("categories");
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, "category " + i);
+        }
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        nativeCache.cleanUp();
+
+        assertThat(nativeCache.estimatedSize()).isLessThanOrEqualTo(2);
+        assertThat(nativeCache.stats().evictionCount()).isGreaterThanOrEqualTo(98);
+    }
+
+    @Test
+    void whenValuesAreLoaded_thenHitsMissesAndLoadTimeAreRecorded() {
+        Cache cache = cacheManager.getCache("upcomingEvents");
+        cache.get("page-0", () -> List.of("event"));
+        cache.get("page-0", () -> List.of("other"));
+
+        CacheStats stats = ((CaffeineCache) cache).getNativeCache().stats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+        assertThat(stats.loadSuccessCount()).isEqualTo(1);
+        assertThat(stats.totalLoadTime()).isPositive();
+    }
+
+    @Test
+    void whenPagesAreWeighed_thenLargeValuesTakeMoreRoom() {
+        Cache cache = cacheManager.getCache("events");
+        cache.put("big", List.of(1, 2, 3, 4, 5, 6, 7, 8));
+        cache.put("small", List.of(1, 2, 3));
+
+        com.github.benmanes.caffeine.cache.Cache<Object, Object> nativeCache = ((CaffeineCache) cache).getNativeCache();
+        nativeCache.cleanUp();
+
+        assertThat(nativeCache.estimatedSize()).isEqualTo(1);
+    }
+
+    @Test
+    void whenEntryHasExpired_thenTheNextReadLoadsItAgain() throws Exception {
+        Cache cache = cacheManager.getCache("events");
+        cache.get("page-0", () -> List.of("old"));
+        Thread.sleep(50);
+
+        assertThat(cache.get("page-0", () -> List.of("new"))).isEqualTo(List.of("new"));
+    }
+}
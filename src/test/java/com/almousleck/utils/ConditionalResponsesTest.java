@@ -0,0 +1,103 @@
+package com.almousleck.utils;
+
+import com.almousleck.config.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalResponsesTest {
+
+    private ConditionalResponses conditionalResponses;
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        AppProperties.HttpCache.Policy policy = new AppProperties.HttpCache.Policy();
+        policy.setMaxAge(Duration.ofMinutes(5));
+        appProperties.getHttpCache().getPolicies().put(ConditionalResponses.CATEGORIES, policy);
+        conditionalResponses = new ConditionalResponses(appProperties);
+    }
+
+    @Test
+    void whenEtagMatches_thenNotModifiedWithoutBuildingBody() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"event-1-3-ab\"");
+        AtomicInteger built = new AtomicInteger();
+
+        ResponseEntity<String> response = conditionalResponses.respond(webRequest(request),
+                ConditionalResponses.EVENT_DETAIL, "event-1-3-ab", null, () -> "body" + built.incrementAndGet());
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        assertThat(response.getBody()).isNull();
+        assertThat(built.get()).isEqualTo(0);
+        assertThat(response.getHeaders().getETag()).isEqualTo("\"event-1-3-ab\"");
+    }
+
+    @Test
+    void whenEtagChanged_thenFreshBody() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/events/1");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"event-1-3-ab\"");
+
+        ResponseEntity<String> response = conditionalResponses.respond(webRequest(request),
+                ConditionalResponses.EVENT_DETAIL, "event-1-4-ab", null, () -> "body");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).isEqualTo("body");
+        // No policy configured for this endpoint
+        assertThat(response.getHeaders().getCacheControl()).isEqualTo("no-cache");
+    }
+
+    @Test
+    void whenListShrinks_thenWeakTagChanges() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 1, 12, 0);
+        List<LocalDateTime> rows = List.of(now.minusDays(1), now);
+
+        ResponseEntity<List<LocalDateTime>> first = conditionalResponses.respondList(
+                webRequest(new MockHttpServletRequest("GET", "/categories")),
+                ConditionalResponses.CATEGORIES, "categories", rows, row -> row);
+        String etag = first.getHeaders().getETag();
+        assertThat(etag).startsWith("W/");
+        assertThat(first.getHeaders().getCacheControl()).isEqualTo("max-age=300, must-revalidate, public");
+
+        MockHttpServletRequest revalidate = new MockHttpServletRequest("GET", "/categories");
+        revalidate.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<List<LocalDateTime>> unchanged = conditionalResponses.respondList(webRequest(revalidate),
+                ConditionalResponses.CATEGORIES, "categories", rows, row -> row);
+        assertThat(unchanged.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+
+        MockHttpServletRequest afterDelete = new MockHttpServletRequest("GET", "/categories");
+        afterDelete.addHeader(HttpHeaders.IF_NONE_MATCH, etag);
+        ResponseEntity<List<LocalDateTime>> shrunk = conditionalResponses.respondList(webRequest(afterDelete),
+                ConditionalResponses.CATEGORIES, "categories", List.of(now), row -> row);
+        assertThat(shrunk.getStatusCode()).isEqualTo(HttpStatus.OK);
+    }
+
+    @Test
+    void whenNotModifiedSince_thenNotModified() {
+        LocalDateTime updatedAt = LocalDateTime.of(2025, 1, 1, 12, 0);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/categories/1");
+        request.addHeader(HttpHeaders.IF_MODIFIED_SINCE,
+                ConditionalResponses.toInstant(updatedAt).toEpochMilli());
+
+        ResponseEntity<String> response = conditionalResponses.respond(webRequest(request),
+                ConditionalResponses.CATEGORY, "category-1", ConditionalResponses.toInstant(updatedAt), () -> "body");
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+    }
+
+    private ServletWebRequest webRequest(MockHttpServletRequest request) {
+        return new ServletWebRequest(request, new MockHttpServletResponse());
+    }
+}
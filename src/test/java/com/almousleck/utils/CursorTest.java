@@ -0,0 +1,37 @@
+package com.almousleck.utils;
+
+import com.almousleck.exception.BadRequestException;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    @Test
+    void whenEncoded_thenDecodesToSamePosition() {
+        Cursor cursor = new Cursor(LocalDateTime.of(2026, 5, 1, 18, 30, 15, 123_456_000), 42L);
+
+        assertThat(Cursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    @Test
+    void whenTokenIsMissing_thenFirstSliceIsRequested() {
+        assertThat(Cursor.decode(null)).isNull();
+        assertThat(Cursor.decode(" ")).isNull();
+    }
+
+    @Test
+    void whenTokenIsTampered_thenBadRequest() {
+        assertThatThrownBy(() -> Cursor.decode("not-a-cursor"))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void whenSizeIsOutOfRange_thenItIsClamped() {
+        assertThat(Cursor.clampSize(0)).isEqualTo(1);
+        assertThat(Cursor.clampSize(500)).isEqualTo(Cursor.MAX_SIZE);
+    }
+}
@@ -0,0 +1,56 @@
+package com.almousleck.utils;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HashedTimingWheelTest {
+
+    private final HashedTimingWheel<Long> wheel = new HashedTimingWheel<>(100, 8, 0);
+
+    @Test
+    void whenTickHasNotElapsed_thenNothingExpires() {
+        wheel.schedule(1L, 250);
+
+        assertThat(wheel.advance(250)).isEmpty();
+        assertThat(wheel.advance(300)).containsExactly(1L);
+        assertThat(wheel.size()).isZero();
+    }
+
+    @Test
+    void whenDeadlineIsLaterLap_thenEntryWaitsForIt() {
+        // Slot 3 on the first lap, but due on the third
+        wheel.schedule(1L, 1950);
+
+        assertThat(wheel.advance(1000)).isEmpty();
+        assertThat(wheel.advance(2000)).containsExactly(1L);
+    }
+
+    @Test
+    void whenClockJumpsSeveralLaps_thenEverythingDueExpires() {
+        wheel.schedule(1L, 150);
+        wheel.schedule(2L, 790);
+        wheel.schedule(3L, 5000);
+
+        assertThat(wheel.advance(4000)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    @Test
+    void whenDeadlineAlreadyPassed_thenNextAdvanceExpiresIt() {
+        wheel.advance(1000);
+        wheel.schedule(1L, 100);
+
+        assertThat(wheel.advance(1100)).containsExactly(1L);
+    }
+
+    @Test
+    void whenCancelled_thenNeverExpires() {
+        wheel.schedule(1L, 150);
+        wheel.schedule(1L, 350);
+
+        assertThat(wheel.advance(300)).isEmpty();
+        assertThat(wheel.cancel(1L)).isTrue();
+        assertThat(wheel.advance(1000)).isEmpty();
+    }
+}
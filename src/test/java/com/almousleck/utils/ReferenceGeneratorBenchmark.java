@@ -0,0 +1,72 @@
+package com.almousleck.utils;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// Run main() from the IDE after mvn test-compile, or:
+// java -cp target/test-classes:target/classes:<test classpath> org.openjdk.jmh.Main ReferenceGeneratorBenchmark
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReferenceGeneratorBenchmark {
+
+    private final ReferenceGenerator generator = new ReferenceGenerator(1, Clock.systemDefaultZone());
+
+    @Benchmark
+    @Threads(1)
+    public String sequencedSingleThread() {
+        return generator.generateBookingReference();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String sequencedEightThreads() {
+        return generator.generateBookingReference();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public String randomSingleThread() {
+        return RandomReferenceGenerator.generateBookingReference();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String randomEightThreads() {
+        return RandomReferenceGenerator.generateBookingReference();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReferenceGeneratorBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    // The previous implementation, kept here as the baseline
+    static final class RandomReferenceGenerator {
+
+        private static final String ALPHANUMERIC = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789";
+        private static final SecureRandom RANDOM = new SecureRandom();
+        private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("yyMMdd");
+
+        static String generateBookingReference() {
+            String datePart = LocalDateTime.now().format(DATE_FORMAT);
+            StringBuilder randomPart = new StringBuilder(4);
+            for (int i = 0; i < 4; i++) {
+                randomPart.append(ALPHANUMERIC.charAt(RANDOM.nextInt(ALPHANUMERIC.length())));
+            }
+            return String.format("ANB-%s-%s", datePart, randomPart);
+        }
+    }
+}
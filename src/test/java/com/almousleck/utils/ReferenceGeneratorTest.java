@@ -0,0 +1,114 @@
+package com.almousleck.utils;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReferenceGeneratorTest {
+
+    private static final Instant NOW = Instant.parse("2025-04-17T10:15:30Z");
+
+    @Test
+    void whenGenerated_thenReferencesHaveDatePrefixAndBase32Suffix() {
+        ReferenceGenerator generator = new ReferenceGenerator(7, Clock.fixed(NOW, ZoneOffset.UTC));
+
+        assertThat(generator.generateBookingReference()).matches("ANB-250417-[0-9A-HJKMNP-TV-Z]{10}");
+        assertThat(generator.generateTransactionReference()).matches("TRX-250417-[0-9A-HJKMNP-TV-Z]{10}");
+    }
+
+    @Test
+    void whenClockStandsStill_thenReferencesStayUnique() {
+        // A frozen clock forces the sequence to overflow into later milliseconds
+        ReferenceGenerator generator = new ReferenceGenerator(1, Clock.fixed(NOW, ZoneOffset.UTC));
+        Set<String> references = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < 50_000; i++) {
+            references.add(generator.generateBookingReference());
+        }
+
+        assertThat(references).hasSize(50_000);
+    }
+
+    @Test
+    void whenManyThreadsGenerate_thenReferencesStayUnique() throws Exception {
+        ReferenceGenerator generator = new ReferenceGenerator(3, Clock.systemUTC());
+        Set<String> references = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < 20_000; i++) {
+                    references.add(generator.generateBookingReference());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(references).hasSize(160_000);
+    }
+
+    @Test
+    void whenNodesDiffer_thenReferencesDiffer() {
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+
+        assertThat(new ReferenceGenerator(1, clock).generateBookingReference())
+                .isNotEqualTo(new ReferenceGenerator(2, clock).generateBookingReference());
+    }
+
+    @Test
+    void whenNodeIdOutOfRange_thenReject() {
+        assertThatThrownBy(() -> new ReferenceGenerator(1024, Clock.systemUTC()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void whenRestartedBehindIssuedReferences_thenSeededGeneratorDoesNotReissueThem() {
+        // A burst on a frozen clock borrows future milliseconds; the restart sees the same clock again
+        Clock clock = Clock.fixed(NOW, ZoneOffset.UTC);
+        ReferenceGenerator before = new ReferenceGenerator(1, clock);
+        Set<String> issued = ConcurrentHashMap.newKeySet();
+        for (int i = 0; i < 20_000; i++) {
+            issued.add(before.generateBookingReference());
+        }
+
+        String latest = Collections.max(issued);
+        ReferenceGenerator restarted = new ReferenceGenerator(1, clock);
+        restarted.advancePast(latest);
+
+        for (int i = 0; i < 1_000; i++) {
+            String reference = restarted.generateBookingReference();
+            assertThat(issued).doesNotContain(reference);
+            assertThat(reference).isGreaterThan(latest);
+        }
+    }
+
+    @Test
+    void whenNodeIdIsMissing_thenOnlyAPlainLocalRunStarts() {
+        MockEnvironment prod = new MockEnvironment();
+        prod.setActiveProfiles("prod");
+
+        assertThatThrownBy(() -> ReferenceGenerator.resolveNodeId(null, prod))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("NODE_ID");
+        assertThat(ReferenceGenerator.resolveNodeId(5, prod)).isEqualTo(5);
+        assertThat(ReferenceGenerator.resolveNodeId(null, new MockEnvironment())).isZero();
+    }
+}